@@ -0,0 +1,67 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.ElementId;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.facet.advancedelements.AdvancedDrawingsFacet;
+
+/**
+ * Updates an element whose drawing is a javascript (like on every drag, resize or zoom), with the compiled and the interpreted Rhino mode.
+ * editScript() changes the script on every call like typing in the properties panel, therefore it always compiles the script
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class AdvancedDrawingsBenchmark {
+
+	private static final String SCRIPT = AdvancedDrawingsFacet.CODE_SEP_START + "\n"
+			+ "var members = ['-title: String', '-authors: String[]', '+getTitle(): String', '+getAuthors(): String[]', '+addAuthor(name)'];\n"
+			+ "drawText('Book', width/2, 20, center);\n"
+			+ "drawLine(0, 30, width, 30);\n"
+			+ "for (var i = 0; i < members.length; i++) {\n"
+			+ "  drawText(members[i], width/2, 50 + i * 20, center, {fg: members[i][0] == '+' ? '#006400' : '#8b0000'});\n"
+			+ "}\n"
+			+ "drawArc(10, 10, 20, 10, 0, 180, true, {bg: 'black'});\n"
+			+ "drawRectangleRound(5, 5, width-10, height-10, 5, {lt: '.', lw: 2});\n";
+
+	@Param({ "false", "true" })
+	public boolean interpretElementScripts;
+
+	private NewGridElement element;
+	private int edits;
+
+	@Setup
+	public void setup() {
+		BenchmarkEnvironment.init();
+		Config.getInstance().setInterpretElementScripts(interpretElementScripts);
+		element = BenchmarkEnvironment.createElement(ElementId.UMLClass, new Rectangle(0, 0, 200, 160), SCRIPT, "");
+	}
+
+	@Benchmark
+	public void updateElement() {
+		element.updateModelFromText();
+	}
+
+	@Benchmark
+	public void editScript() {
+		element.setPanelAttributes(SCRIPT + "drawLine(0, 0, " + edits++ + ", height);\n");
+	}
+}
@@ -0,0 +1,67 @@
+package com.baselet.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.Program;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.control.util.Utils;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
+
+/**
+ * Initializes UMLet like the batch mode of the standalone version (no GUI, no config file) and creates the diagrams used by the benchmarks
+ */
+public class BenchmarkEnvironment {
+
+	private BenchmarkEnvironment() {} // private constructor to avoid instantiation
+
+	public static synchronized void init() {
+		if (!Program.isInitialized()) {
+			Program.init(Utils.readBuildInfo().version, RuntimeType.BATCH);
+		}
+	}
+
+	/**
+	 * opens the synthetic diagram with the given number of elements like a file which is opened by the user
+	 */
+	public static DiagramHandler openSyntheticDiagram(int elementCount) throws IOException {
+		return openDiagram(writeTempFile(SyntheticDiagrams.createUxf(elementCount)));
+	}
+
+	public static DiagramHandler openDiagram(File uxfFile) {
+		init();
+		return new DiagramHandler(uxfFile);
+	}
+
+	/**
+	 * @return a diagram without file which contains the single element (the element is not parsed lazily)
+	 */
+	public static NewGridElement createElement(ElementId id, Rectangle bounds, String panelAttributes, String additionalAttributes) {
+		init();
+		DiagramHandler handler = DiagramHandler.forExport(null);
+		NewGridElement element = ElementFactorySwing.create(id, bounds, panelAttributes, additionalAttributes, handler);
+		handler.getDrawPanel().addElement(element);
+		return element;
+	}
+
+	public static File writeTempFile(String uxf) throws IOException {
+		init();
+		File file = File.createTempFile("umlet-benchmark", "." + Program.getInstance().getExtension());
+		file.deleteOnExit();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		try {
+			out.write(uxf);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+}
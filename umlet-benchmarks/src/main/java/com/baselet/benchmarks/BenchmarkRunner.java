@@ -0,0 +1,25 @@
+package com.baselet.benchmarks;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Main class of benchmarks.jar which runs JMH with the given arguments.
+ * If no result format is specified, the results are written as JSON to jmh-result-(timestamp).json to make them comparable between runs
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		List<String> jmhArgs = new ArrayList<String>(Arrays.asList(args));
+		if (!jmhArgs.contains("-rf") && !jmhArgs.contains("-rff")) {
+			String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+			jmhArgs.addAll(Arrays.asList("-rf", "json", "-rff", "jmh-result-" + timestamp + ".json"));
+		}
+		Main.main(jmhArgs.toArray(new String[jmhArgs.size()]));
+	}
+}
@@ -0,0 +1,89 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.draw.DrawHandler;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.facet.customdrawings.CustomDrawingCommand;
+import com.baselet.element.facet.customdrawings.CustomDrawingFacet;
+import com.baselet.element.facet.customdrawings.CustomDrawingParserImpl;
+
+/**
+ * Compiles custom drawing commands with the CustomDrawingParser (without the cache), executes the compiled commands
+ * and updates an element with custom drawings (which uses the cached commands)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class CustomDrawingParserBenchmark {
+
+	private static final String[] COMMANDS = {
+			"drawLine(0,0,width,height) fg=red lw=2",
+			"drawRectangle(5,5,width-10,height/2) bg=yellow",
+			"drawRectangleRound(0,0,width,height,5)",
+			"drawCircle(width/2, height * 0.5, 10) lt=.",
+			"drawEllipse(10,10,width-20,height-20)",
+			"drawArc(0,0,60,30,0,270,false)",
+			"drawText(\"Custom text\", width/2, height/2, center) fg=blue",
+	};
+
+	@Param({ "10", "100", "1000" })
+	public int commands;
+
+	private String[] lines;
+	private CustomDrawingCommand[] compiled;
+	private NewGridElement element;
+	private DrawHandler drawer;
+
+	@Setup
+	public void setup() {
+		lines = new String[commands];
+		StringBuilder panelAttributes = new StringBuilder(CustomDrawingFacet.CODE_SEP_START).append('\n');
+		for (int i = 0; i < commands; i++) {
+			lines[i] = COMMANDS[i % COMMANDS.length];
+			panelAttributes.append(lines[i]).append('\n');
+		}
+		compiled = compileCommands();
+		element = BenchmarkEnvironment.createElement(ElementId.UMLClass, new Rectangle(0, 0, 200, 100), panelAttributes.toString(), "");
+		drawer = element.getComponent().getDrawHandler();
+	}
+
+	@Benchmark
+	public CustomDrawingCommand[] compileCommands() {
+		CustomDrawingCommand[] commands = new CustomDrawingCommand[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			commands[i] = new CustomDrawingParserImpl(lines[i], 0, 0, null).compile();
+		}
+		return commands;
+	}
+
+	@Benchmark
+	public void executeCommands() {
+		drawer.clearCache();
+		for (CustomDrawingCommand command : compiled) {
+			command.execute(drawer, 200, 100);
+		}
+	}
+
+	@Benchmark
+	public void parseElementWithCustomDrawings() {
+		element.updateModelFromText();
+	}
+}
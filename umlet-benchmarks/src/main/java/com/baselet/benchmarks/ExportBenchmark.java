@@ -0,0 +1,72 @@
+package com.baselet.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.io.OutputHandler;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Exports synthetic diagrams like the batch mode does. The exported bytes are only counted to exclude the disk from the measurement.
+ * Diagrams with 10000 elements are not exported, because the png would need several GB of memory
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int elementCount;
+
+	@Param({ "png", "svg", "pdf" })
+	public String format;
+
+	private DiagramHandler handler;
+
+	@Setup
+	public void setup() throws IOException {
+		handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			((NewGridElement) e).updateModelIfDeferred();
+		}
+	}
+
+	@Benchmark
+	public long export() throws Exception {
+		CountingOutputStream out = new CountingOutputStream();
+		OutputHandler.createToStream(format, out, handler);
+		return out.count;
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.baselet.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.util.LayerOrderedList;
+
+/**
+ * Orders the elements of a synthetic diagram by layer like the web version does for every redraw (ascending) and hit-test (descending) during a drag,
+ * once with the LayerOrderedList which is kept in order and once by copying and sorting the elements like the web version did before
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class LayerOrderBenchmark {
+
+	private static final Comparator<GridElement> LAYER_COMPARATOR_ASCENDING = new Comparator<GridElement>() {
+		@Override
+		public int compare(GridElement o1, GridElement o2) {
+			return o1.getLayer().compareTo(o2.getLayer());
+		}
+	};
+
+	private static final Comparator<GridElement> LAYER_COMPARATOR_DESCENDING = new Comparator<GridElement>() {
+		@Override
+		public int compare(GridElement o1, GridElement o2) {
+			return o2.getLayer().compareTo(o1.getLayer());
+		}
+	};
+
+	@Param({ "100", "1000", "10000" })
+	public int elementCount;
+
+	private List<GridElement> elements;
+	private LayerOrderedList<GridElement> layerOrderedElements;
+
+	@Setup
+	public void setup() throws IOException {
+		elements = BenchmarkEnvironment.openSyntheticDiagram(elementCount).getDrawPanel().getGridElements();
+		for (GridElement e : elements) {
+			((NewGridElement) e).updateModelIfDeferred();
+		}
+		layerOrderedElements = new LayerOrderedList<GridElement>(elements) {
+			@Override
+			protected Integer getLayer(GridElement e) {
+				return e.getLayer();
+			}
+		};
+	}
+
+	@Benchmark
+	public GridElement layerOrderedList() {
+		List<GridElement> ascending = layerOrderedElements.ascending();
+		List<GridElement> descending = layerOrderedElements.descending();
+		return ascending.get(ascending.size() - 1) == descending.get(0) ? descending.get(0) : null;
+	}
+
+	@Benchmark
+	public GridElement copyAndSort() {
+		List<GridElement> ascending = new ArrayList<GridElement>(elements);
+		Collections.sort(ascending, LAYER_COMPARATOR_ASCENDING);
+		List<GridElement> descending = new ArrayList<GridElement>(elements);
+		Collections.sort(descending, LAYER_COMPARATOR_DESCENDING);
+		return ascending.get(ascending.size() - 1) == descending.get(0) ? descending.get(0) : null;
+	}
+}
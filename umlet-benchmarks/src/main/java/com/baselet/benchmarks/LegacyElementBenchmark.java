@@ -0,0 +1,78 @@
+package com.baselet.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.config.Config;
+import com.baselet.control.util.Utils;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.old.OldGridElement;
+
+/**
+ * Repaints deprecated all-in-one sequence and activity diagrams, which parse and lay out their whole text within paintEntity().
+ * paint() reuses the memoized image of an unchanged element, paintEntity() shows the cost without it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class LegacyElementBenchmark {
+
+	@Param({ "10", "100" })
+	public int elementCount;
+
+	private List<GridElement> elements;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() throws IOException {
+		Config.getInstance().setRetainedElementRendering(true); // the images are only memoized with the retained element rendering
+		DiagramHandler handler = BenchmarkEnvironment.openDiagram(BenchmarkEnvironment.writeTempFile(SyntheticDiagrams.createLegacyUxf(elementCount)));
+		elements = handler.getDrawPanel().getGridElements();
+		image = new BufferedImage(SyntheticDiagrams.LEGACY_CELL_SIZE, SyntheticDiagrams.LEGACY_CELL_SIZE, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+		graphics.setRenderingHints(Utils.getUxRenderingQualityHigh(true)); // the same hints as the DrawPanel
+		repaintWithMemoizedImages(); // the elements calculate their real size while they are painted for the first time
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage repaintWithMemoizedImages() {
+		for (GridElement e : elements) {
+			((OldGridElement) e).paint(graphics);
+		}
+		return image;
+	}
+
+	@Benchmark
+	public BufferedImage repaintByParsing() {
+		for (GridElement e : elements) {
+			((OldGridElement) e).paintEntity(graphics);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,70 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.elementnew.plot.parser.Parser;
+import com.baselet.element.elementnew.plot.parser.ParserResult;
+
+/**
+ * Parses the text of a PlotGrid with a dataset of the given size (without the cache) and updates a PlotGrid with an unchanged text (which uses the cached result)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class PlotGridBenchmark {
+
+	private static final int COLUMNS = 6;
+
+	@Param({ "10", "100", "1000" })
+	public int rows;
+
+	private String text;
+	private NewGridElement element;
+
+	@Setup
+	public void setup() {
+		StringBuilder sb = new StringBuilder("// generated dataset\ndata values\n");
+		for (int c = 0; c < COLUMNS; c++) {
+			sb.append("\tcol").append(c);
+		}
+		sb.append('\n');
+		for (int r = 0; r < rows; r++) {
+			sb.append("row").append(r);
+			for (int c = 0; c < COLUMNS; c++) {
+				sb.append('\t').append((r * 7 + c * 13) % 100 - 20);
+			}
+			sb.append('\n');
+		}
+		sb.append("\ncolors=red,blue\nvalue.min=all\nplot data=values type=line\n+plot data=values type=scatter\nplot data=values data.invert=true type=bar");
+		text = sb.toString();
+		element = BenchmarkEnvironment.createElement(ElementId.PlotGrid, new Rectangle(0, 0, 600, 300), text, "");
+	}
+
+	@Benchmark
+	public ParserResult parse() {
+		return new Parser().parse(text);
+	}
+
+	@Benchmark
+	public void updateElement() {
+		element.updateModelFromText();
+	}
+}
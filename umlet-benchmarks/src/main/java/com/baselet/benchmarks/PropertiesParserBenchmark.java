@@ -0,0 +1,46 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.element.NewGridElement;
+
+/**
+ * Parses the properties of a single element of every ElementId (PropertiesParser.parsePropertiesAndHandleFacets including the drawing into the DrawHandler)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class PropertiesParserBenchmark {
+
+	@Param // all ElementIds
+	public ElementId elementId;
+
+	private NewGridElement element;
+
+	@Setup
+	public void setup() {
+		element = BenchmarkEnvironment.createElement(elementId, new Rectangle(0, 0, 400, 300), SyntheticDiagrams.panelAttributesFor(elementId), SyntheticDiagrams.additionalAttributesFor(elementId));
+	}
+
+	@Benchmark
+	public void parsePropertiesAndHandleFacets() {
+		element.updateModelFromText();
+	}
+}
@@ -0,0 +1,76 @@
+package com.baselet.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.config.Config;
+import com.baselet.control.util.Utils;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ComponentSwing;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Repaints all unchanged elements of a synthetic diagram, like Swing does while the diagram is scrolled, with and without the retained element rendering
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class RepaintBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int elementCount;
+
+	@Param({ "false", "true" })
+	public boolean retainedElementRendering;
+
+	private List<GridElement> elements;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkEnvironment.init();
+		Config.getInstance().setRetainedElementRendering(retainedElementRendering);
+		DiagramHandler handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+		elements = handler.getDrawPanel().getGridElements();
+		for (GridElement e : elements) {
+			((NewGridElement) e).updateModelIfDeferred();
+		}
+		image = new BufferedImage(SyntheticDiagrams.CELL_WIDTH, SyntheticDiagrams.CELL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+		graphics.setRenderingHints(Utils.getUxRenderingQualityHigh(true)); // the same hints as the DrawPanel
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage repaintAllElements() {
+		for (GridElement e : elements) {
+			((ComponentSwing) e.getComponent()).paint(graphics);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,88 @@
+package com.baselet.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.diagram.TextIndex;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.gui.command.Search;
+
+/**
+ * Searches the panel attributes of a synthetic diagram with the TextIndex of the DrawPanel (literal, prefix and regex queries)
+ * and with the former approach, which lowercased and matched the text of every element on every search
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int elementCount;
+
+	private DrawPanel panel;
+	private String literalQuery;
+
+	@Setup
+	public void setup() throws IOException {
+		DiagramHandler handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+		panel = handler.getDrawPanel();
+		literalQuery = "getname" + elementCount / 2 + "(";
+	}
+
+	@Benchmark
+	public List<GridElement> literal() {
+		return Search.findElements(panel, literalQuery);
+	}
+
+	@Benchmark
+	public List<GridElement> prefix() {
+		return Search.findElements(panel, "getname1*");
+	}
+
+	@Benchmark
+	public List<GridElement> regex() {
+		return Search.findElements(panel, "getname[0-9]+5\\(");
+	}
+
+	@Benchmark
+	public List<GridElement> literalWithoutIndex() {
+		Pattern pattern = Pattern.compile(".*(" + Pattern.quote(literalQuery) + ").*");
+		List<GridElement> result = new ArrayList<GridElement>();
+		for (GridElement e : panel.getGridElements()) {
+			if (pattern.matcher(e.getPanelAttributes().toLowerCase(Locale.ENGLISH)).find()) {
+				result.add(e);
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public int buildIndex() {
+		TextIndex<GridElement> index = new TextIndex<GridElement>();
+		for (GridElement e : panel.getGridElements()) {
+			index.put(e, e.getPanelAttributesAsList());
+		}
+		return index.size();
+	}
+}
@@ -0,0 +1,97 @@
+package com.baselet.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.SelectorOld;
+import com.baselet.element.ComponentSwing;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Selects all elements of a synthetic diagram and repaints them. Every element asks the selector if it is selected while it is painted,
+ * therefore the repaint of a large selection must not depend on the number of selected elements
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class SelectionBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int elementCount;
+
+	private List<GridElement> elements;
+	private SelectorOld selector;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() throws IOException {
+		DiagramHandler handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+		elements = handler.getDrawPanel().getGridElements();
+		for (GridElement e : elements) {
+			((NewGridElement) e).updateModelIfDeferred();
+		}
+		selector = handler.getDrawPanel().getSelector();
+		selector.selectAll();
+		image = new BufferedImage(SyntheticDiagrams.CELL_WIDTH, SyntheticDiagrams.CELL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	/**
+	 * ends with all elements selected, like the state in which the other benchmarks run
+	 */
+	@Benchmark
+	public int deselectAndSelectAll() {
+		selector.deselectAll();
+		selector.selectAll();
+		return selector.getSelectedElements().size();
+	}
+
+	@Benchmark
+	public int isSelectedForAllElements() {
+		int selected = 0;
+		for (GridElement e : elements) {
+			if (selector.isSelected(e)) {
+				selected++;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * paints every element (all of them are selected) into the same small image, only the drawing itself is measured
+	 */
+	@Benchmark
+	public BufferedImage repaintSelectedElements() {
+		for (GridElement e : elements) {
+			((ComponentSwing) e.getComponent()).paint(graphics);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,58 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.element.NewGridElement;
+
+/**
+ * Parses an all-in-one sequence diagram with the SequenceAllInOneParser and lays out and draws the resulting SequenceDiagram.
+ * keystroke() changes the text on every call like typing in the properties panel, updateUnchangedText() updates the element without a change (e.g. on zoom)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class SequenceDiagramBenchmark {
+
+	@Param({ "6", "60" })
+	public int lifelines;
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int messages;
+
+	private NewGridElement element;
+	private String text;
+	private int keystrokes;
+
+	@Setup
+	public void setup() {
+		text = SyntheticDiagrams.sequenceText(lifelines, messages);
+		element = BenchmarkEnvironment.createElement(ElementId.UMLSequenceAllInOne, new Rectangle(0, 0, 800, 600), text, "");
+	}
+
+	@Benchmark
+	public void keystroke() {
+		element.setPanelAttributes("title=Keystroke " + keystrokes++ + "\n" + text); // the last title wins, every keystroke creates a text which has not been parsed yet
+	}
+
+	@Benchmark
+	public void updateUnchangedText() {
+		element.updateModelFromText();
+	}
+}
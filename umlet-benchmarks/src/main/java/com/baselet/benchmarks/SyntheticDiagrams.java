@@ -0,0 +1,233 @@
+package com.baselet.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.io.UxfWriter;
+
+/**
+ * Creates reproducible diagrams of any size: classes on a grid, every class is connected to its right neighbour by a relation which sticks at both classes,
+ * every tenth class is replaced by a note. The ratio of elements and relations is similar to typical class diagrams
+ */
+public class SyntheticDiagrams {
+
+	public static final int COLUMNS = 20;
+	public static final int CELL_WIDTH = 200;
+	public static final int CELL_HEIGHT = 150;
+	public static final int CLASS_X = 20;
+	public static final int CLASS_Y = 20;
+	public static final int CLASS_WIDTH = 120;
+	public static final int CLASS_HEIGHT = 80;
+	public static final int LEGACY_CELL_SIZE = 400;
+
+	private SyntheticDiagrams() {} // private constructor to avoid instantiation
+
+	/**
+	 * @param elementCount the number of elements (classes, notes and relations) of the diagram
+	 */
+	public static String createUxf(int elementCount) {
+		try {
+			StringWriter out = new StringWriter();
+			UxfWriter writer = new UxfWriter(out, System.getProperty("line.separator"));
+			writer.writeDiagramStart("umlet", "15.1");
+			writer.writeZoomLevel(10);
+			int written = 0;
+			for (int cell = 0; written < elementCount; cell++) {
+				int x = cell % COLUMNS * CELL_WIDTH;
+				int y = cell / COLUMNS * CELL_HEIGHT;
+				if (cell % 10 == 9) {
+					writer.writeElement(ElementId.UMLNote.toString(), null, x + CLASS_X, y + CLASS_Y, CLASS_WIDTH, CLASS_HEIGHT, noteText(cell), "", null);
+				}
+				else {
+					writer.writeElement(ElementId.UMLClass.toString(), null, x + CLASS_X, y + CLASS_Y, CLASS_WIDTH, CLASS_HEIGHT, classText(cell), "", null);
+				}
+				written++;
+				if (written < elementCount && cell % COLUMNS != COLUMNS - 1) {
+					// the relation starts at the right border of this class and ends at the left border of the next one (the points are located 10px inside the relation rectangle)
+					int startX = x + CLASS_X + CLASS_WIDTH;
+					int lineY = y + CLASS_Y + CLASS_HEIGHT / 2;
+					int length = CELL_WIDTH - CLASS_WIDTH;
+					writer.writeElement(ElementId.Relation.toString(), null, startX - 10, lineY - 10, length + 20, 20, relationText(cell), "10.0;10.0;" + (length + 10) + ".0;10.0", null);
+					written++;
+				}
+			}
+			writer.writeDiagramEnd();
+			return out.toString();
+		} catch (IOException e) {
+			throw new RuntimeException(e); // a StringWriter never throws an IOException
+		}
+	}
+
+	/**
+	 * @param elementCount the number of deprecated all-in-one sequence and activity diagrams (they parse their text on every paint)
+	 */
+	public static String createLegacyUxf(int elementCount) {
+		try {
+			StringWriter out = new StringWriter();
+			UxfWriter writer = new UxfWriter(out, System.getProperty("line.separator"));
+			writer.writeDiagramStart("umlet", "15.1");
+			writer.writeZoomLevel(10);
+			for (int i = 0; i < elementCount; i++) {
+				int x = i % COLUMNS * LEGACY_CELL_SIZE;
+				int y = i / COLUMNS * LEGACY_CELL_SIZE;
+				if (i % 2 == 0) {
+					writer.writeElement(null, "com.umlet.element.SequenceDiagram", x, y, LEGACY_CELL_SIZE - 20, LEGACY_CELL_SIZE - 20, legacySequenceText(i), "", null);
+				}
+				else {
+					writer.writeElement(null, "com.umlet.element.ActivityDiagramText", x, y, LEGACY_CELL_SIZE - 20, LEGACY_CELL_SIZE - 20, legacyActivityText(i), "", null);
+				}
+			}
+			writer.writeDiagramEnd();
+			return out.toString();
+		} catch (IOException e) {
+			throw new RuntimeException(e); // a StringWriter never throws an IOException
+		}
+	}
+
+	public static String classText(int i) {
+		return "Class" + i + "\n" +
+				"--\n" +
+				"-id: Long\n" +
+				"-name" + i + ": String\n" +
+				"_-counter: int_\n" +
+				"--\n" +
+				"+getName" + i + "(): String\n" +
+				"/+calculate(value: int): int/\n" +
+				(i % 3 == 0 ? "bg=yellow\n" : "") +
+				(i % 4 == 0 ? "fontsize=12\n" : "");
+	}
+
+	public static String noteText(int i) {
+		return "Note " + i + " with a longer text which must be wrapped into several lines because it does not fit into the width of the element\n" +
+				"bg=blue";
+	}
+
+	public static String relationText(int i) {
+		switch (i % 3) {
+			case 0:
+				return "lt=<<-";
+			case 1:
+				return "lt=->\nm1=1\nm2=0..n";
+			default:
+				return "lt=<.\n<<uses>>";
+		}
+	}
+
+	public static String legacySequenceText(int i) {
+		return "title: sample " + i + "\n" +
+				"_alpha:A~id1_|_beta:B~id2_|_gamma:G~id3_\n" +
+				"id1->>id2:id1,id2\n" +
+				"id2-/>id1:async Msg.\n" +
+				"id3->>>id1:id1,id3\n" +
+				"id1.>id3:id1,id3:async return Msg\n" +
+				"id1->id1:id1:self\n" +
+				"iframe{:interaction frame\n" +
+				"id2->id3:id1,id3:async Msg.\n" +
+				"iframe}";
+	}
+
+	public static String legacyActivityText(int i) {
+		return "title:Activity " + i + "\n" +
+				"Start\n" +
+				"Telephone\\     rings\n" +
+				"While[open\\calls]\n" +
+				"\tAnswer call\n" +
+				"\tIf\n" +
+				"\t\t[known]\n" +
+				"\t\tHelp caller\n" +
+				"\n" +
+				"\t\t[unknown]\n" +
+				"\t\tForward call\n" +
+				"End";
+	}
+
+	/**
+	 * @return a typical panel attributes text of the element (taken from the palettes)
+	 */
+	public static String panelAttributesFor(ElementId id) {
+		switch (id) {
+			case UMLClass:
+				return "<<Stereotype>>\nPackage::FatClass\n{Some Properties}\n--\n-id: Long\n_-ClassAttribute: Long_\n--\n#Operation(i: int): int\n/+AbstractOperation()/\n--\nResponsibilities\n-- Resp1\n*-- Resp2*";
+			case UMLUseCase:
+				return "Use Case\n--\nextension points\nvalign=top";
+			case UMLInterface:
+				return "Interface\n--\nOperation1\nOperation2";
+			case UMLActor:
+				return "Actor";
+			case UMLState:
+				return "State\n--\nentry/ init\nexit/ cleanup\nvalign=top";
+			case UMLObject:
+				return "_object:Class_\n--\nid=1\nname=\"xy\"";
+			case UMLTimer:
+				return "time signal";
+			case UMLSpecialState:
+				return "type=decision";
+			case UMLNote:
+				return "Note..\nbg=blue\nwith a longer text which must be wrapped into several lines";
+			case UMLSyncBarHorizontal:
+			case UMLSyncBarVertical:
+				return "lw=5";
+			case UMLPackage:
+				return "Name\n--\nText\nText\nhalign=left";
+			case UMLFrame:
+				return "alt\n--\n[condition]\n.\n-.\n[else]";
+			case UMLDeployment:
+				return "<<execution environment>>\nName";
+			case UMLGeneric:
+				return "symbol=component\nComponent\n--\nprovided interfaces\nrequired interfaces";
+			case UMLHierarchy:
+				return "type=WorkProcess\nWorkprocess1\n\tWorkprocess2\n\t\tWorkprocess3\n\t\tWorkprocess4\n\tWorkprocess5";
+			case Relation:
+				return "lt=-\nr1=role A\\nrole B\nm1=msg A\\nmsg B\nr2=role C\\nrole D\nm2=msg C\\nmsg D\nmultiple lines are possible";
+			case Text:
+				return "Text with a longer content\nand a second line\nhalign=left";
+			case PlotGrid:
+				return "data\na\tb\tc\td\n1\t3\t1\t6\n\ngrid.width=2\nplot type=pie colors=red,blue,yellow\ntype=line\nplot\nplot type=scatter\ntype=bar\nplot";
+			case UMLSequenceAllInOne:
+				return sequenceText(4, 20);
+			case UMLEntity:
+				return "Entity";
+			case UMLBoundary:
+				return "Boundary";
+			case UMLControl:
+				return "Control";
+			default:
+				throw new IllegalArgumentException("No panel attributes defined for " + id);
+		}
+	}
+
+	/**
+	 * @return the additional attributes which the element requires (only Relations store their points there)
+	 */
+	public static String additionalAttributesFor(ElementId id) {
+		return id == ElementId.Relation ? "10.0;40.0;400.0;40.0" : "";
+	}
+
+	/**
+	 * @return an all-in-one sequence diagram with the given number of lifelines and messages between neighbouring lifelines (including execution specifications and combined fragments)
+	 */
+	public static String sequenceText(int lifelines, int messages) {
+		StringBuilder sb = new StringBuilder("title=Synthetic sequence diagram\n");
+		for (int i = 0; i < lifelines; i++) {
+			sb.append("obj=Lifeline ").append(i).append("~l").append(i).append(i == 0 ? " ACTOR" : "").append('\n');
+		}
+		for (int m = 0; m < messages; m++) {
+			int from = m % lifelines;
+			int to = (m + 1) % lifelines;
+			if (m % 10 == 0) {
+				sb.append("combinedFragment=loop~f").append(m).append('\n'); // without lifelines the fragment covers all of them
+				sb.append("l").append(from).append(":[1..10]\n");
+			}
+			sb.append("l").append(from).append("->>>l").append(to).append(" : message").append(m).append("(); on=l").append(to).append('\n');
+			sb.append("l").append(to).append(".>l").append(from).append(" : result; off=l").append(to).append('\n');
+			if (m % 10 == 9) {
+				sb.append("--=f").append(m - 9).append('\n');
+			}
+		}
+		if (messages % 10 != 0) {
+			sb.append("--=f").append(messages / 10 * 10).append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,71 @@
+package com.baselet.benchmarks;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.basics.geom.DimensionDouble;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.FontHandler;
+import com.baselet.diagram.FormattedFont;
+
+/**
+ * Measures text runs with and without the TextMetricsCache. The texts rotate through a pool of distinct strings, a pool which is larger than the cache shows the costs of evictions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class TextMetricsBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	public int distinctTexts;
+
+	private FontHandler fontHandler;
+	private Font font;
+	private FontRenderContext fontRenderContext;
+	private StringStyle[] texts;
+	private int next;
+
+	@Setup
+	public void setup() {
+		BenchmarkEnvironment.init();
+		fontHandler = DiagramHandler.forExport(null).getFontHandler();
+		font = fontHandler.getFont(false);
+		fontRenderContext = new FontRenderContext(null, true, true);
+		texts = new StringStyle[distinctTexts];
+		for (int i = 0; i < distinctTexts; i++) {
+			texts[i] = StringStyle.analyzeFormatLabels(i % 5 == 0 ? "*attribute" + i + ": String*" : "+operation" + i + "(value: int): int");
+		}
+	}
+
+	private StringStyle nextText() {
+		next = (next + 1) % texts.length;
+		return texts[next];
+	}
+
+	@Benchmark
+	public DimensionDouble cachedTextSize() {
+		return fontHandler.getTextSize(nextText(), false);
+	}
+
+	@Benchmark
+	public DimensionDouble uncachedTextSize() {
+		return new FormattedFont(nextText(), fontHandler.getFontSize(false), font, fontRenderContext).getDimensions();
+	}
+}
@@ -0,0 +1,67 @@
+package com.baselet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.draw.DrawHandler;
+import com.baselet.diagram.draw.TextSplitter;
+
+/**
+ * Wraps texts of different lengths with the Swing text metrics, once with filled caches (typical while an unchanged diagram is redrawn) and once with empty caches (typical for the first layout of a diagram)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class TextSplitterBenchmark {
+
+	private static final double WIDTH = 150;
+
+	@Param({ "10", "100", "1000" })
+	public int words;
+
+	private DrawHandler drawer;
+	private String text;
+
+	@Setup
+	public void setup() {
+		drawer = BenchmarkEnvironment.createElement(ElementId.UMLNote, new Rectangle(0, 0, 200, 100), "", "").getComponent().getDrawHandler();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			sb.append(i % 7 == 0 ? "*word" + i + "*" : "word" + i).append(i % 13 == 12 ? "WithAVeryLongSuffixWhichMustBeSplit " : " ");
+		}
+		text = sb.toString().trim();
+	}
+
+	@Benchmark
+	public StringStyle[] splitStringAlgorithm() {
+		return TextSplitter.splitStringAlgorithm(text, WIDTH, drawer);
+	}
+
+	@Benchmark
+	public StringStyle[] splitStringAlgorithmWithoutCaches() {
+		TextSplitter.clearCaches();
+		return TextSplitter.splitStringAlgorithm(text, WIDTH, drawer);
+	}
+
+	@Benchmark
+	public double getTextMinWidth() {
+		return TextSplitter.getTextMinWidth(text, drawer);
+	}
+}
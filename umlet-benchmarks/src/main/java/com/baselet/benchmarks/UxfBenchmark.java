@@ -0,0 +1,211 @@
+package com.baselet.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.Program;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.io.UxfReader;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Loads and saves synthetic .uxf files. Saving is also measured with the DOM and indenting Transformer which were used before the UxfWriter, to compare both approaches.
+ * Parsing the files with the UxfReader of the web version is compared with the DOM lookups it replaced
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class UxfBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class LoadState {
+		@Param({ "10", "100", "1000", "10000" })
+		public int elementCount;
+
+		@Param({ "true", "false" })
+		public boolean lazyElementParsing;
+
+		private File file;
+
+		@Setup
+		public void setup() throws IOException {
+			file = BenchmarkEnvironment.writeTempFile(SyntheticDiagrams.createUxf(elementCount));
+			Config.getInstance().setLazyElementParsing(lazyElementParsing);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ParseState {
+		@Param({ "10", "100", "1000", "10000" })
+		public int elementCount;
+
+		private String xml;
+
+		@Setup
+		public void setup() {
+			xml = SyntheticDiagrams.createUxf(elementCount);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class SaveState {
+		@Param({ "10", "100", "1000", "10000" })
+		public int elementCount;
+
+		private DiagramHandler handler;
+		private File domFile;
+
+		@Setup
+		public void setup() throws IOException {
+			handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+			for (GridElement e : handler.getDrawPanel().getGridElements()) {
+				((NewGridElement) e).updateModelIfDeferred();
+			}
+			domFile = File.createTempFile("umlet-benchmark-dom", "." + Program.getInstance().getExtension());
+			domFile.deleteOnExit();
+		}
+	}
+
+	@Benchmark
+	public DiagramHandler load(LoadState state) {
+		return BenchmarkEnvironment.openDiagram(state.file);
+	}
+
+	/**
+	 * the single-pass UxfReader which is used by the web version
+	 */
+	@Benchmark
+	public List<String> parseWithUxfReader(ParseState state) {
+		final List<String> result = new ArrayList<String>();
+		UxfReader.read(state.xml, new UxfReader.Handler() {
+			@Override
+			public void setHelpText(String helpText) {}
+
+			@Override
+			public void setZoomLevel(int zoomLevel) {}
+
+			@Override
+			public void addElement(String id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes, String customCode) {
+				result.add(id + x + y + w + h + panelAttributes + additionalAttributes);
+			}
+
+			@Override
+			public void addInvalidElement(String id, String type, RuntimeException cause) {}
+		});
+		return result;
+	}
+
+	/**
+	 * the DOM and the lookups by tag name which the web version used before the UxfReader (with the JDK DOM instead of the one of the browser)
+	 */
+	@Benchmark
+	public List<String> parseWithDom(ParseState state) throws Exception {
+		List<String> result = new ArrayList<String>();
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(state.xml)));
+		doc.getElementsByTagName("help_text").item(0);
+		Integer.parseInt(doc.getElementsByTagName("zoom_level").item(0).getFirstChild().getNodeValue());
+		NodeList elements = doc.getElementsByTagName("element");
+		for (int i = 0; i < elements.getLength(); i++) {
+			Element element = (Element) elements.item(i);
+			String id = element.getElementsByTagName("id").item(0).getFirstChild().getNodeValue();
+			Element coordinates = (Element) element.getElementsByTagName("coordinates").item(0);
+			int x = getInt(coordinates, "x");
+			int y = getInt(coordinates, "y");
+			int w = getInt(coordinates, "w");
+			int h = getInt(coordinates, "h");
+			Node panelAttributesNode = element.getElementsByTagName("panel_attributes").item(0).getFirstChild();
+			Node additionalAttributesNode = element.getElementsByTagName("additional_attributes").item(0).getFirstChild();
+			result.add(id + x + y + w + h + (panelAttributesNode == null ? "" : panelAttributesNode.getNodeValue()) + (additionalAttributesNode == null ? "" : additionalAttributesNode.getNodeValue()));
+		}
+		return result;
+	}
+
+	private static int getInt(Element coordinates, String tag) {
+		return Integer.parseInt(coordinates.getElementsByTagName(tag).item(0).getFirstChild().getNodeValue());
+	}
+
+	@Benchmark
+	public File saveWithUxfWriter(SaveState state) throws IOException {
+		return state.handler.getFileHandler().doSaveTempDiagram("umlet-benchmark-uxfwriter", Program.getInstance().getExtension());
+	}
+
+	@Benchmark
+	public File saveWithDomTransformer(SaveState state) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element root = doc.createElement("diagram");
+		root.setAttribute("program", Program.getInstance().getProgramName().toLowerCase());
+		root.setAttribute("version", String.valueOf(Program.getInstance().getVersion()));
+		doc.appendChild(root);
+		appendTextElement(doc, root, "zoom_level", String.valueOf(state.handler.getGridSize()));
+		for (GridElement e : state.handler.getDrawPanel().getGridElements()) {
+			Element el = doc.createElement("element");
+			appendTextElement(doc, el, "id", ((NewGridElement) e).getId().toString());
+			Element coordinates = doc.createElement("coordinates");
+			appendTextElement(doc, coordinates, "x", String.valueOf(e.getRectangle().x));
+			appendTextElement(doc, coordinates, "y", String.valueOf(e.getRectangle().y));
+			appendTextElement(doc, coordinates, "w", String.valueOf(e.getRectangle().width));
+			appendTextElement(doc, coordinates, "h", String.valueOf(e.getRectangle().height));
+			el.appendChild(coordinates);
+			appendTextElement(doc, el, "panel_attributes", e.getPanelAttributes());
+			appendTextElement(doc, el, "additional_attributes", e.getAdditionalAttributes());
+			root.appendChild(el);
+		}
+
+		StringWriter stringWriter = new StringWriter();
+		Transformer transformer = TransformerFactory.newInstance().newTransformer();
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+		transformer.transform(new DOMSource(doc), new StreamResult(stringWriter));
+
+		Writer out = new OutputStreamWriter(new FileOutputStream(state.domFile), StandardCharsets.UTF_8);
+		try {
+			out.write(stringWriter.toString());
+		} finally {
+			out.close();
+		}
+		return state.domFile;
+	}
+
+	private static void appendTextElement(Document doc, Element parent, String name, String text) {
+		Element el = doc.createElement(name);
+		el.appendChild(doc.createTextNode(text));
+		parent.appendChild(el);
+	}
+}
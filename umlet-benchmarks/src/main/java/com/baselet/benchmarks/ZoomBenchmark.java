@@ -0,0 +1,77 @@
+package com.baselet.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baselet.control.config.Config;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Zooms a synthetic diagram in and out. If the layout is deferred, zooming only scales the bounds of the elements and the elements of one
+ * screen are laid out afterwards (like they would be painted), otherwise every element is laid out again while it is zoomed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ZoomBenchmark {
+
+	private static final int VISIBLE_ELEMENTS = 50; // roughly the number of synthetic elements which fit on a screen
+
+	@Param({ "100", "1000", "10000" })
+	public int elementCount;
+
+	@Param({ "true", "false" })
+	public boolean deferredLayout;
+
+	private DiagramHandler handler;
+	private List<GridElement> elements;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkEnvironment.init();
+		Config.getInstance().setLazyElementParsing(deferredLayout);
+		handler = BenchmarkEnvironment.openSyntheticDiagram(elementCount);
+		elements = handler.getDrawPanel().getGridElements();
+		layOutElements(elements.size());
+	}
+
+	@Benchmark
+	public int zoomInAndOut() {
+		handler.setGridAndZoom(12, false);
+		handler.setGridAndZoom(10, false);
+		return handler.getGridSize();
+	}
+
+	@Benchmark
+	public int zoomInAndOutAndLayOutVisibleElements() {
+		handler.setGridAndZoom(12, false);
+		layOutElements(VISIBLE_ELEMENTS);
+		handler.setGridAndZoom(10, false);
+		layOutElements(VISIBLE_ELEMENTS);
+		return handler.getGridSize();
+	}
+
+	private void layOutElements(int count) {
+		for (GridElement e : elements.subList(0, Math.min(count, elements.size()))) {
+			((NewGridElement) e).updateModelIfDeferred();
+		}
+	}
+}
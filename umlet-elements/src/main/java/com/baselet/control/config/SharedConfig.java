@@ -10,6 +10,7 @@ public class SharedConfig {
 	private boolean show_stickingpolygon = true;
 	private boolean stickingEnabled = true;
 	private boolean dev_mode = false; // TODO should be moved to a shared config class
+	private int textLayoutCacheSize = 400; // number of cached wordwraps per font (the other text caches are sized relative to it)
 
 	private SharedConfig() {}
 
@@ -36,4 +37,12 @@ public class SharedConfig {
 	public void setDev_mode(boolean dev_mode) {
 		this.dev_mode = dev_mode;
 	}
+
+	public int getTextLayoutCacheSize() {
+		return textLayoutCacheSize;
+	}
+
+	public void setTextLayoutCacheSize(int textLayoutCacheSize) {
+		this.textLayoutCacheSize = textLayoutCacheSize;
+	}
 }
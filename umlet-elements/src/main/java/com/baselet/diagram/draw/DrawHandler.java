@@ -42,6 +42,8 @@ public abstract class DrawHandler {
 
 	private boolean enableDrawing = true;
 
+	private int drawablesVersion = 0;
+
 	/**
 	 * all background elements are drawn before drawing the foreground elements
 	 * can be useful e.g. if a printText call is made before a drawRectangle call although it should be placed behind the rectangle
@@ -66,6 +68,7 @@ public abstract class DrawHandler {
 			else {
 				drawablesBackground.add(drawable);
 			}
+			drawablesVersion++;
 		}
 		// if drawing is disabled don't add the DrawFunction to any collection
 	}
@@ -83,6 +86,14 @@ public abstract class DrawHandler {
 	public void clearCache() {
 		drawablesBackground.clear();
 		drawablesForeground.clear();
+		drawablesVersion++;
+	}
+
+	/**
+	 * @return a number which changes every time a DrawFunction is added or the DrawFunctions are cleared (e.g. to recognize if a rendered image of the DrawFunctions is outdated)
+	 */
+	public int getDrawablesVersion() {
+		return drawablesVersion;
 	}
 
 	public final double textHeightMaxWithSpace() {
@@ -286,6 +297,13 @@ public abstract class DrawHandler {
 
 	protected abstract double getDefaultFontSize();
 
+	/**
+	 * @return identifies the font settings which are not part of the style but influence the text dimensions (e.g. the font family of the diagram). The TextSplitter caches the text layouts separately for each font context
+	 */
+	public String getFontContext() {
+		return "";
+	}
+
 	/* DRAW METHODS */
 	public void drawRectangle(Rectangle rect) {
 		drawRectangle(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
@@ -2,21 +2,24 @@ package com.baselet.diagram.draw;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.baselet.control.StringStyle;
+import com.baselet.control.config.SharedConfig;
 import com.baselet.control.enums.AlignHorizontal;
 import com.baselet.control.enums.AlignVertical;
 import com.baselet.control.enums.FormatLabels;
 import com.baselet.diagram.draw.helper.Style;
-import com.baselet.util.LRUCache;
+import com.baselet.util.CacheStatistics;
+import com.baselet.util.ConcurrentLRUCache;
 
 /**
  * Based on the old TextSplitter, but offers additional features.
@@ -37,9 +40,9 @@ public class TextSplitter {
 
 	// since the 2nd and 3rd cache use the value of the 1st as a partial key, the size shouldn't be too different
 	// especially for the 2nd, the 3rd is bigger because there will be many different width value because of resize operations
-	private static final int WORD_CACHE_SIZE = 180;
-	private static final int MIN_WIDTH_CACHE_SIZE = 190;
-	private static final int WORDWRAP_CACHE_SIZE = 400;
+	// the size of the 3rd cache is configurable (see SharedConfig), the sizes of the others are derived from it
+	private static final double WORD_CACHE_SIZE_FACTOR = 0.45;
+	private static final double MIN_WIDTH_CACHE_SIZE_FACTOR = 0.475;
 
 	private static final String SPLIT_CHARS = " \t";
 
@@ -47,10 +50,9 @@ public class TextSplitter {
 	// String line -> WordRegion[] words
 	// WordRegion[] words + Style style + FormatLabels -> Double minWidth
 	// WordRegion[] words + Style style + FormatLabels + Double width -> String[] wrappedLines + double height
+	// the measured widths depend on the font, therefore every font context (see DrawHandler.getFontContext()) has its own caches
 
-	private static LinkedHashMap<String, WordRegion[]> wordCache = new LRUCache<String, WordRegion[]>(WORD_CACHE_SIZE);
-	private static LinkedHashMap<MinWidthCacheKey, Double> minWidthCache = new LRUCache<MinWidthCacheKey, Double>(MIN_WIDTH_CACHE_SIZE);
-	private static LinkedHashMap<WordwrapCacheKey, WordwrapCacheValue> wordwrapCache = new LRUCache<WordwrapCacheKey, WordwrapCacheValue>(WORDWRAP_CACHE_SIZE);
+	private static final Map<String, TextLayoutCaches> cachesPerFontContext = new HashMap<String, TextLayoutCaches>();
 
 	/**
 	 *
@@ -113,12 +115,13 @@ public class TextSplitter {
 	 */
 	public static boolean checkifStringFitsNoWordwrap(String text, double width, DrawHandler drawer) {
 		StringStyle analyzedText = StringStyle.analyzeFormatLabels(StringStyle.replaceNotEscaped(text));
-		WordRegion[] words = getCachedWords(analyzedText.getStringWithoutMarkup()); // only check cache because we don't need the words
+		TextLayoutCaches caches = getCaches(drawer);
+		WordRegion[] words = caches.wordCache.get(analyzedText.getStringWithoutMarkup()); // only check cache because we don't need the words
 		if (words == null) {
 			return drawer.textWidth(analyzedText.getStringWithoutMarkup()) + endBuffer(drawer) + 0.01 < width;
 		}
 		else {
-			WordwrapCacheValue wwValue = getCachedWordwrap(words, width, drawer.getStyleClone(), analyzedText.getFormat());
+			WordwrapCacheValue wwValue = caches.wordwrapCache.get(new WordwrapCacheKey(words, width, drawer.getStyleClone(), analyzedText.getFormat()));
 			if (wwValue == null) {
 				return drawer.textWidth(analyzedText.getStringWithoutMarkup()) + endBuffer(drawer) + 0.01 < width;
 			}
@@ -192,9 +195,10 @@ public class TextSplitter {
 	private static WordwrapCacheValue splitStringAndHeightAlgorithm(String text, double maxWidth, DrawHandler drawer) {
 		StringStyle analyzedText = StringStyle.analyzeFormatLabels(StringStyle.replaceNotEscaped(text));
 		String finalText = analyzedText.getStringWithoutMarkup();
-		WordRegion[] words = splitIntoWords(finalText);
+		TextLayoutCaches caches = getCaches(drawer);
+		WordRegion[] words = splitIntoWords(finalText, caches);
 		WordwrapCacheKey key = new WordwrapCacheKey(words, maxWidth, drawer.getStyleClone(), analyzedText.getFormat());
-		WordwrapCacheValue cachedWordwrap = getCachedWordwrap(key);
+		WordwrapCacheValue cachedWordwrap = caches.wordwrapCache.get(key);
 		if (cachedWordwrap != null) {
 			log.trace("got value from cache " + cachedWordwrap);
 			return cachedWordwrap;
@@ -244,7 +248,7 @@ public class TextSplitter {
 			}
 			double height = wrappedText.size() * drawer.textHeightMaxWithSpace();
 			WordwrapCacheValue wordwrapValue = new WordwrapCacheValue(wrappedText.toArray(new StringStyle[0]), height);
-			setCachedWordwrap(key, wordwrapValue);
+			caches.wordwrapCache.put(key, wordwrapValue);
 			if (log.isTraceEnabled()) {
 				log.trace("split result: " + Arrays.toString(wordwrapValue.getWrappedLines()));
 			}
@@ -266,10 +270,12 @@ public class TextSplitter {
 	 */
 	public static double getTextMinWidth(String text, DrawHandler drawer) {
 		StringStyle analyzedText = StringStyle.analyzeFormatLabels(StringStyle.replaceNotEscaped(text));
-		MinWidthCacheKey key = new MinWidthCacheKey(splitIntoWords(analyzedText.getStringWithoutMarkup()),
+		TextLayoutCaches caches = getCaches(drawer);
+		MinWidthCacheKey key = new MinWidthCacheKey(splitIntoWords(analyzedText.getStringWithoutMarkup(), caches),
 				drawer.getStyleClone(), analyzedText.getFormat());
-		if (getCachedMinWidth(key) != null) {
-			return getCachedMinWidth(key);
+		Double cachedMinWidth = caches.minWidthCache.get(key);
+		if (cachedMinWidth != null) {
+			return cachedMinWidth;
 		}
 		else {
 			double minWidth = 0;
@@ -281,7 +287,7 @@ public class TextSplitter {
 			}
 			// add the Buffer and small number, so the text can be drawn with the returned width (see splitStringAlgorithm)
 			minWidth += endBuffer(drawer) + 0.01;
-			setCachedMinWidth(key, minWidth);
+			caches.minWidthCache.put(key, minWidth);
 			return minWidth;
 		}
 	}
@@ -305,8 +311,8 @@ public class TextSplitter {
 	 * @param text
 	 * @return all the words which are separated by whitespaces (first word contains all leading whitespaces)
 	 */
-	private static WordRegion[] splitIntoWords(String text) {
-		WordRegion[] words = getCachedWords(text);
+	private static WordRegion[] splitIntoWords(String text, TextLayoutCaches caches) {
+		WordRegion[] words = caches.wordCache.get(text);
 		if (words == null) {
 			words = new WordRegion[0];
 			if (text.trim().length() > 0) {
@@ -340,7 +346,7 @@ public class TextSplitter {
 				}
 
 			}
-			setCachedWords(text, words);
+			caches.wordCache.put(text, words);
 		}
 		return words;
 	}
@@ -359,35 +365,52 @@ public class TextSplitter {
 		return drawer.textWidth("n");
 	}
 
-	// cache functions, so that the implementation (structure) of the cache can be changed
-	// all functions will return null if no element was found
-
-	private static WordRegion[] getCachedWords(String lineKey) {
-		return wordCache.get(lineKey);
-	}
-
-	private static void setCachedWords(String lineKey, WordRegion[] words) {
-		wordCache.put(lineKey, words);
-	}
-
-	private static Double getCachedMinWidth(MinWidthCacheKey key) {
-		return minWidthCache.get(key);
+	private static TextLayoutCaches getCaches(DrawHandler drawer) {
+		String fontContext = drawer.getFontContext();
+		synchronized (cachesPerFontContext) {
+			TextLayoutCaches caches = cachesPerFontContext.get(fontContext);
+			if (caches == null) {
+				caches = new TextLayoutCaches(fontContext, SharedConfig.getInstance().getTextLayoutCacheSize());
+				cachesPerFontContext.put(fontContext, caches);
+			}
+			return caches;
+		}
 	}
 
-	private static void setCachedMinWidth(MinWidthCacheKey key, Double value) {
-		minWidthCache.put(key, value);
+	/**
+	 * @return the statistics of all text layout caches (3 caches for each font context which has been used so far)
+	 */
+	public static List<CacheStatistics> getCacheStatistics() {
+		List<CacheStatistics> statistics = new ArrayList<CacheStatistics>();
+		synchronized (cachesPerFontContext) {
+			for (TextLayoutCaches caches : cachesPerFontContext.values()) {
+				statistics.add(caches.wordCache.getStatistics());
+				statistics.add(caches.minWidthCache.getStatistics());
+				statistics.add(caches.wordwrapCache.getStatistics());
+			}
+		}
+		return statistics;
 	}
 
-	private static WordwrapCacheValue getCachedWordwrap(WordwrapCacheKey key) {
-		return wordwrapCache.get(key);
+	/**
+	 * removes all cached text layouts; caches which are created afterwards use the current cache size of the SharedConfig
+	 */
+	public static void clearCaches() {
+		synchronized (cachesPerFontContext) {
+			cachesPerFontContext.clear();
+		}
 	}
 
-	private static WordwrapCacheValue getCachedWordwrap(WordRegion[] words, double width, Style style, Set<FormatLabels> format) {
-		return getCachedWordwrap(new WordwrapCacheKey(words, width, style, format));
-	}
+	private static class TextLayoutCaches {
+		private final ConcurrentLRUCache<String, WordRegion[]> wordCache;
+		private final ConcurrentLRUCache<MinWidthCacheKey, Double> minWidthCache;
+		private final ConcurrentLRUCache<WordwrapCacheKey, WordwrapCacheValue> wordwrapCache;
 
-	private static void setCachedWordwrap(WordwrapCacheKey key, WordwrapCacheValue value) {
-		wordwrapCache.put(key, value);
+		public TextLayoutCaches(String fontContext, int wordwrapCacheSize) {
+			wordCache = new ConcurrentLRUCache<String, WordRegion[]>("words [" + fontContext + "]", Math.max(1, (int) (wordwrapCacheSize * WORD_CACHE_SIZE_FACTOR)));
+			minWidthCache = new ConcurrentLRUCache<MinWidthCacheKey, Double>("minWidth [" + fontContext + "]", Math.max(1, (int) (wordwrapCacheSize * MIN_WIDTH_CACHE_SIZE_FACTOR)));
+			wordwrapCache = new ConcurrentLRUCache<WordwrapCacheKey, WordwrapCacheValue>("wordwrap [" + fontContext + "]", Math.max(1, wordwrapCacheSize));
+		}
 	}
 
 	/**
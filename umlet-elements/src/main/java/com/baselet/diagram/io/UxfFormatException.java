@@ -0,0 +1,18 @@
+package com.baselet.diagram.io;
+
+/**
+ * Thrown by the {@link UxfPullParser} and {@link UxfReader} if a diagram is no well-formed XML or the diagram settings are invalid
+ */
+public class UxfFormatException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UxfFormatException(String message) {
+		super(message);
+	}
+
+	public UxfFormatException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,316 @@
+package com.baselet.diagram.io;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baselet.control.constants.SharedConstants;
+
+/**
+ * Pull parser for the XML of .uxf files which reads the document in a single pass without building a DOM.
+ * It supports everything the uxf format needs (elements, attributes, text, CDATA, the predefined entities and character references)
+ * and skips the XML declaration, processing instructions, comments and the doctype. Namespaces and entities declared in a doctype are not supported.
+ * Linebreaks are normalized to \n like every XML parser does. The parser uses no regex to stay compatible with GWT
+ */
+public class UxfPullParser {
+
+	public static final int START_ELEMENT = 1; // also returned for empty elements like &lt;name/&gt;, which are followed by an END_ELEMENT
+	public static final int END_ELEMENT = 2;
+	public static final int TEXT = 3; // the text of an element can be split into several events (e.g. if it contains CDATA sections)
+	public static final int END_DOCUMENT = 4;
+
+	private final String xml;
+	private int pos;
+	private int event;
+	private String name;
+	private String text;
+	private final Map<String, String> attributes = new HashMap<String, String>();
+	private final List<String> openElements = new ArrayList<String>();
+	private boolean rootFound = false;
+	private boolean emptyElement = false;
+
+	public UxfPullParser(String xml) {
+		this.xml = xml;
+		pos = xml.startsWith(SharedConstants.UTF8_BOM) ? SharedConstants.UTF8_BOM.length() : 0;
+	}
+
+	/**
+	 * @return the next event (START_ELEMENT, END_ELEMENT, TEXT or END_DOCUMENT)
+	 * @throws UxfFormatException if the document is no well-formed XML
+	 */
+	public int next() {
+		if (emptyElement) {
+			emptyElement = false;
+			openElements.remove(openElements.size() - 1);
+			return event = END_ELEMENT;
+		}
+		while (pos < xml.length()) {
+			if (xml.charAt(pos) != '<') {
+				int end = indexOf("<", pos, false);
+				if (openElements.isEmpty()) {
+					checkWhitespace(pos, end);
+					pos = end;
+					continue;
+				}
+				text = decode(pos, end, false, true);
+				pos = end;
+				return event = TEXT;
+			}
+			else if (xml.startsWith("<!--", pos)) {
+				pos = indexOf("-->", pos + 4, true) + 3;
+			}
+			else if (xml.startsWith("<![CDATA[", pos)) {
+				if (openElements.isEmpty()) {
+					throw error("CDATA section outside of the root element");
+				}
+				int end = indexOf("]]>", pos + 9, true);
+				text = decode(pos + 9, end, false, false);
+				pos = end + 3;
+				return event = TEXT;
+			}
+			else if (xml.startsWith("<?", pos)) {
+				pos = indexOf("?>", pos + 2, true) + 2;
+			}
+			else if (xml.startsWith("<!", pos)) {
+				skipDoctype();
+			}
+			else if (xml.startsWith("</", pos)) {
+				return parseEndTag();
+			}
+			else {
+				return parseStartTag();
+			}
+		}
+		if (!openElements.isEmpty()) {
+			throw error("Missing end tag of <" + openElements.get(openElements.size() - 1) + ">");
+		}
+		if (!rootFound) {
+			throw error("Missing root element");
+		}
+		return event = END_DOCUMENT;
+	}
+
+	/**
+	 * @return the name of the current START_ELEMENT or END_ELEMENT
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the text of the current TEXT event
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return the value of the attribute of the current START_ELEMENT or null if it doesn't exist
+	 */
+	public String getAttribute(String attributeName) {
+		return event == START_ELEMENT ? attributes.get(attributeName) : null;
+	}
+
+	private int parseStartTag() {
+		if (openElements.isEmpty() && rootFound) {
+			throw error("Only one root element is allowed");
+		}
+		pos++;
+		name = readName();
+		attributes.clear();
+		while (true) {
+			skipWhitespace();
+			if (pos >= xml.length()) {
+				throw error("Unterminated start tag <" + name + ">");
+			}
+			char c = xml.charAt(pos);
+			if (c == '>') {
+				pos++;
+				break;
+			}
+			else if (c == '/') {
+				if (!xml.startsWith("/>", pos)) {
+					throw error("Invalid start tag <" + name + ">");
+				}
+				pos += 2;
+				emptyElement = true;
+				break;
+			}
+			String attributeName = readName();
+			skipWhitespace();
+			if (pos >= xml.length() || xml.charAt(pos) != '=') {
+				throw error("Missing value of attribute " + attributeName);
+			}
+			pos++;
+			skipWhitespace();
+			if (pos >= xml.length() || xml.charAt(pos) != '"' && xml.charAt(pos) != '\'') {
+				throw error("Missing quotes around the value of attribute " + attributeName);
+			}
+			int end = indexOf(String.valueOf(xml.charAt(pos)), pos + 1, true);
+			attributes.put(attributeName, decode(pos + 1, end, true, true));
+			pos = end + 1;
+		}
+		openElements.add(name);
+		rootFound = true;
+		return event = START_ELEMENT;
+	}
+
+	private int parseEndTag() {
+		pos += 2;
+		name = readName();
+		skipWhitespace();
+		if (pos >= xml.length() || xml.charAt(pos) != '>') {
+			throw error("Invalid end tag </" + name + ">");
+		}
+		pos++;
+		if (openElements.isEmpty() || !openElements.get(openElements.size() - 1).equals(name)) {
+			throw error("Unexpected end tag </" + name + ">");
+		}
+		openElements.remove(openElements.size() - 1);
+		return event = END_ELEMENT;
+	}
+
+	/**
+	 * skips the doctype including an internal subset in square brackets
+	 */
+	private void skipDoctype() {
+		int depth = 0;
+		for (pos += 2; pos < xml.length(); pos++) {
+			char c = xml.charAt(pos);
+			if (c == '[') {
+				depth++;
+			}
+			else if (c == ']') {
+				depth--;
+			}
+			else if (c == '>' && depth == 0) {
+				pos++;
+				return;
+			}
+		}
+		throw error("Unterminated doctype");
+	}
+
+	private String readName() {
+		int start = pos;
+		while (pos < xml.length()) {
+			char c = xml.charAt(pos);
+			if (isWhitespace(c) || c == '>' || c == '/' || c == '=') {
+				break;
+			}
+			pos++;
+		}
+		if (start == pos) {
+			throw error("Missing name");
+		}
+		return xml.substring(start, pos);
+	}
+
+	private void skipWhitespace() {
+		while (pos < xml.length() && isWhitespace(xml.charAt(pos))) {
+			pos++;
+		}
+	}
+
+	private void checkWhitespace(int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!isWhitespace(xml.charAt(i))) {
+				throw error("Text outside of the root element");
+			}
+		}
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+	}
+
+	private int indexOf(String str, int fromIndex, boolean required) {
+		int index = xml.indexOf(str, fromIndex);
+		if (index == -1) {
+			if (required) {
+				throw error("Missing " + str);
+			}
+			return xml.length();
+		}
+		return index;
+	}
+
+	/**
+	 * @return the text between start and end with normalized linebreaks and (if entities is true) resolved entities;
+	 *         whitespace in attribute values is normalized to spaces. The substring is returned directly if nothing must be replaced
+	 */
+	private String decode(int start, int end, boolean attribute, boolean entities) {
+		int i = start;
+		while (i < end && !needsDecoding(xml.charAt(i), attribute, entities)) {
+			i++;
+		}
+		if (i == end) {
+			return xml.substring(start, end);
+		}
+		StringBuilder sb = new StringBuilder(end - start);
+		sb.append(xml, start, i);
+		while (i < end) {
+			char c = xml.charAt(i);
+			if (c == '\r') {
+				sb.append(attribute ? ' ' : '\n');
+				if (i + 1 < end && xml.charAt(i + 1) == '\n') {
+					i++; // \r\n is a single linebreak
+				}
+			}
+			else if (attribute && (c == '\n' || c == '\t')) {
+				sb.append(' ');
+			}
+			else if (c == '&' && entities) {
+				int semicolon = xml.indexOf(';', i);
+				if (semicolon == -1 || semicolon >= end) {
+					throw error("Unterminated entity");
+				}
+				appendEntity(sb, xml.substring(i + 1, semicolon));
+				i = semicolon;
+			}
+			else {
+				sb.append(c);
+			}
+			i++;
+		}
+		return sb.toString();
+	}
+
+	private static boolean needsDecoding(char c, boolean attribute, boolean entities) {
+		return c == '\r' || c == '&' && entities || attribute && (c == '\n' || c == '\t');
+	}
+
+	private void appendEntity(StringBuilder sb, String entity) {
+		if (entity.equals("amp")) {
+			sb.append('&');
+		}
+		else if (entity.equals("lt")) {
+			sb.append('<');
+		}
+		else if (entity.equals("gt")) {
+			sb.append('>');
+		}
+		else if (entity.equals("quot")) {
+			sb.append('"');
+		}
+		else if (entity.equals("apos")) {
+			sb.append('\'');
+		}
+		else if (entity.startsWith("#")) {
+			try {
+				int codePoint = entity.startsWith("#x") ? Integer.parseInt(entity.substring(2), 16) : Integer.parseInt(entity.substring(1));
+				sb.append(Character.toChars(codePoint));
+			} catch (IllegalArgumentException e) { // also thrown by Character.toChars for invalid code points
+				throw new UxfFormatException("Invalid character reference &" + entity + "; at position " + pos, e);
+			}
+		}
+		else {
+			throw error("Unknown entity &" + entity + ";");
+		}
+	}
+
+	private UxfFormatException error(String message) {
+		return new UxfFormatException(message + " at position " + pos);
+	}
+}
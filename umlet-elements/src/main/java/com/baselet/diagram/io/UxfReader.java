@@ -0,0 +1,113 @@
+package com.baselet.diagram.io;
+
+/**
+ * Reads a .uxf file with the {@link UxfPullParser} in a single pass and passes the diagram settings and every element to a {@link Handler}.
+ * The tags are handled like the InputHandler of the standalone version handles them, therefore both read the same files
+ */
+public class UxfReader {
+
+	public interface Handler {
+		void setHelpText(String helpText);
+
+		void setZoomLevel(int zoomLevel);
+
+		/**
+		 * @param id the id of a NewGridElement (or null for an OldGridElement)
+		 * @param type the classname of an OldGridElement (or null for a NewGridElement)
+		 * @param customCode the code of a CustomElement (or null for all other elements)
+		 */
+		void addElement(String id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes, String customCode);
+
+		/**
+		 * called instead of {@link #addElement} if the coordinates of an element are missing or invalid
+		 */
+		void addInvalidElement(String id, String type, RuntimeException cause);
+	}
+
+	private UxfReader() {} // private constructor to avoid instantiation
+
+	/**
+	 * @throws UxfFormatException if the file is no well-formed XML or the zoom level is invalid
+	 */
+	public static void read(String xml, Handler handler) {
+		UxfPullParser parser = new UxfPullParser(xml);
+		StringBuilder elementText = new StringBuilder();
+		String id = null;
+		String type = null;
+		String x = null;
+		String y = null;
+		String w = null;
+		String h = null;
+		String panelAttributes = "";
+		String additionalAttributes = "";
+		String customCode = null;
+
+		int event;
+		while ((event = parser.next()) != UxfPullParser.END_DOCUMENT) {
+			if (event == UxfPullParser.TEXT) {
+				elementText.append(parser.getText());
+			}
+			else if (event == UxfPullParser.START_ELEMENT) {
+				elementText.setLength(0);
+				if (parser.getName().equals("element")) {
+					id = null;
+					type = null;
+					x = y = w = h = null;
+					panelAttributes = "";
+					additionalAttributes = "";
+					customCode = null;
+				}
+			}
+			else {
+				String name = parser.getName();
+				if (name.equals("help_text")) {
+					handler.setHelpText(elementText.toString());
+				}
+				else if (name.equals("zoom_level")) {
+					try {
+						handler.setZoomLevel(Integer.parseInt(elementText.toString()));
+					} catch (NumberFormatException e) {
+						throw new UxfFormatException("Invalid zoom level: " + elementText, e);
+					}
+				}
+				else if (name.equals("element")) {
+					int[] bounds;
+					try {
+						bounds = new int[] { Integer.parseInt(x), Integer.parseInt(y), Integer.parseInt(w), Integer.parseInt(h) };
+					} catch (NumberFormatException e) {
+						handler.addInvalidElement(id, type, e);
+						continue;
+					}
+					handler.addElement(id, type, bounds[0], bounds[1], bounds[2], bounds[3], panelAttributes, additionalAttributes, customCode);
+				}
+				else if (name.equals("id")) {
+					id = elementText.toString();
+				}
+				else if (name.equals("type")) {
+					type = elementText.toString();
+				}
+				else if (name.equals("x")) {
+					x = elementText.toString();
+				}
+				else if (name.equals("y")) {
+					y = elementText.toString();
+				}
+				else if (name.equals("w")) {
+					w = elementText.toString();
+				}
+				else if (name.equals("h")) {
+					h = elementText.toString();
+				}
+				else if (name.equals("panel_attributes")) {
+					panelAttributes = elementText.toString();
+				}
+				else if (name.equals("additional_attributes")) {
+					additionalAttributes = elementText.toString();
+				}
+				else if (name.equals("custom_code")) {
+					customCode = elementText.toString();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.baselet.diagram.io;
+
+import java.io.IOException;
+
+/**
+ * Streams a diagram in the uxf format to a Writer (standalone) or a StringBuilder (web) without building a DOM first.
+ * The output is byte-identical to the one of the indenting JDK Transformer (indent-amount 2) which was used before:
+ * elements with text content are written on a single line, empty elements are written as &lt;name/&gt;
+ * and the escaping of the text content follows the rules of the JDK serializer (e.g. \r is written as &amp;#13;)
+ */
+public class UxfWriter {
+
+	private static final String INDENT = "  ";
+
+	private final Appendable out;
+	private final String lineSeparator; // the Transformer uses the system line separator for indentation and linebreaks within text
+
+	public UxfWriter(Appendable out, String lineSeparator) {
+		this.out = out;
+		this.lineSeparator = lineSeparator;
+	}
+
+	public void writeDiagramStart(String program, String version) throws IOException {
+		out.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
+		out.append(lineSeparator);
+		out.append("<diagram program=\"");
+		writeEscaped(program, true);
+		out.append("\" version=\"");
+		writeEscaped(version, true);
+		out.append("\">");
+		out.append(lineSeparator);
+	}
+
+	public void writeHelpText(String helpText) throws IOException {
+		writeTextElement(1, "help_text", helpText);
+	}
+
+	public void writeZoomLevel(int zoomLevel) throws IOException {
+		writeTextElement(1, "zoom_level", String.valueOf(zoomLevel));
+	}
+
+	/**
+	 * @param id the id of a NewGridElement (or null for an OldGridElement)
+	 * @param type the classname of an OldGridElement (only used if id is null)
+	 * @param customCode the code of a CustomElement (or null for all other elements)
+	 */
+	public void writeElement(String id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes, String customCode) throws IOException {
+		writeStartTag(1, "element");
+		if (id != null) {
+			writeTextElement(2, "id", id);
+		}
+		else {
+			writeTextElement(2, "type", type);
+		}
+		writeStartTag(2, "coordinates");
+		writeTextElement(3, "x", String.valueOf(x));
+		writeTextElement(3, "y", String.valueOf(y));
+		writeTextElement(3, "w", String.valueOf(w));
+		writeTextElement(3, "h", String.valueOf(h));
+		writeEndTag(2, "coordinates");
+		writeTextElement(2, "panel_attributes", panelAttributes);
+		writeTextElement(2, "additional_attributes", additionalAttributes);
+		if (customCode != null) {
+			writeTextElement(2, "custom_code", customCode);
+		}
+		writeEndTag(1, "element");
+	}
+
+	public void writeDiagramEnd() throws IOException {
+		out.append("</diagram>");
+		out.append(lineSeparator);
+	}
+
+	private void writeStartTag(int depth, String name) throws IOException {
+		writeIndent(depth);
+		out.append('<');
+		out.append(name);
+		out.append('>');
+		out.append(lineSeparator);
+	}
+
+	private void writeEndTag(int depth, String name) throws IOException {
+		writeIndent(depth);
+		out.append("</");
+		out.append(name);
+		out.append('>');
+		out.append(lineSeparator);
+	}
+
+	private void writeTextElement(int depth, String name, String text) throws IOException {
+		writeIndent(depth);
+		out.append('<');
+		out.append(name);
+		if (text == null || text.isEmpty()) {
+			out.append("/>");
+		}
+		else {
+			out.append('>');
+			writeEscaped(text, false);
+			out.append("</");
+			out.append(name);
+			out.append('>');
+		}
+		out.append(lineSeparator);
+	}
+
+	private void writeIndent(int depth) throws IOException {
+		for (int i = 0; i < depth; i++) {
+			out.append(INDENT);
+		}
+	}
+
+	private void writeEscaped(String text, boolean attribute) throws IOException {
+		int unescapedStart = 0; // consecutive characters which need no escaping are written as a block
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement = null;
+			int consumedChars = 1;
+			if (c == '&') {
+				replacement = "&amp;";
+			}
+			else if (c == '<') {
+				replacement = "&lt;";
+			}
+			else if (c == '>') {
+				replacement = "&gt;";
+			}
+			else if (c == '"' && attribute) {
+				replacement = "&quot;";
+			}
+			else if (c == '\n') {
+				replacement = attribute ? "&#10;" : lineSeparator;
+			}
+			else if (c < 0x20 && c != '\t' || c >= 0x7F && c <= 0x9F) { // control characters (including \r) are written as character references
+				replacement = "&#" + (int) c + ";";
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) { // supplementary characters are written as character references
+				replacement = "&#" + Character.toCodePoint(c, text.charAt(i + 1)) + ";";
+				consumedChars = 2;
+			}
+			if (replacement != null) {
+				out.append(text, unescapedStart, i);
+				out.append(replacement);
+				i += consumedChars - 1;
+				unescapedStart = i + 1;
+			}
+		}
+		out.append(text, unescapedStart, text.length());
+	}
+}
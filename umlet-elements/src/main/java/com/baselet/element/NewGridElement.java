@@ -65,6 +65,11 @@ public abstract class NewGridElement implements GridElement {
 
 	protected final UndoHistory undoStack = new UndoHistory();
 
+	/**
+	 * if true the element is only a placeholder which holds its bounds and raw attributes; the properties are parsed as soon as the parsed model is needed
+	 */
+	private boolean modelUpdateDeferred = false;
+
 	public void init(Rectangle bounds, String panelAttributes, String additionalAttributes, Component component, DrawHandlerInterface handler) {
 		this.component = component;
 		drawer = component.getDrawHandler();
@@ -103,8 +108,35 @@ public abstract class NewGridElement implements GridElement {
 	 */
 	private boolean autoresizePossiblyInProgress = false;
 
+	/**
+	 * Turns the element into a placeholder: calls of updateModelFromText() are ignored until {@link #updateModelIfDeferred()} is called.
+	 * Must be called before init() to avoid parsing the properties while the element is created (e.g. when a large diagram is loaded).
+	 * An initialized element keeps its last model until it is parsed again (e.g. while a zoomed diagram lays out only its visible elements)
+	 */
+	public void deferModelUpdate() {
+		modelUpdateDeferred = true;
+	}
+
+	public boolean isModelUpdateDeferred() {
+		return modelUpdateDeferred;
+	}
+
+	/**
+	 * parses the properties if this element is still a placeholder (see {@link #deferModelUpdate()})
+	 */
+	public void updateModelIfDeferred() {
+		if (modelUpdateDeferred) {
+			modelUpdateDeferred = false;
+			updateModelFromText();
+		}
+	}
+
 	@Override
 	public void updateModelFromText() {
+		if (modelUpdateDeferred) {
+			component.afterModelUpdate(); // the properties are parsed later, but e.g. the points of a Relation moved by movePoints() must be indexed by the DrawPanel now
+			return;
+		}
 		autoresizePossiblyInProgress = true;
 		drawer.clearCache();
 		drawer.resetStyle(); // must be set before actions which depend on the fontsize (otherwise a changed fontsize would be recognized too late)
@@ -217,6 +249,7 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public Set<Direction> getResizeArea(int x, int y) {
+		updateModelIfDeferred();
 		Set<Direction> returnSet = new HashSet<Direction>();
 		if (state.getElementStyle() == ElementStyle.NORESIZE || state.getElementStyle() == ElementStyle.AUTORESIZE) {
 			return returnSet;
@@ -244,6 +277,7 @@ public abstract class NewGridElement implements GridElement {
 	@Deprecated
 	@Override
 	public final StickingPolygon generateStickingBorder(Rectangle rect) {
+		updateModelIfDeferred();
 		return state.getStickingPolygonGenerator().generateStickingBorder(rect);
 	}
 
@@ -340,6 +374,7 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public List<AutocompletionText> getAutocompletionList() {
+		updateModelIfDeferred();
 		List<AutocompletionText> returnList = new ArrayList<AutocompletionText>();
 		addAutocompletionTexts(returnList, state.getSettings().getFacetsForFirstRun());
 		addAutocompletionTexts(returnList, state.getSettings().getFacetsForSecondRun());
@@ -356,11 +391,28 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public Integer getLayer() {
-		return state.getFacetResponse(LayerFacet.class, LayerFacet.DEFAULT_VALUE);
+		return getLayerHelper(LayerFacet.DEFAULT_VALUE);
+	}
+
+	/**
+	 * the layer and group are read directly from the properties text of placeholders, because they are requested for every element on each paint or selection
+	 */
+	protected Integer getLayerHelper(Integer defaultLayer) {
+		if (modelUpdateDeferred) {
+			try {
+				String layer = getSetting(LayerFacet.KEY);
+				return layer == null ? defaultLayer : Integer.valueOf(layer);
+			} catch (NumberFormatException e) {/* default value applies */}
+			return defaultLayer;
+		}
+		return state.getFacetResponse(LayerFacet.class, defaultLayer);
 	}
 
 	@Override
 	public String getGroup() {
+		if (modelUpdateDeferred) {
+			return getSetting(GroupFacet.KEY);
+		}
 		return state.getFacetResponse(GroupFacet.class, null);
 	}
 
@@ -518,6 +570,11 @@ public abstract class NewGridElement implements GridElement {
 		undoStack.add(undoInfoA.merge(undoInfoB));
 	}
 
+	@Override
+	public void discardOldestUndoDrag() {
+		undoStack.discardOldest();
+	}
+
 	@Override
 	public GridElementDeprecatedAddons getDeprecatedAddons() {
 		return GridElementDeprecatedAddons.NONE;
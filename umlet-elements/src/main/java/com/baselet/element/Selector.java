@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -14,13 +13,15 @@ import java.util.Set;
 
 import com.baselet.element.facet.common.GroupFacet;
 import com.baselet.element.interfaces.GridElement;
+import com.baselet.util.LinkedIdentitySet;
 
 public abstract class Selector {
 
 	private void selectHelper(boolean applyAfterAction, Collection<GridElement> elements) {
+		List<GridElement> selectedElements = getSelectedElements();
 		for (GridElement e : expand(elements)) {
-			if (!getSelectedElements().contains(e)) {
-				getSelectedElements().add(e);
+			if (!selectedElements.contains(e)) {
+				selectedElements.add(e);
 				doAfterSelect(e);
 			}
 		}
@@ -30,13 +31,10 @@ public abstract class Selector {
 	}
 
 	private void deselectHelper(boolean applyAfterAction, Collection<GridElement> elements) {
+		List<GridElement> selectedElements = getSelectedElements();
 		for (GridElement e : expand(elements)) {
-			Iterator<GridElement> iter = getSelectedElements().iterator();
-			while (iter.hasNext()) {
-				if (iter.next().equals(e)) {
-					iter.remove();
-					doAfterDeselect(e);
-				}
+			if (selectedElements.remove(e)) {
+				doAfterDeselect(e);
 			}
 		}
 		if (applyAfterAction) {
@@ -44,18 +42,31 @@ public abstract class Selector {
 		}
 	}
 
+	/**
+	 * @return the elements together with all elements which share a group with one of them (every element is contained only once)
+	 */
 	private List<GridElement> expand(Collection<GridElement> elements) {
-		Map<String, Collection<GridElement>> map = Selector.createGroupElementMap(getAllElements());
-		List<GridElement> elemenentsWithGroups = new ArrayList<GridElement>();
-		// add grouped elements BEFORE the really selected elements, to make sure the last element stays the same (because its content will be shown in the property panel)
+		Set<String> groupValues = new HashSet<String>();
 		for (GridElement e : elements) {
 			String groupValue = GroupFacet.getElementGroupValSafe(e.getGroup());
 			if (groupValue != null) {
-				Collection<GridElement> set = map.get(groupValue);
-				if (set != null) { // TODO set can be null in standalone version because getAllElements is empty (eg if grouped elements are selected when diagram is closed)
-					for (GridElement g : set) {
-						if (g != e) {
-							elemenentsWithGroups.add(g);
+				groupValues.add(groupValue);
+			}
+		}
+		LinkedIdentitySet<GridElement> elemenentsWithGroups = new LinkedIdentitySet<GridElement>();
+		if (!groupValues.isEmpty()) { // only grouped elements require a look at all elements of the diagram
+			Map<String, Collection<GridElement>> map = Selector.createGroupElementMap(getAllElements(), groupValues);
+			// add grouped elements BEFORE the really selected elements, to make sure the last element stays the same (because its content will be shown in the property panel)
+			Set<String> expandedGroups = new HashSet<String>();
+			for (GridElement e : elements) {
+				String groupValue = GroupFacet.getElementGroupValSafe(e.getGroup());
+				if (groupValue != null && expandedGroups.add(groupValue)) {
+					Collection<GridElement> set = map.get(groupValue);
+					if (set != null) { // TODO set can be null in standalone version because getAllElements is empty (eg if grouped elements are selected when diagram is closed)
+						for (GridElement g : set) {
+							if (g != e) {
+								elemenentsWithGroups.add(g);
+							}
 						}
 					}
 				}
@@ -123,8 +134,13 @@ public abstract class Selector {
 
 	public void moveToLastPosInList(GridElement element) {
 		List<GridElement> elements = getSelectedElements();
-		elements.remove(element);
-		elements.add(element);
+		if (elements instanceof LinkedIdentitySet) {
+			((LinkedIdentitySet<GridElement>) elements).moveToLast(element);
+		}
+		else {
+			elements.remove(element);
+			elements.add(element);
+		}
 	}
 
 	public String getUnusedGroup() {
@@ -157,11 +173,18 @@ public abstract class Selector {
 	}
 
 	public static Map<String, Collection<GridElement>> createGroupElementMap(Collection<GridElement> elements) {
+		return createGroupElementMap(elements, null);
+	}
+
+	/**
+	 * @param groupValues only these groups are part of the map (all groups if null)
+	 */
+	private static Map<String, Collection<GridElement>> createGroupElementMap(Collection<GridElement> elements, Set<String> groupValues) {
 		Map<String, Collection<GridElement>> returnmap = new HashMap<String, Collection<GridElement>>();
 		String groupValue;
 		for (GridElement e : elements) {
 			groupValue = GroupFacet.getElementGroupValSafe(e.getGroup());
-			if (groupValue != null) {
+			if (groupValue != null && (groupValues == null || groupValues.contains(groupValue))) {
 				Collection<GridElement> elementsWithGroup = returnmap.get(groupValue);
 				if (elementsWithGroup == null) {
 					elementsWithGroup = new ArrayList<GridElement>();
@@ -27,6 +27,16 @@ public class UndoHistory {
 		return undoInformation;
 	}
 
+	/**
+	 * removes the oldest information (e.g. because the undo history of the diagram has dropped the command which could undo it)
+	 */
+	public void discardOldest() {
+		if (!history.isEmpty()) {
+			history.remove(0);
+			currentIndex = Math.max(-1, currentIndex - 1);
+		}
+	}
+
 	public UndoInformation get(boolean undo) {
 		if (history.isEmpty()) {
 			return null;
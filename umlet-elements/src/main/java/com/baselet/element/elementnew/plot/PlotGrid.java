@@ -106,11 +106,9 @@ public class PlotGrid extends NewGridElement {
 	private void setOverallMinMaxValue(List<PlotState> plotStateList) {
 		minValue = Double.MAX_VALUE;
 		maxValue = Double.MIN_VALUE;
-		Double[][] data;
 		for (PlotState state : plotStateList) {
-			data = state.getDataSet().data();
-			for (Double[] dArray : data) {
-				for (Double d : dArray) {
+			for (double[] dArray : state.getDataSet().values()) {
+				for (double d : dArray) {
 					if (d > maxValue) {
 						maxValue = d;
 					}
@@ -270,7 +268,7 @@ public class PlotGrid extends NewGridElement {
 		DrawHandler drawer = state.getDrawer();
 		try {
 			matrix = new Matrix<List<AbstractPlot>>();
-			ParserResult parserState = new Parser().parse(getPanelAttributes());
+			ParserResult parserState = Parser.parseCached(getPanelAttributes());
 			parserState.setDrawer(drawer);
 			log.debug(parserState.toString());
 
@@ -56,8 +56,7 @@ public abstract class AbstractPlot {
 	}
 
 	private void setupAbstractPlot() {
-		DataSet ds = plotState.getDataSet();
-		ds.setInvert(plotState.getValueAsBoolean(PlotConstants.KEY_BOOL_DATA_INVERT, PlotConstants.DATA_INVERT_DEFAULT));
+		DataSet ds = plotState.getDataSet().withInversion(plotState.getValueAsBoolean(PlotConstants.KEY_BOOL_DATA_INVERT, PlotConstants.DATA_INVERT_DEFAULT));
 		String[] desc = ds.titleRow();
 		String[] title = ds.titleCol();
 		// System.out.print("\ntitle of ds " + ds.getLineNr() + " :");
@@ -1,22 +1,26 @@
 package com.baselet.element.elementnew.plot.parser;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
-import com.baselet.control.Matrix;
+import com.baselet.control.SharedUtils;
 
+/**
+ * The cells of a dataset and its values. A dataset is never changed after the parser has analysed it,
+ * therefore it can be shared by all plots (and by cached parser results); the inverted dataset is a separate object
+ */
 public class DataSet {
-	private String id;
-	private Integer nr;
-	private int lineNr;
-	private boolean isInverted;
+	private final String id;
+	private final Integer nr;
+	private final int lineNr;
 
-	private List<String> titleRow = null;
-	private List<String> titleCol = null;
+	private String[] titleRow = null;
+	private String[] titleCol = null;
 
-	private Matrix<Double> valueMatrix;
-	private Matrix<String> analyseMatrix;
+	private double[][] values; // rows can have different lengths
+	private final List<String[]> cells; // null entries are missing cells (only possible in inverted datasets)
+
+	private volatile DataSet inverted; // created on first use, an inverted dataset references its origin
 
 	public static final Double VALUE_DEFAULT = 0.0; // used for invalid value fields or missing fields
 
@@ -24,7 +28,7 @@ public class DataSet {
 		this.id = id;
 		this.nr = nr;
 		this.lineNr = lineNr;
-		analyseMatrix = new Matrix<String>();
+		cells = new ArrayList<String[]>();
 	}
 
 	public String getId() {
@@ -43,18 +47,27 @@ public class DataSet {
 	 * @return the row size
 	 */
 	public int rows() {
-		return valueMatrix.rows();
+		return values.length;
 	}
 
 	/**
 	 * @return the column size
 	 */
 	public int cols() {
-		return valueMatrix.cols();
+		int longestRow = 0;
+		for (double[] row : values) {
+			longestRow = Math.max(longestRow, row.length);
+		}
+		return longestRow;
 	}
 
 	public boolean isEmpty() {
-		return valueMatrix.isEmpty();
+		for (double[] row : values) {
+			if (row.length > 0) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -63,14 +76,16 @@ public class DataSet {
 	 * @return a Double[] containing the cells of the row
 	 */
 	public Double[] row(int index) {
-		List<Double> list = valueMatrix.row(index);
-		return list.toArray(new Double[list.size()]);
+		double[] row = values[index];
+		Double[] returnArray = new Double[row.length];
+		for (int i = 0; i < row.length; i++) {
+			returnArray[i] = row[i];
+		}
+		return returnArray;
 	}
 
 	public Double[][] data() {
-		if (valueMatrix.isEmpty()) {
-			throw new ParserException("The dataset (line: " + getLineNr() + ") has no values");
-		}
+		checkNotEmpty();
 		Double[][] returnArray = new Double[rows()][];
 		for (int i = 0; i < rows(); i++) {
 			returnArray[i] = row(i);
@@ -79,112 +94,186 @@ public class DataSet {
 	}
 
 	/**
-	 * Changed the manual inversion of the dataset. The dataset must only be inverted if the value has changed because
-	 * it is only referenced from plots, therefore the last inversion will be dragged to further plot-calls without a problem
+	 * @return the values without boxing them, the arrays must not be changed
+	 */
+	public double[][] values() {
+		checkNotEmpty();
+		return values;
+	}
+
+	private void checkNotEmpty() {
+		if (isEmpty()) {
+			throw new ParserException("The dataset (line: " + getLineNr() + ") has no values");
+		}
+	}
+
+	/**
+	 * @return this dataset or the inverted dataset (rows and columns are swapped)
 	 */
-	public void setInvert(boolean shouldBeInverted) {
-		if (isInverted == !shouldBeInverted) {
-			analyseMatrix.invert();
-			separateTitleRowColFromContent();
-			isInverted = shouldBeInverted;
+	public DataSet withInversion(boolean shouldBeInverted) {
+		if (!shouldBeInverted) {
+			return this;
 		}
+		DataSet result = inverted;
+		if (result == null) {
+			result = new DataSet(id, nr, lineNr);
+			int cols = longestCellRow();
+			for (int c = 0; c < cols; c++) {
+				String[] col = new String[cells.size()];
+				for (int r = 0; r < cells.size(); r++) {
+					String[] row = cells.get(r);
+					col[r] = c < row.length ? row[c] : null;
+				}
+				result.cells.add(col);
+			}
+			result.analyseMatrix();
+			result.inverted = this;
+			inverted = result;
+		}
+		return result;
 	}
 
 	public String[] titleRow() {
-		return titleRow.toArray(new String[titleRow.size()]);
+		return SharedUtils.cloneArray(titleRow);
 	}
 
 	public String[] titleCol() {
-		return titleCol.toArray(new String[titleCol.size()]);
+		return SharedUtils.cloneArray(titleCol);
 	}
 
 	@Override
 	public String toString() {
-		return "Dataset (" + id + ")\n" + analyseMatrix;
+		StringBuilder sb = new StringBuilder("Dataset (" + id + ")\n");
+		for (String[] row : cells) {
+			for (String value : row) {
+				sb.append(value != null ? value : "null").append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
 	}
 
 	protected void addLine(String[] line) {
-		analyseMatrix.addLine(new ArrayList<String>(Arrays.asList(line)));
+		cells.add(line);
 	}
 
 	protected void analyseMatrix() {
 		separateTitleRowColFromContent();
-		// If the valuematrix has more rows than cols the analyseMatrix must be inverted and analysed again
-		// if (!valueMatrix.isEmpty() && valueMatrix.hasMoreRowsThanCols()) analyseMatrix.invert();
-		// separateTitleRowColFromContent();
+	}
+
+	private int longestCellRow() {
+		int longestRow = 0;
+		for (String[] row : cells) {
+			longestRow = Math.max(longestRow, row.length);
+		}
+		return longestRow;
 	}
 
 	private void separateTitleRowColFromContent() {
-		if (analyseMatrix.isEmpty()) {
+		if (cells.isEmpty() || longestCellRow() == 0) {
 			throw new ParserException("The dataset (line: " + getLineNr() + ") has no content");
 		}
-		List<String> firstRow = analyseMatrix.row(0);
-		List<String> firstCol = analyseMatrix.col(0);
+		String[] firstRow = cells.get(0);
+		String[] firstCol = new String[cells.size()];
+		for (int r = 0; r < cells.size(); r++) {
+			String[] row = cells.get(r);
+			firstCol[r] = row.length > 0 ? row[0] : null;
+		}
 		boolean hasTitleRow = isTitleLine(firstRow);
 		boolean hasTitleCol = isTitleLine(firstCol);
 
 		if (hasTitleRow && hasTitleCol) {
-			if (!firstRow.get(0).isEmpty() || !firstCol.get(0).isEmpty()) {
+			if (!firstRow[0].isEmpty() || !firstCol[0].isEmpty()) {
 				throw new ParserException("If a dataset has a title row and column, the upper left space must be empty");
 			}
-			titleRow = firstRow.subList(1, firstRow.size()); // ignore first cell
-			titleCol = firstCol.subList(1, firstCol.size()); // ignore first cell
+			titleRow = copyWithoutFirst(firstRow); // ignore first cell
+			titleCol = copyWithoutFirst(firstCol); // ignore first cell
 		}
 		else if (hasTitleRow && !hasTitleCol) {
 			titleRow = firstRow;
-			titleCol = createEmptyList(firstCol.size() - 1);
+			titleCol = createEmptyArray(firstCol.length - 1);
 
 		}
 		else if (!hasTitleRow && hasTitleCol) {
-			titleRow = createEmptyList(firstRow.size() - 1);
+			titleRow = createEmptyArray(firstRow.length - 1);
 			titleCol = firstCol;
 		}
 		else /* if (!hasTitleRow && !hasTitleCol) */ {
-			titleRow = createEmptyList(firstRow.size());
-			titleCol = createEmptyList(firstCol.size());
+			titleRow = createEmptyArray(firstRow.length);
+			titleCol = createEmptyArray(firstCol.length);
 		}
 
-		valueMatrix = new Matrix<Double>();
-		for (int r = hasTitleRow ? 1 : 0; r < analyseMatrix.rows(); r++) {
-			List<String> row = analyseMatrix.row(r);
-			List<Double> rowDouble = new ArrayList<Double>();
-			for (int c = hasTitleCol ? 1 : 0; c < row.size(); c++) {
-				String val = row.get(c);
+		int firstValueRow = hasTitleRow ? 1 : 0;
+		int firstValueCol = hasTitleCol ? 1 : 0;
+		values = new double[cells.size() - firstValueRow][];
+		for (int r = firstValueRow; r < cells.size(); r++) {
+			String[] row = cells.get(r);
+			double[] rowDouble = new double[Math.max(0, row.length - firstValueCol)];
+			for (int c = firstValueCol; c < row.length; c++) {
+				String val = row[c];
 				try {
 					if (val == null) {
 						throw new NumberFormatException();
 					}
 					else {
-						rowDouble.add(Double.parseDouble(val));
+						rowDouble[c - firstValueCol] = Double.parseDouble(val);
 					}
 				} catch (NumberFormatException ex) {
 					throw new ParserException("The Dataset (line: " + getLineNr() + ") contains invalid values");
 				}
 			}
-			valueMatrix.addLine(rowDouble);
+			values[r - firstValueRow] = rowDouble;
 		}
 	}
 
-	private boolean isTitleLine(List<String> row) {
+	private boolean isTitleLine(String[] row) {
 		int numbersInRow = 0;
 		for (String cell : row) {
-			if (cell == null) {
-				continue;
-			}
-			try {
-				Double.parseDouble(cell);
+			if (isDouble(cell)) {
 				numbersInRow++;
-			} catch (NumberFormatException ex) {/* do nothing */}
+			}
+		}
+
+		return row.length - numbersInRow > numbersInRow;
+	}
+
+	/**
+	 * most title cells can be rejected by their first character, which avoids throwing a NumberFormatException for them
+	 */
+	private static boolean isDouble(String cell) {
+		if (cell == null) {
+			return false;
+		}
+		int i = 0;
+		while (i < cell.length() && cell.charAt(i) <= ' ') { // Double.parseDouble ignores the same leading whitespace as String.trim()
+			i++;
+		}
+		if (i == cell.length()) {
+			return false;
 		}
+		char first = cell.charAt(i);
+		if (!(first >= '0' && first <= '9' || first == '-' || first == '+' || first == '.' || first == 'N' || first == 'I')) {
+			return false;
+		}
+		try {
+			Double.parseDouble(cell);
+			return true;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
 
-		return row.size() - numbersInRow > numbersInRow;
+	private static String[] copyWithoutFirst(String[] array) {
+		String[] returnArray = new String[array.length - 1];
+		System.arraycopy(array, 1, returnArray, 0, returnArray.length);
+		return returnArray;
 	}
 
-	private List<String> createEmptyList(int size) {
-		List<String> returnList = new ArrayList<String>();
+	private static String[] createEmptyArray(int size) {
+		String[] returnArray = new String[size];
 		for (int i = 0; i < size; i++) {
-			returnList.add("");
+			returnArray[i] = "";
 		}
-		return returnList;
+		return returnArray;
 	}
 }
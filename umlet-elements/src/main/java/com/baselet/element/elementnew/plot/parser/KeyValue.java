@@ -1,5 +1,7 @@
 package com.baselet.element.elementnew.plot.parser;
 
+import java.util.Map;
+
 public class KeyValue {
 
 	private String key;
@@ -15,6 +17,19 @@ public class KeyValue {
 		used = false;
 	}
 
+	/**
+	 * @return the copy of the keyValue, which is created and added to the copies if it doesn't exist yet
+	 */
+	protected static KeyValue copy(KeyValue keyValue, Map<KeyValue, KeyValue> copies) {
+		KeyValue copy = copies.get(keyValue);
+		if (copy == null) {
+			copy = new KeyValue(keyValue.key, keyValue.value, keyValue.line);
+			copy.used = keyValue.used;
+			copies.put(keyValue, copy);
+		}
+		return copy;
+	}
+
 	public String getKey() {
 		return key;
 	}
@@ -10,10 +10,17 @@ import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.baselet.util.ConcurrentLRUCache;
+
 public class Parser {
 
 	private static final Logger log = LoggerFactory.getLogger(Parser.class);
 
+	private static final int RESULT_CACHE_SIZE = 100; // number of cached PlotGrid texts
+
+	// the parsed PlotGrids by their text; PlotGrids are redrawn on every drag, resize and zoom, but their text rarely changes
+	private static final ConcurrentLRUCache<String, ParserResult> resultCache = new ConcurrentLRUCache<String, ParserResult>("plot grids", RESULT_CACHE_SIZE);
+
 	// The parserResult contains every information which is relevant after input parsing is finished
 	private final ParserResult parserResult;
 
@@ -31,6 +38,18 @@ public class Parser {
 		tempPlotValuesCache = new HashMap<String, KeyValue>();
 	}
 
+	/**
+	 * @return a copy of the cached result of the source, the source is only parsed if it isn't cached (invalid sources are never cached)
+	 */
+	public static ParserResult parseCached(String source) {
+		ParserResult result = resultCache.get(source);
+		if (result == null) {
+			result = new Parser().parse(source);
+			resultCache.put(source, result);
+		}
+		return result.copy(); // the plots mark the values of their result as used, therefore the cached result is never handed out
+	}
+
 	public ParserResult parse(String source) {
 
 		List<String> inputList = Arrays.asList(source.split("\n", -1));
@@ -38,11 +57,11 @@ public class Parser {
 
 		while (inputIterator.hasNext()) {
 			String line = inputIterator.next();
-			if (line.isEmpty() || line.matches(PlotConstants.REGEX_COMMENT)) {/* ignore empty lines and comments */}
-			else if (line.matches(PlotConstants.REGEX_PLOT)) {
+			if (line.isEmpty() || isComment(line)) {/* ignore empty lines and comments */}
+			else if (isPlot(line, 0)) {
 				parserResult.addPlotState(createPlotStateObject(line.split(" "), inputIterator));
 			}
-			else if (line.matches(PlotConstants.REGEX_PLOT_ADD)) {
+			else if (line.charAt(0) == '+' && isPlot(line, 1)) {
 				List<PlotState> plotStates = parserResult.getPlotStateList();
 				if (plotStates.isEmpty()) {
 					// if no plotStates, create a new one
@@ -54,14 +73,14 @@ public class Parser {
 					last.addSubPlot(createPlotStateObject(line.split(" "), inputIterator));
 				}
 			}
-			else if (line.matches(PlotConstants.REGEX_DATA)) {
-				createDatasetObject(line.split(" "), inputIterator);
+			else if (isData(line)) {
+				createDatasetObject(line.length() > PlotConstants.DATA.length() + 1 ? line.substring(PlotConstants.DATA.length() + 1) : null, inputIterator);
 			}
-			else if (line.matches(PlotConstants.REGEX_DATA_GUESS)) {
+			else if (isDataGuess(line)) {
 				inputIterator.previous(); // Must go 1 step back to avoid skipping the first line in createDatasetObject
-				createDatasetObject(new String[] { PlotConstants.DATA }, inputIterator);
+				createDatasetObject(null, inputIterator);
 			}
-			else if (line.matches(PlotConstants.REGEX_VALUE_ASSIGNMENT)) {
+			else if (isValueAssignment(line, 0, line.length())) {
 				createKeyValueAssignment(line, inputIterator.nextIndex());
 			}
 			else {
@@ -74,6 +93,136 @@ public class Parser {
 		return parserResult;
 	}
 
+	/**
+	 * The following methods match the regular expressions of PlotConstants without creating a Pattern for every line
+	 */
+	private static boolean isComment(String line) {
+		return line.startsWith("//") && !containsLineTerminator(line);
+	}
+
+	/**
+	 * @param start is 1 for the "+plot" lines
+	 */
+	private static boolean isPlot(String line, int start) {
+		if (!line.startsWith(PlotConstants.PLOT, start)) {
+			return false;
+		}
+		int pos = start + PlotConstants.PLOT.length();
+		if (pos == line.length() || pos == line.length() - 1 && line.charAt(pos) == ' ') {
+			return true;
+		}
+		if (line.charAt(pos) != ' ') {
+			return false;
+		}
+		// the value assignments are separated by single spaces
+		while (true) {
+			pos++;
+			int end = line.indexOf(' ', pos);
+			if (end == -1) {
+				return isValueAssignment(line, pos, line.length());
+			}
+			if (!isValueAssignment(line, pos, end)) {
+				return false;
+			}
+			pos = end;
+		}
+	}
+
+	private static boolean isData(String line) {
+		if (!line.startsWith(PlotConstants.DATA)) {
+			return false;
+		}
+		int pos = PlotConstants.DATA.length();
+		if (pos == line.length() || pos == line.length() - 1 && line.charAt(pos) == ' ') {
+			return true;
+		}
+		if (line.charAt(pos) != ' ') {
+			return false;
+		}
+		for (int i = pos + 1; i < line.length(); i++) {
+			if (!isWordChar(line.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDataGuess(String line) {
+		if (line.startsWith("//")) {
+			return false;
+		}
+		return line.indexOf('=') == -1 || (line.indexOf(' ') != -1 || line.indexOf('\t') != -1) && !containsLineTerminator(line);
+	}
+
+	private static boolean isValueAssignment(String line, int start, int end) {
+		int separator = line.indexOf(PlotConstants.KEY_VALUE_SEP, start);
+		if (separator <= start || separator >= end) {
+			return false;
+		}
+		for (int i = start; i < separator; i++) {
+			if (!isKeyChar(line.charAt(i))) {
+				return false;
+			}
+		}
+		for (int i = separator + 1; i < end; i++) {
+			char c = line.charAt(i);
+			if (!isKeyChar(c) && c != '-' && c != '#' && c != PlotConstants.VALUE_LIST_SEPARATOR.charAt(0)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isKeyChar(char c) {
+		return isWordChar(c) || c == '(' || c == ')' || c == '.';
+	}
+
+	private static boolean isWordChar(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+	}
+
+	/**
+	 * the "." of a regular expression doesn't match these characters
+	 */
+	private static boolean containsLineTerminator(String line) {
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * splits a line of a dataset at every sequence of spaces and tabs; like String.split() a leading separator creates an empty first cell and trailing separators are ignored
+	 */
+	private static String[] splitDataLine(String line) {
+		List<String> cells = new ArrayList<String>();
+		int cellStart = 0;
+		int i = 0;
+		while (i < line.length()) {
+			if (isDataSeparator(line.charAt(i))) {
+				cells.add(line.substring(cellStart, i));
+				while (i < line.length() && isDataSeparator(line.charAt(i))) {
+					i++;
+				}
+				cellStart = i;
+			}
+			else {
+				i++;
+			}
+		}
+		if (cellStart < line.length()) {
+			cells.add(line.substring(cellStart));
+		}
+		return cells.toArray(new String[cells.size()]);
+	}
+
+	private static boolean isDataSeparator(char c) {
+		return c == ' ' || c == '\t';
+	}
+
 	/**
 	 * Is called after parsing everything to analyse the dataset content
 	 */
@@ -142,28 +291,21 @@ public class Parser {
 	 * This method is called if the input string starts with "data" or if the input string contains a tab (then a dataset is assumed)
 	 * All lines until the next empty line are part of the dataset
 	 *
-	 * @param args any parameters to the data command including the command itself as first parameter
+	 * @param datasetId the name after the data command or null
 	 */
-	private void createDatasetObject(String[] args, ListIterator<String> inputIterator) {
+	private void createDatasetObject(String datasetId, ListIterator<String> inputIterator) {
 		int lineNr = inputIterator.nextIndex();
-		String datasetId = null;
-		if (args != null) {
-			if (args.length > 1) {
-				datasetId = args[1];
-				/* handle further parameters here */
-			}
-		}
 		DataSet newDataset = new DataSet(datasetId, datasetNr++, lineNr);
 		while (inputIterator.hasNext()) {
 			String nextLine = inputIterator.next();
-			if (nextLine.matches(PlotConstants.REGEX_COMMENT)) {
+			if (isComment(nextLine)) {
 				continue;
 			}
 			else if (nextLine.trim().isEmpty()) {
 				break;
 			}
 			else {
-				newDataset.addLine(nextLine.split(PlotConstants.REGEX_DATA_SEPARATOR));
+				newDataset.addLine(splitDataLine(nextLine));
 			}
 		}
 
@@ -189,11 +331,9 @@ public class Parser {
 		if (args != null) {
 			// Arguments are handled as any other key->value assignment but are only valid for this plot
 			for (int i = 1; i < args.length; i++) {
-				String[] split = args[i].split("=");
-				if (split.length == 1) {
-					split = new String[] { split[0], "" };
-				}
-				localCopyOfValuesCache.put(split[0], new KeyValue(split[0], split[1], lineNr));
+				int separator = args[i].indexOf(PlotConstants.KEY_VALUE_SEP);
+				String key = args[i].substring(0, separator);
+				localCopyOfValuesCache.put(key, new KeyValue(key, args[i].substring(separator + 1), lineNr));
 			}
 		}
 		// If no dataset is specified the data-value is set to auto
@@ -209,15 +349,14 @@ public class Parser {
 	 * Adds a key-&gt;value assignment to the values HashMap
 	 */
 	private void createKeyValueAssignment(String line, int lineNr) {
-		String[] split = line.split("=");
-		if (split.length == 1) {
-			split = new String[] { split[0], "" };
-		}
-		if (split[0].matches(PlotConstants.KEY_INT_GRID_WIDTH)) {
-			parserResult.addPlotGridValue(split[0], new KeyValue(split[0], split[1], lineNr));
+		int separator = line.indexOf(PlotConstants.KEY_VALUE_SEP);
+		String key = line.substring(0, separator);
+		KeyValue keyValue = new KeyValue(key, line.substring(separator + 1), lineNr);
+		if (key.equals(PlotConstants.KEY_INT_GRID_WIDTH)) {
+			parserResult.addPlotGridValue(key, keyValue);
 		}
 		else {
-			tempPlotValuesCache.put(split[0], new KeyValue(split[0], split[1], lineNr));
+			tempPlotValuesCache.put(key, keyValue);
 		}
 	}
 
@@ -2,6 +2,7 @@ package com.baselet.element.elementnew.plot.parser;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import com.baselet.diagram.draw.DrawHandler;
@@ -18,6 +19,21 @@ public class ParserResult {
 		plotGridValues = new HashMap<String, KeyValue>();
 	}
 
+	/**
+	 * @return a copy without drawer which doesn't share any state with this result that is changed while plotting
+	 */
+	protected ParserResult copy() {
+		Map<KeyValue, KeyValue> keyValueCopies = new HashMap<KeyValue, KeyValue>();
+		ParserResult copy = new ParserResult();
+		for (PlotState plotState : plotStateList) {
+			copy.plotStateList.add(plotState.copy(keyValueCopies));
+		}
+		for (Entry<String, KeyValue> entry : plotGridValues.entrySet()) {
+			copy.plotGridValues.put(entry.getKey(), KeyValue.copy(entry.getValue(), keyValueCopies));
+		}
+		return copy;
+	}
+
 	public void setDrawer(DrawHandler drawer) {
 		this.drawer = drawer;
 	}
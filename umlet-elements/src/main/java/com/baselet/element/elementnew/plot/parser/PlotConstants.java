@@ -21,6 +21,7 @@ public class PlotConstants {
 
 	public static final String PLOT = "plot";
 	public static final String DATA = "data";
+	// the following expressions describe the syntax of the lines, the Parser matches them by hand because it is called for every line of every PlotGrid
 	public static final String REGEX_COMMENT = "(//.*)";
 	public static final String REGEX_KEY = "([(\\w)\\.]+)";
 	// a value is a comma separated list of word characters or "-" (for negative int eg: min_val=-3) or # (for color decoding) or . (for hierarchies)
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 public class PlotState {
 
@@ -19,6 +21,23 @@ public class PlotState {
 		this.values = values;
 	}
 
+	/**
+	 * @param keyValueCopies the already copied values, because plots share the values which are assigned before them (KeyValue doesn't override equals, therefore this is an identity map)
+	 * @return a copy with its own values (which are marked as used by the plots), the dataset is shared because it is never changed after parsing
+	 */
+	protected PlotState copy(Map<KeyValue, KeyValue> keyValueCopies) {
+		HashMap<String, KeyValue> valuesCopy = new HashMap<String, KeyValue>();
+		for (Entry<String, KeyValue> entry : values.entrySet()) {
+			valuesCopy.put(entry.getKey(), KeyValue.copy(entry.getValue(), keyValueCopies));
+		}
+		PlotState copy = new PlotState(plotLineNr, valuesCopy);
+		copy.dataset = dataset;
+		for (PlotState subPlot : subPlots) {
+			copy.subPlots.add(subPlot.copy(keyValueCopies));
+		}
+		return copy;
+	}
+
 	/**
 	 * Is only called once by the parser to calculate the dataset.
 	 */
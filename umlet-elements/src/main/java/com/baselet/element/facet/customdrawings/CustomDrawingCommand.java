@@ -0,0 +1,18 @@
+package com.baselet.element.facet.customdrawings;
+
+import com.baselet.diagram.draw.DrawHandler;
+
+/**
+ * A custom drawing line which has been compiled by the CustomDrawingParser.
+ * The command is immutable and doesn't depend on the element, therefore it can be cached by the text of the line and executed for every size of every element
+ */
+public interface CustomDrawingCommand {
+
+	/**
+	 * draws the command
+	 * @param drawer is used to execute the drawing command
+	 * @param width of the element, used by the width expressions of the command
+	 * @param height of the element, used by the height expressions of the command
+	 */
+	void execute(DrawHandler drawer, double width, double height);
+}
@@ -0,0 +1,109 @@
+package com.baselet.element.facet.customdrawings;
+
+/**
+ * An arithmetical expression of a custom drawing command (e.g. width/2-10). The expression is kept symbolic, because width and height
+ * are only known when the command is executed; subexpressions without width or height are calculated while the command is compiled
+ */
+public abstract class CustomDrawingExpression {
+
+	public static final CustomDrawingExpression WIDTH = new CustomDrawingExpression() {
+		@Override
+		public double evaluate(double width, double height) {
+			return width;
+		}
+	};
+
+	public static final CustomDrawingExpression HEIGHT = new CustomDrawingExpression() {
+		@Override
+		public double evaluate(double width, double height) {
+			return height;
+		}
+	};
+
+	private static final char SUM = '+';
+	private static final char DIFFERENCE = '-';
+	private static final char PRODUCT = '*';
+	private static final char QUOTIENT = '/';
+
+	public abstract double evaluate(double width, double height);
+
+	protected boolean isConstant() {
+		return false;
+	}
+
+	public static CustomDrawingExpression constant(double value) {
+		return new Constant(value);
+	}
+
+	public static CustomDrawingExpression sum(CustomDrawingExpression left, CustomDrawingExpression right) {
+		return binary(SUM, left, right);
+	}
+
+	public static CustomDrawingExpression difference(CustomDrawingExpression left, CustomDrawingExpression right) {
+		return binary(DIFFERENCE, left, right);
+	}
+
+	public static CustomDrawingExpression product(CustomDrawingExpression left, CustomDrawingExpression right) {
+		return binary(PRODUCT, left, right);
+	}
+
+	public static CustomDrawingExpression quotient(CustomDrawingExpression left, CustomDrawingExpression right) {
+		return binary(QUOTIENT, left, right);
+	}
+
+	private static CustomDrawingExpression binary(char operator, CustomDrawingExpression left, CustomDrawingExpression right) {
+		CustomDrawingExpression expression = new Binary(operator, left, right);
+		if (left.isConstant() && right.isConstant()) {
+			return constant(expression.evaluate(0, 0));
+		}
+		return expression;
+	}
+
+	private static class Constant extends CustomDrawingExpression {
+		private final double value;
+
+		public Constant(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public double evaluate(double width, double height) {
+			return value;
+		}
+
+		@Override
+		protected boolean isConstant() {
+			return true;
+		}
+	}
+
+	private static class Binary extends CustomDrawingExpression {
+		private final char operator;
+		private final CustomDrawingExpression left;
+		private final CustomDrawingExpression right;
+
+		public Binary(char operator, CustomDrawingExpression left, CustomDrawingExpression right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public double evaluate(double width, double height) {
+			double l = left.evaluate(width, height);
+			double r = right.evaluate(width, height);
+			switch (operator) {
+				case SUM:
+					return l + r;
+				case DIFFERENCE:
+					return l - r;
+				case PRODUCT:
+					return l * r;
+				case QUOTIENT:
+					return l / r;
+				default:
+					throw new IllegalStateException("Unknown operator " + operator);
+			}
+		}
+	}
+}
@@ -7,9 +7,15 @@ import com.baselet.element.facet.customdrawings.gen.ParseException;
 import com.baselet.element.facet.customdrawings.gen.Provider;
 import com.baselet.element.facet.customdrawings.gen.StringProvider;
 import com.baselet.element.facet.customdrawings.gen.TokenMgrException;
+import com.baselet.util.ConcurrentLRUCache;
 
 public class CustomDrawingParserImpl extends CustomDrawingParser {
 
+	private static final int COMMAND_CACHE_SIZE = 2000; // number of cached lines of all elements
+
+	// the compiled commands by their line; elements are updated on every drag, resize and zoom, but their custom drawing lines rarely change
+	private static final ConcurrentLRUCache<String, CustomDrawingCommand> commandCache = new ConcurrentLRUCache<String, CustomDrawingCommand>("custom drawing commands", COMMAND_CACHE_SIZE);
+
 	private final double width;
 	private final double height;
 	private final DrawHandler drawHandler;
@@ -41,17 +47,40 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
 	 */
 	public static void parse(String line, int width, int height, DrawHandler drawer) {
-		new CustomDrawingParserImpl(line, width, height, drawer).parse();
+		compile(line).execute(drawer, width, height);
 	}
 
 	/**
-	 * calls the function for the start symbol and catches exceptions which are re-thrown as CustomDrawingParserRuntimeException
+	 * @param line String which should be compiled
+	 * @return the cached command of the line, the line is only parsed if it isn't cached (invalid lines are never cached)
+	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
+	 */
+	public static CustomDrawingCommand compile(String line) {
+		CustomDrawingCommand command = commandCache.get(line);
+		if (command == null) {
+			command = new CustomDrawingParserImpl(line, 0, 0, null).compile(); // the size and the DrawHandler are only needed to execute the command
+			commandCache.put(line, command);
+		}
+		return command;
+	}
+
+	/**
+	 * calls the function for the start symbol and executes the compiled command with the size and DrawHandler of this parser
 	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
 	 * @see CustomDrawingParserImpl#start()
 	 */
 	public void parse() {
+		compile().execute(drawHandler, width, height);
+	}
+
+	/**
+	 * calls the function for the start symbol without using the cache and catches exceptions which are re-thrown as CustomDrawingParserRuntimeException
+	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
+	 * @see CustomDrawingParserImpl#start()
+	 */
+	public CustomDrawingCommand compile() {
 		try {
-			start();
+			return start();
 		} catch (ParseException e) {
 			throw new CustomDrawingParserRuntimeException(e);
 		} catch (TokenMgrException e) {
@@ -77,26 +106,25 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 	 * @see CustomDrawingParserImpl#start()
 	 */
 	public void parseCheckedEx() throws CustomDrawingParserException {
+		CustomDrawingCommand command;
 		try {
-			start();
+			command = start();
 		} catch (ParseException e) {
 			throw new CustomDrawingParserException(e);
 		} catch (TokenMgrException e) {
 			throw new CustomDrawingParserException(e);
 		}
+		command.execute(drawHandler, width, height);
 	}
 
-	@Override
 	public double getWidth() {
 		return width;
 	}
 
-	@Override
 	public double getHeight() {
 		return height;
 	}
 
-	@Override
 	public DrawHandler getDrawHandler() {
 		return drawHandler;
 	}
@@ -79,6 +79,8 @@ public interface GridElement extends HasPanelAttributes {
 
 	void mergeUndoDrag();
 
+	void discardOldestUndoDrag();
+
 	GridElementDeprecatedAddons getDeprecatedAddons();
 
 	CursorOwn getCursor(Point point, Set<Direction> resizeDirections);
@@ -146,7 +146,7 @@ public class Relation extends NewGridElement implements Stickable, RelationPoint
 
 	@Override
 	public Integer getLayer() {
-		return state.getFacetResponse(LayerFacet.class, LayerFacet.DEFAULT_VALUE_RELATION);
+		return getLayerHelper(LayerFacet.DEFAULT_VALUE_RELATION);
 	}
 
 	@Override
@@ -13,11 +13,23 @@ import com.baselet.element.sequence_aio.facet.specific.gen.ParseException;
 import com.baselet.element.sequence_aio.facet.specific.gen.SequenceAllInOneParser;
 import com.baselet.element.sequence_aio.facet.specific.gen.TokenMgrException;
 import com.baselet.gui.AutocompletionText;
+import com.baselet.util.ConcurrentLRUCache;
 
 public class SequenceAllInOneFacet extends Facet {
 
 	public static final SequenceAllInOneFacet INSTANCE = new SequenceAllInOneFacet();
 
+	private static final DoubleConverter GRID_CONVERTER = new DoubleConverter() {
+		@Override
+		public double convert(double value) {
+			return SharedUtils.realignToGrid(false, value, true);
+		}
+	};
+
+	// the parsed diagrams by their text; the PropertiesParser calls the facet twice per update (preparsing and drawing) and unchanged elements are updated on every zoom,
+	// therefore the same text is usually parsed again. A SequenceDiagram is not modified after it was generated and can be shared
+	private static final ConcurrentLRUCache<String, SequenceDiagram> diagramCache = new ConcurrentLRUCache<String, SequenceDiagram>("sequence diagrams", 32);
+
 	private SequenceAllInOneFacet() {}
 
 	@Override
@@ -78,20 +90,25 @@ public class SequenceAllInOneFacet extends Facet {
 			strBuilder.append(str);
 			strBuilder.append('\n');
 		}
-		try {
-			DoubleConverter gridConverter = new DoubleConverter() {
-				@Override
-				public double convert(double value) {
-					return SharedUtils.realignToGrid(false, value, true);
-				}
-			};
-			DimensionDouble size = new SequenceAllInOneParser(strBuilder.toString()).start().generateDiagram()
-					.draw(drawer, gridConverter, gridConverter);
-			state.updateMinimumSize(size.getWidth(), size.getHeight());
-		} catch (ParseException e) {
-			throw new SequenceDiagramException(e);
-		} catch (TokenMgrException e) {
-			throw new SequenceDiagramException(e);
+		DimensionDouble size = getDiagram(strBuilder.toString()).draw(drawer, GRID_CONVERTER, GRID_CONVERTER);
+		state.updateMinimumSize(size.getWidth(), size.getHeight());
+	}
+
+	/**
+	 * @return the cached diagram of the text or a newly parsed one (invalid texts are not cached and parsed again)
+	 */
+	private static SequenceDiagram getDiagram(String text) {
+		SequenceDiagram diagram = diagramCache.get(text);
+		if (diagram == null) {
+			try {
+				diagram = new SequenceAllInOneParser(text).start().generateDiagram();
+			} catch (ParseException e) {
+				throw new SequenceDiagramException(e);
+			} catch (TokenMgrException e) {
+				throw new SequenceDiagramException(e);
+			}
+			diagramCache.put(text, diagram);
 		}
+		return diagram;
 	}
 }
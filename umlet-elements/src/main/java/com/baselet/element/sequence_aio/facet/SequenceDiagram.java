@@ -1,7 +1,8 @@
 package com.baselet.element.sequence_aio.facet;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -29,16 +30,19 @@ public class SequenceDiagram {
 	private String[] descLines;
 
 	// options
-	private Lifeline[] lifelines;
+	private final List<Lifeline> lifelines;
 
 	private final Collection<LifelineSpanningTickSpanningOccurrence> spanningLifelineOccurrences;
 
 	private int lastTick;
 
+	// the model doesn't change after it was built, therefore the measured layout can be reused by following draw calls (e.g. the preparsing and the drawing run of the PropertiesParser)
+	private volatile Layout cachedLayout;
+
 	public SequenceDiagram() {
 		titleLines = new String[] { "" };
 		descLines = new String[] { "" };
-		lifelines = new Lifeline[0];
+		lifelines = new ArrayList<Lifeline>();
 		spanningLifelineOccurrences = new LinkedList<LifelineSpanningTickSpanningOccurrence>();
 	}
 
@@ -86,9 +90,9 @@ public class SequenceDiagram {
 	 * @param execSpecFromStart
 	 */
 	public Lifeline addLiveline(String headText, Lifeline.LifelineHeadType headType, boolean createdOnStart, boolean execSpecFromStart) {
-		lifelines = Arrays.copyOf(lifelines, lifelines.length + 1);
-		lifelines[lifelines.length - 1] = new Lifeline(headText, lifelines.length - 1, headType, createdOnStart, execSpecFromStart);
-		return lifelines[lifelines.length - 1];
+		Lifeline lifeline = new Lifeline(headText, lifelines.size(), headType, createdOnStart, execSpecFromStart);
+		lifelines.add(lifeline);
+		return lifeline;
 	}
 
 	public void addLifelineSpanningTickSpanningOccurrence(LifelineSpanningTickSpanningOccurrence occurrence) {
@@ -100,15 +104,15 @@ public class SequenceDiagram {
 	 * @return how many lifelines the diagram has
 	 */
 	public int getLifelineCount() {
-		return lifelines.length;
+		return lifelines.size();
 	}
 
 	public List<Lifeline> getLifelines() {
-		return Arrays.asList(lifelines);
+		return Collections.unmodifiableList(lifelines);
 	}
 
 	public Lifeline[] getLifelinesArray() {
-		return Arrays.copyOf(lifelines, lifelines.length);
+		return lifelines.toArray(new Lifeline[lifelines.size()]);
 	}
 
 	public DimensionDouble draw(DrawHandler drawHandler) {
@@ -122,22 +126,10 @@ public class SequenceDiagram {
 	}
 
 	public DimensionDouble draw(DrawHandler drawHandler, DoubleConverter widthConverter, DoubleConverter heightConverter) {
-		HorizontalDrawingInfo horizontalDrawingInfo;
+		Layout layout = getLayout(drawHandler, widthConverter);
+		HorizontalDrawingInfo horizontalDrawingInfo = layout.horizontalDrawingInfo;
 		VerticalDrawingInfo verticalInfo;
 		DrawingInfo drawingInfo;
-		// calculate the minimum width of the lifelines and the diagram; get all paddings and create the horizontal drawing info
-		double lifelineWidth = Math.max(getLifelineWidth(drawHandler), LIFELINE_MIN_WIDTH);
-		double diagramMinWidth = Math.max(LIFELINE_MIN_WIDTH,
-				TextSplitter.getTextMinWidth(descLines, drawHandler) + DESCRIPTION_H_PADDING * 2);
-		diagramMinWidth = Math.max(diagramMinWidth, PentagonDrawingHelper.getMinimumWidth(drawHandler, titleLines));
-		Collection<ContainerPadding> allPaddings = new LinkedList<ContainerPadding>();
-		for (LifelineSpanningTickSpanningOccurrence lstso : spanningLifelineOccurrences) {
-			if (lstso.getPaddingInformation() != null) {
-				allPaddings.add(lstso.getPaddingInformation());
-			}
-		}
-		horizontalDrawingInfo = new HorizontalDrawingInfoImpl(0, diagramMinWidth, widthConverter, lifelineWidth,
-				LIFELINE_X_PADDING, lifelines.length, lastTick, allPaddings);
 		double diagramWidth = horizontalDrawingInfo.getDiagramWidth();
 
 		// calculate and draw the header, then draw top border
@@ -153,14 +145,13 @@ public class SequenceDiagram {
 				diagramWidth - DESCRIPTION_H_PADDING * 2, descHeight, AlignHorizontal.LEFT, AlignVertical.CENTER);
 
 		double lifelineHeadTop = headerHeight + descHeight + DESCRIPTION_H_PADDING * 2 + LIFELINE_Y_PADDING;
-		double lifelineHeadHeight = getLifelineHeadHeight(drawHandler, horizontalDrawingInfo);
-		verticalInfo = new VerticalDrawingInfoImpl(lifelineHeadTop, lifelineHeadHeight, TICK_HEIGHT, TICK_Y_PADDING,
-				calculateAddiontalHeights(drawHandler, horizontalDrawingInfo), allPaddings);
+		verticalInfo = new VerticalDrawingInfoImpl(lifelineHeadTop, layout.lifelineHeadHeight, TICK_HEIGHT, TICK_Y_PADDING,
+				layout.additionalHeights, layout.allPaddings);
 		drawingInfo = new DrawingInfoImpl(horizontalDrawingInfo, verticalInfo, getLifelineCount());
 
 		// first draw the occurrences which affect more than one lifeline which stores the interrupted areas in the
 		// corresponding LifelineDrawingInfo. This info is then passed to the lifeline so it can be drawn
-		if (lifelines.length > 0) {
+		if (!lifelines.isEmpty()) {
 			for (LifelineSpanningTickSpanningOccurrence llstso : spanningLifelineOccurrences) {
 				llstso.draw(drawHandler, drawingInfo);
 			}
@@ -176,6 +167,38 @@ public class SequenceDiagram {
 		return new DimensionDouble(diagramWidth, bottomY);
 	}
 
+	/**
+	 * The horizontal layout, the head height and the additional heights of the ticks only depend on the model and the text dimensions,
+	 * therefore they are measured once per font context and font size instead of on every draw call
+	 */
+	private Layout getLayout(DrawHandler drawHandler, DoubleConverter widthConverter) {
+		String fontKey = drawHandler.getFontContext() + "|" + drawHandler.getFontSize();
+		Layout layout = cachedLayout;
+		if (layout == null || !layout.fontKey.equals(fontKey) || layout.widthConverter != widthConverter) {
+			layout = calculateLayout(drawHandler, widthConverter, fontKey);
+			cachedLayout = layout;
+		}
+		return layout;
+	}
+
+	private Layout calculateLayout(DrawHandler drawHandler, DoubleConverter widthConverter, String fontKey) {
+		// calculate the minimum width of the lifelines and the diagram; get all paddings and create the horizontal drawing info
+		double lifelineWidth = Math.max(getLifelineWidth(drawHandler), LIFELINE_MIN_WIDTH);
+		double diagramMinWidth = Math.max(LIFELINE_MIN_WIDTH,
+				TextSplitter.getTextMinWidth(descLines, drawHandler) + DESCRIPTION_H_PADDING * 2);
+		diagramMinWidth = Math.max(diagramMinWidth, PentagonDrawingHelper.getMinimumWidth(drawHandler, titleLines));
+		Collection<ContainerPadding> allPaddings = new LinkedList<ContainerPadding>();
+		for (LifelineSpanningTickSpanningOccurrence lstso : spanningLifelineOccurrences) {
+			if (lstso.getPaddingInformation() != null) {
+				allPaddings.add(lstso.getPaddingInformation());
+			}
+		}
+		HorizontalDrawingInfo horizontalDrawingInfo = new HorizontalDrawingInfoImpl(0, diagramMinWidth, widthConverter, lifelineWidth,
+				LIFELINE_X_PADDING, lifelines.size(), lastTick, allPaddings);
+		return new Layout(fontKey, widthConverter, horizontalDrawingInfo, allPaddings, getLifelineHeadHeight(drawHandler, horizontalDrawingInfo),
+				calculateAddiontalHeights(drawHandler, horizontalDrawingInfo));
+	}
+
 	private double getLifelineWidth(DrawHandler drawHandler) {
 		double maxMinWidth = 0;
 		for (Lifeline ll : lifelines) {
@@ -219,4 +242,22 @@ public class SequenceDiagram {
 	public static interface DoubleConverter {
 		public double convert(double value);
 	}
+
+	private static class Layout {
+		private final String fontKey;
+		private final DoubleConverter widthConverter;
+		private final HorizontalDrawingInfo horizontalDrawingInfo;
+		private final Collection<ContainerPadding> allPaddings;
+		private final double lifelineHeadHeight;
+		private final double[] additionalHeights;
+
+		public Layout(String fontKey, DoubleConverter widthConverter, HorizontalDrawingInfo horizontalDrawingInfo, Collection<ContainerPadding> allPaddings, double lifelineHeadHeight, double[] additionalHeights) {
+			this.fontKey = fontKey;
+			this.widthConverter = widthConverter;
+			this.horizontalDrawingInfo = horizontalDrawingInfo;
+			this.allPaddings = allPaddings;
+			this.lifelineHeadHeight = lifelineHeadHeight;
+			this.additionalHeights = additionalHeights;
+		}
+	}
 }
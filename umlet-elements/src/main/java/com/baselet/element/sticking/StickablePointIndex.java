@@ -0,0 +1,141 @@
+package com.baselet.element.sticking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.constants.SharedConstants;
+import com.baselet.element.sticking.StickingPolygon.StickLine;
+import com.baselet.util.SpatialIndex;
+
+/**
+ * Index of the absolute stickable points of all stickables of a diagram, bucketed by grid cell at default zoom (like the stickingpolygons, see {@link Stickables}).
+ * It replaces the check of every point of every stickable against every line of a stickingpolygon by a check of the points near the polygon lines.
+ * The owner of the index must call {@link #put(Stickable)} whenever the stickable points or the location of a stickable change, otherwise its points are not found anymore
+ */
+public class StickablePointIndex {
+
+	private final SpatialIndex<IndexedPoint> index = new SpatialIndex<IndexedPoint>(SharedConstants.DEFAULT_GRID_SIZE);
+	private final Map<Stickable, List<IndexedPoint>> pointsPerStickable = new HashMap<Stickable, List<IndexedPoint>>();
+
+	/**
+	 * adds the stickable or updates the positions of its points if it is already part of the index
+	 */
+	public void put(Stickable stickable) {
+		List<IndexedPoint> oldPoints = pointsPerStickable.get(stickable);
+		List<IndexedPoint> newPoints = new ArrayList<IndexedPoint>();
+		for (PointDoubleIndexed p : stickable.getStickablePoints()) {
+			PointDouble absolutePosition = Stickables.getAbsolutePosition(stickable, p);
+			IndexedPoint indexedPoint = new IndexedPoint(stickable, p.getIndex());
+			index.put(indexedPoint, new Rectangle(absolutePosition.getX().intValue(), absolutePosition.getY().intValue(), 0, 0));
+			newPoints.add(indexedPoint);
+		}
+		if (oldPoints != null) {
+			oldPoints.removeAll(newPoints);
+			for (IndexedPoint removedPoint : oldPoints) {
+				index.remove(removedPoint);
+			}
+		}
+		pointsPerStickable.put(stickable, newPoints);
+	}
+
+	public void remove(Stickable stickable) {
+		List<IndexedPoint> points = pointsPerStickable.remove(stickable);
+		if (points != null) {
+			for (IndexedPoint p : points) {
+				index.remove(p);
+			}
+		}
+	}
+
+	public void clear() {
+		index.clear();
+		pointsPerStickable.clear();
+	}
+
+	public boolean contains(Stickable stickable) {
+		return pointsPerStickable.containsKey(stickable);
+	}
+
+	/**
+	 * same result as {@link Stickables#getStickingPointsWhichAreConnectedToStickingPolygon(StickingPolygon, Collection)} for all indexed stickables which are not part of the excludeList
+	 */
+	public StickableMap getStickingPointsWhichAreConnectedToStickingPolygon(StickingPolygon stickingPolygon, Collection<?> excludeList) {
+		Set<IndexedPoint> candidates = new LinkedHashSet<IndexedPoint>();
+		for (StickLine sl : stickingPolygon.getStickLines()) {
+			candidates.addAll(index.getItemsIntersecting(getSearchArea(sl)));
+		}
+
+		// the candidates are grouped by stickable, because the result must contain the points in the order of Stickable.getStickablePoints()
+		Map<Stickable, Set<Integer>> candidateIndexesPerStickable = new LinkedHashMap<Stickable, Set<Integer>>();
+		for (IndexedPoint candidate : candidates) {
+			Set<Integer> indexes = candidateIndexesPerStickable.get(candidate.stickable);
+			if (indexes == null) {
+				indexes = new HashSet<Integer>();
+				candidateIndexesPerStickable.put(candidate.stickable, indexes);
+			}
+			indexes.add(candidate.pointIndex);
+		}
+
+		StickableMap returnMap = new StickableMap();
+		for (Entry<Stickable, Set<Integer>> entry : candidateIndexesPerStickable.entrySet()) {
+			Stickable stickable = entry.getKey();
+			if (excludeList.contains(stickable)) {
+				continue;
+			}
+			for (PointDoubleIndexed p : stickable.getStickablePoints()) {
+				if (entry.getValue().contains(p.getIndex())) {
+					Stickables.addIfConnectedToStickingPolygon(returnMap, stickable, p, stickingPolygon);
+				}
+			}
+		}
+		return returnMap;
+	}
+
+	/**
+	 * the bounds of the line enlarged by the maximal sticking distance contain every point which can be connected to the line
+	 */
+	private static Rectangle getSearchArea(StickLine sl) {
+		int x = (int) Math.floor(Math.min(sl.getStart().getX(), sl.getEnd().getX())) - Stickables.MAX_STICKING_DISTANCE;
+		int y = (int) Math.floor(Math.min(sl.getStart().getY(), sl.getEnd().getY())) - Stickables.MAX_STICKING_DISTANCE;
+		int x2 = (int) Math.ceil(Math.max(sl.getStart().getX(), sl.getEnd().getX())) + Stickables.MAX_STICKING_DISTANCE;
+		int y2 = (int) Math.ceil(Math.max(sl.getStart().getY(), sl.getEnd().getY())) + Stickables.MAX_STICKING_DISTANCE;
+		return new Rectangle(x, y, x2 - x, y2 - y);
+	}
+
+	private static class IndexedPoint {
+		private final Stickable stickable;
+		private final Integer pointIndex;
+
+		public IndexedPoint(Stickable stickable, Integer pointIndex) {
+			this.stickable = stickable;
+			this.pointIndex = pointIndex;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * stickable.hashCode() + (pointIndex == null ? 0 : pointIndex.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof IndexedPoint)) {
+				return false;
+			}
+			IndexedPoint other = (IndexedPoint) obj;
+			return stickable.equals(other.stickable) && (pointIndex == null ? other.pointIndex == null : pointIndex.equals(other.pointIndex));
+		}
+	}
+}
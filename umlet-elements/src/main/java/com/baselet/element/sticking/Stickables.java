@@ -20,24 +20,32 @@ public class Stickables {
 
 	private static Logger log = LoggerFactory.getLogger(Stickables.class);
 
+	static final int MAX_STICKING_DISTANCE = SharedConstants.DEFAULT_GRID_SIZE - 1; // because stickables is always calculated at 10px gridsize, the maxdistance for sticking is 9px (this tolerance is important for diagonal stickinglines like the UseCase has, otherwise 0px tolerance should always work if the stickingLineEnd is always on the exact same Point as the stickingpolygon)
+
 	public static StickableMap getStickingPointsWhichAreConnectedToStickingPolygon(StickingPolygon oldStickingPolygon, Collection<? extends Stickable> stickables) {
-		int maxDistance = SharedConstants.DEFAULT_GRID_SIZE - 1; // because stickables is always calculated at 10px gridsize, the maxdistance for sticking is 9px (this tolerance is important for diagonal stickinglines like the UseCase has, otherwise 0px tolerance should always work if the stickingLineEnd is always on the exact same Point as the stickingpolygon)
 		log.debug("Polygon to check: " + oldStickingPolygon);
 		StickableMap returnMap = new StickableMap();
 		for (final Stickable stickable : stickables) {
 			for (final PointDoubleIndexed p : stickable.getStickablePoints()) {
-				PointDouble absolutePointPosition = getAbsolutePosition(stickable, p);
-				for (StickLine sl : oldStickingPolygon.getStickLines()) {
-					log.trace("CHECK " + sl + "/" + absolutePointPosition + "/" + maxDistance);
-					if (sl.isConnected(absolutePointPosition, maxDistance)) {
-						returnMap.add(stickable, p);
-					}
-				}
+				addIfConnectedToStickingPolygon(returnMap, stickable, p, oldStickingPolygon);
 			}
 		}
 		return returnMap;
 	}
 
+	/**
+	 * adds the point to the map once for every line of the polygon it is connected to (also used by the {@link StickablePointIndex} to make sure both lookups return the same result)
+	 */
+	static void addIfConnectedToStickingPolygon(StickableMap returnMap, Stickable stickable, PointDoubleIndexed p, StickingPolygon stickingPolygon) {
+		PointDouble absolutePointPosition = getAbsolutePosition(stickable, p);
+		for (StickLine sl : stickingPolygon.getStickLines()) {
+			log.trace("CHECK " + sl + "/" + absolutePointPosition + "/" + MAX_STICKING_DISTANCE);
+			if (sl.isConnected(absolutePointPosition, MAX_STICKING_DISTANCE)) {
+				returnMap.add(stickable, p);
+			}
+		}
+	}
+
 	public static Map<Stickable, List<PointChange>> moveStickPointsBasedOnPolygonChanges(StickingPolygon oldStickingPolygon, StickingPolygon newStickingPolygon, StickableMap stickablePointsToCheck, int maxDistance) {
 		// the first drag determines which stickables and which points of them will stick (eg: moving through other relations should NOT "collect" their stickingpoints)
 		if (oldStickingPolygon == null || stickablePointsToCheck == null || stickablePointsToCheck.isEmpty()) {
@@ -158,7 +166,7 @@ public class Stickables {
 		return changeMatchingLowestDistance;
 	}
 
-	private static PointDouble getAbsolutePosition(Stickable stickable, PointDouble pd) {
+	static PointDouble getAbsolutePosition(Stickable stickable, PointDouble pd) {
 		// the points are located relative to the upper left corner of the relation, therefore add this corner to have it located to the upper left corner of the diagram
 		int x = stickable.getRealRectangle().getX() + pd.getX().intValue();
 		int y = stickable.getRealRectangle().getY() + pd.getY().intValue();
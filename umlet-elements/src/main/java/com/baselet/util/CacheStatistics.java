@@ -0,0 +1,61 @@
+package com.baselet.util;
+
+/**
+ * Snapshot of the counters of a {@link ConcurrentLRUCache}
+ */
+public class CacheStatistics {
+
+	private final String name;
+	private final int capacity;
+	private final int size;
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+
+	public CacheStatistics(String name, int capacity, int size, long hits, long misses, long evictions) {
+		this.name = name;
+		this.capacity = capacity;
+		this.size = size;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return the ratio of hits to all lookups (0 if there was no lookup yet)
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStatistics [name=" + name + ", capacity=" + capacity + ", size=" + size + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.baselet.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe LRU cache with a bounded number of entries which counts its hits, misses and evictions.
+ * The entries are distributed over several segments which are locked independently to reduce the contention if many threads use the cache (e.g. parallel batch conversions).
+ * Each segment evicts its least recently used entry if it is full.
+ * Uses only synchronized blocks and no java.util.concurrent classes to stay compatible with GWT
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public class ConcurrentLRUCache<K, V> {
+
+	private static final int MAX_SEGMENTS = 8;
+	private static final int MIN_ENTRIES_PER_SEGMENT = 32; // small caches use less segments to keep the eviction order close to a real LRU order
+
+	private final String name;
+	private final int capacity;
+	private final List<Segment<K, V>> segments = new ArrayList<Segment<K, V>>();
+
+	/**
+	 * @param name is only used to identify the cache in the statistics
+	 * @param capacity how many entries fit into the cache
+	 */
+	public ConcurrentLRUCache(String name, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity of the cache " + name + " must be at least 1");
+		}
+		this.name = name;
+		this.capacity = capacity;
+		int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_ENTRIES_PER_SEGMENT));
+		for (int i = 0; i < segmentCount; i++) {
+			int remainder = i < capacity % segmentCount ? 1 : 0; // the sum of the segment capacities must equal the capacity
+			segments.add(new Segment<K, V>(capacity / segmentCount + remainder));
+		}
+	}
+
+	/**
+	 * @return the cached value or null if the key is not cached
+	 */
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			V value = segment.get(key);
+			if (value == null) {
+				segment.misses++;
+			}
+			else {
+				segment.hits++;
+			}
+			return value;
+		}
+	}
+
+	public void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public CacheStatistics getStatistics() {
+		long hits = 0;
+		long misses = 0;
+		long evictions = 0;
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				hits += segment.hits;
+				misses += segment.misses;
+				evictions += segment.evictions;
+				size += segment.size();
+			}
+		}
+		return new CacheStatistics(name, capacity, size, hits, misses, evictions);
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int hash = key.hashCode();
+		hash ^= hash >>> 16; // the lower bits of some hashcodes (e.g. of Doubles) are not well distributed
+		return segments.get((hash & Integer.MAX_VALUE) % segments.size());
+	}
+
+	private static class Segment<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+		private long hits;
+		private long misses;
+		private long evictions;
+
+		public Segment(int capacity) {
+			super(16, 0.75f, true); // access order is necessary for the LRU eviction
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			if (size() > capacity) {
+				evictions++;
+				return true;
+			}
+			return false;
+		}
+	}
+}
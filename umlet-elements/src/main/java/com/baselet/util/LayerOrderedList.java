@@ -0,0 +1,194 @@
+package com.baselet.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * List in insertion order which also keeps its objects ordered by their layer, therefore callers which draw or hit-test the objects of a diagram
+ * don't have to copy and sort the list every time. Objects of the same layer are ordered like in the list itself (like a stable sort would order them).
+ * Appending and removing objects updates the order, only inserting or replacing at a specific index and {@link #layersMayHaveChanged()} cause a new sort the next time the order is used.
+ * The list is not thread-safe and uses no reflection to stay compatible with GWT
+ */
+public abstract class LayerOrderedList<E> extends AbstractList<E> {
+
+	private final List<E> elements = new ArrayList<E>();
+	private final List<E> byLayer = new ArrayList<E>(); // ascending
+	private final List<Integer> layers = new ArrayList<Integer>(); // the layer of every object in byLayer when it was ordered
+	private boolean orderInvalid = false;
+	private boolean checkLayers = false;
+
+	private final View ascending = new View(true);
+	private final View descending = new View(false);
+
+	private final Comparator<E> layerComparator = new Comparator<E>() {
+		@Override
+		public int compare(E o1, E o2) {
+			return getLayer(o1).compareTo(getLayer(o2));
+		}
+	};
+
+	/**
+	 * read-only view of byLayer; its modCount follows every change of the order, therefore its iterators fail fast like the ones of the list itself
+	 */
+	private class View extends AbstractList<E> {
+		private final boolean ascending;
+
+		private View(boolean ascending) {
+			this.ascending = ascending;
+		}
+
+		@Override
+		public E get(int index) {
+			return byLayer.get(ascending ? index : byLayer.size() - 1 - index);
+		}
+
+		@Override
+		public int size() {
+			return byLayer.size();
+		}
+
+		private void orderChanged() {
+			modCount++;
+		}
+	}
+
+	public LayerOrderedList() {}
+
+	public LayerOrderedList(Collection<? extends E> c) {
+		addAll(c);
+	}
+
+	protected abstract Integer getLayer(E e);
+
+	/**
+	 * must be called if the layer of any object could have changed; the next access to the order compares the layers with the ordered ones and sorts again if necessary
+	 */
+	public void layersMayHaveChanged() {
+		checkLayers = true;
+	}
+
+	/**
+	 * @return a read-only view of the objects from the lowest to the highest layer which doesn't copy them; it follows the changes of the list,
+	 *         but iterating it while the list or the order changes throws a {@link java.util.ConcurrentModificationException}
+	 */
+	public List<E> ascending() {
+		updateOrder();
+		return ascending;
+	}
+
+	/**
+	 * @return a read-only view of the objects from the highest to the lowest layer (the exact reverse of {@link #ascending()}) which doesn't copy them
+	 */
+	public List<E> descending() {
+		updateOrder();
+		return descending;
+	}
+
+	@Override
+	public E get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		orderInvalid = true;
+		orderChanged();
+		return elements.set(index, element);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		elements.add(index, element);
+		modCount++;
+		orderChanged();
+		if (index != elements.size() - 1) {
+			orderInvalid = true;
+		}
+		else if (!orderInvalid) {
+			// an appended object is ordered behind all objects with the same layer
+			Integer layer = getLayer(element);
+			int position = upperBound(layer);
+			byLayer.add(position, element);
+			layers.add(position, layer);
+		}
+	}
+
+	@Override
+	public E remove(int index) {
+		E element = elements.remove(index);
+		modCount++;
+		orderChanged();
+		if (!orderInvalid) {
+			for (int i = 0; i < byLayer.size(); i++) {
+				if (byLayer.get(i) == element) {
+					byLayer.remove(i);
+					layers.remove(i);
+					break;
+				}
+			}
+		}
+		return element;
+	}
+
+	@Override
+	public void clear() {
+		elements.clear();
+		byLayer.clear();
+		layers.clear();
+		orderInvalid = false;
+		modCount++;
+		orderChanged();
+	}
+
+	private void orderChanged() {
+		ascending.orderChanged();
+		descending.orderChanged();
+	}
+
+	private int upperBound(Integer layer) {
+		int low = 0;
+		int high = layers.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (layers.get(mid).compareTo(layer) <= 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void updateOrder() {
+		if (checkLayers && !orderInvalid) {
+			for (int i = 0; i < byLayer.size(); i++) {
+				if (!layers.get(i).equals(getLayer(byLayer.get(i)))) {
+					orderInvalid = true;
+					break;
+				}
+			}
+		}
+		checkLayers = false;
+		if (orderInvalid) {
+			byLayer.clear();
+			byLayer.addAll(elements);
+			Collections.sort(byLayer, layerComparator);
+			layers.clear();
+			for (E e : byLayer) {
+				layers.add(getLayer(e));
+			}
+			orderInvalid = false;
+			orderChanged();
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package com.baselet.util;
+
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Insertion-ordered list which contains every object at most once. The objects are compared by identity (==), therefore contains(), add() and remove() need constant time.
+ * It is a {@link java.util.List} (and not a {@link java.util.Set}) because callers rely on the order and access the first and last element by index, which also needs constant time.
+ * add() only appends objects which are not part of the list yet and returns false otherwise; adding at a specific index is not supported.
+ * The list is not thread-safe and uses no reflection to stay compatible with GWT
+ */
+public class LinkedIdentitySet<E> extends AbstractSequentialList<E> {
+
+	private final Map<E, Node<E>> nodes = new IdentityHashMap<E, Node<E>>();
+	private Node<E> first;
+	private Node<E> last;
+
+	@Override
+	public int size() {
+		return nodes.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return nodes.containsKey(o);
+	}
+
+	@Override
+	public boolean add(E e) {
+		if (nodes.containsKey(e)) {
+			return false;
+		}
+		linkLast(e);
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		Node<E> node = nodes.get(o);
+		if (node == null) {
+			return false;
+		}
+		unlink(node);
+		return true;
+	}
+
+	/**
+	 * moves the object to the end of the list (it is added if it is not part of the list yet)
+	 */
+	public void moveToLast(E e) {
+		Node<E> node = nodes.get(e);
+		if (node != last) {
+			if (node != null) {
+				unlink(node);
+			}
+			linkLast(e);
+		}
+	}
+
+	@Override
+	public void clear() {
+		nodes.clear();
+		first = null;
+		last = null;
+		modCount++;
+	}
+
+	@Override
+	public E get(int index) {
+		return node(index).item;
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}
+		return new Itr(index);
+	}
+
+	private void linkLast(E e) {
+		Node<E> node = new Node<E>(e);
+		node.prev = last;
+		if (last == null) {
+			first = node;
+		}
+		else {
+			last.next = node;
+		}
+		last = node;
+		nodes.put(e, node);
+		modCount++;
+	}
+
+	private void unlink(Node<E> node) {
+		if (node.prev == null) {
+			first = node.next;
+		}
+		else {
+			node.prev.next = node.next;
+		}
+		if (node.next == null) {
+			last = node.prev;
+		}
+		else {
+			node.next.prev = node.prev;
+		}
+		node.prev = null;
+		node.next = null;
+		nodes.remove(node.item);
+		modCount++;
+	}
+
+	/**
+	 * walks from the nearer end of the list, therefore the first and the last element are found immediately
+	 */
+	private Node<E> node(int index) {
+		int size = size();
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		Node<E> node;
+		if (index < size / 2) {
+			node = first;
+			for (int i = 0; i < index; i++) {
+				node = node.next;
+			}
+		}
+		else {
+			node = last;
+			for (int i = size - 1; i > index; i--) {
+				node = node.prev;
+			}
+		}
+		return node;
+	}
+
+	private static class Node<E> {
+		private final E item;
+		private Node<E> prev;
+		private Node<E> next;
+
+		private Node(E item) {
+			this.item = item;
+		}
+	}
+
+	private class Itr implements ListIterator<E> {
+		private Node<E> next;
+		private Node<E> lastReturned;
+		private int nextIndex;
+		private int expectedModCount = modCount;
+
+		private Itr(int index) {
+			next = index == size() ? null : node(index);
+			nextIndex = index;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < size();
+		}
+
+		@Override
+		public E next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = next.next;
+			nextIndex++;
+			return lastReturned.item;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			next = next == null ? last : next.prev;
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.item;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (next == lastReturned) { // the last call was previous()
+				next = lastReturned.next;
+			}
+			else {
+				nextIndex--;
+			}
+			unlink(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(E e) {
+			throw new UnsupportedOperationException("elements can only be appended or removed");
+		}
+
+		@Override
+		public void add(E e) {
+			throw new UnsupportedOperationException("elements can only be appended or removed");
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
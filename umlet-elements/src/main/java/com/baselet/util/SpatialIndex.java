@@ -0,0 +1,292 @@
+package com.baselet.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+
+/**
+ * Uniform grid which maps rectangles to the cells they cover, so that point and area queries only look at the items of the affected cells instead of all items.
+ * The borders of the rectangles are inclusive (like in {@link Rectangle#contains(Point)}) and the items of a query result are ordered as they were put into the index for the first time.
+ * Items which would cover too many cells (e.g. very large packages) are kept in a separate list which is part of every query.
+ * The index is not thread-safe and uses no reflection to stay compatible with GWT
+ *
+ * @param <T> the indexed items, which are compared by equals() and hashCode()
+ */
+public class SpatialIndex<T> {
+
+	private static final int MAX_CELLS_PER_ITEM = 64;
+
+	private final int cellSize;
+	private final Map<Long, List<T>> cells = new HashMap<Long, List<T>>();
+	private final List<T> oversizedItems = new ArrayList<T>();
+	private final Map<T, Entry> entries = new HashMap<T, Entry>();
+	private long nextSequence = 0;
+
+	// bounds of all cells which have ever been used (only grows), used to limit the search for the nearest items
+	private int minCellX = Integer.MAX_VALUE;
+	private int minCellY = Integer.MAX_VALUE;
+	private int maxCellX = Integer.MIN_VALUE;
+	private int maxCellY = Integer.MIN_VALUE;
+
+	private final Comparator<T> insertionOrder = new Comparator<T>() {
+		@Override
+		public int compare(T o1, T o2) {
+			long s1 = entries.get(o1).sequence;
+			long s2 = entries.get(o2).sequence;
+			return s1 < s2 ? -1 : s1 == s2 ? 0 : 1;
+		}
+	};
+
+	/**
+	 * @param cellSize edge length of the grid cells; should be in the range of a typical item size
+	 */
+	public SpatialIndex(int cellSize) {
+		if (cellSize < 1) {
+			throw new IllegalArgumentException("cellSize must be at least 1");
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * adds the item or updates its bounds if it is already part of the index
+	 */
+	public void put(T item, Rectangle bounds) {
+		Entry entry = entries.get(item);
+		if (entry == null) {
+			entry = new Entry(nextSequence++);
+			entries.put(item, entry);
+		}
+		else if (entry.x == bounds.x && entry.y == bounds.y && entry.x2 == bounds.getX2() && entry.y2 == bounds.getY2()) {
+			return; // nothing has changed
+		}
+		else {
+			removeFromCells(item, entry);
+		}
+		entry.setBounds(bounds);
+		addToCells(item, entry);
+	}
+
+	public void remove(T item) {
+		Entry entry = entries.remove(item);
+		if (entry != null) {
+			removeFromCells(item, entry);
+		}
+	}
+
+	public void clear() {
+		cells.clear();
+		oversizedItems.clear();
+		entries.clear();
+	}
+
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return all items whose bounds contain the point
+	 */
+	public List<T> getItemsAt(Point point) {
+		return getItemsIntersecting(new Rectangle(point.x, point.y, 0, 0));
+	}
+
+	/**
+	 * @return all items whose bounds intersect or touch the area
+	 */
+	public List<T> getItemsIntersecting(Rectangle area) {
+		int cx1 = cell(area.x);
+		int cy1 = cell(area.y);
+		int cx2 = cell(area.getX2());
+		int cy2 = cell(area.getY2());
+		List<T> result = new ArrayList<T>();
+		if ((long) (cx2 - cx1 + 1) * (cy2 - cy1 + 1) > entries.size()) { // it's cheaper to check every item than to visit the (mostly empty) cells
+			for (Map.Entry<T, Entry> e : entries.entrySet()) {
+				if (e.getValue().intersects(area)) {
+					result.add(e.getKey());
+				}
+			}
+		}
+		else {
+			Set<T> visited = new HashSet<T>();
+			for (int cx = cx1; cx <= cx2; cx++) {
+				for (int cy = cy1; cy <= cy2; cy++) {
+					addIntersecting(cells.get(key(cx, cy)), area, visited, result);
+				}
+			}
+			addIntersecting(oversizedItems, area, visited, result);
+		}
+		Collections.sort(result, insertionOrder);
+		return result;
+	}
+
+	/**
+	 * @return the (at most) k items with the smallest distance between the point and their bounds, ordered by distance (items which contain the point have the distance 0)
+	 */
+	public List<T> getNearestItems(Point point, int k) {
+		final Map<T, Long> distances = new HashMap<T, Long>();
+		if (k <= 0 || entries.isEmpty()) {
+			return new ArrayList<T>();
+		}
+		int pcx = cell(point.x);
+		int pcy = cell(point.y);
+		for (T item : oversizedItems) {
+			distances.put(item, entries.get(item).squaredDistance(point));
+		}
+		int maxRing = Math.max(Math.max(pcx - minCellX, maxCellX - pcx), Math.max(pcy - minCellY, maxCellY - pcy));
+		for (int ring = 0; ring <= maxRing; ring++) {
+			for (int cx = pcx - ring; cx <= pcx + ring; cx++) {
+				for (int cy = pcy - ring; cy <= pcy + ring; cy++) {
+					if (Math.abs(cx - pcx) == ring || Math.abs(cy - pcy) == ring) { // only visit the cells of the current ring
+						List<T> cellItems = cells.get(key(cx, cy));
+						if (cellItems != null) {
+							for (T item : cellItems) {
+								if (!distances.containsKey(item)) {
+									distances.put(item, entries.get(item).squaredDistance(point));
+								}
+							}
+						}
+					}
+				}
+			}
+			// items outside of the visited rings are at least (ring * cellSize) away, therefore the search can stop if k items are closer than that
+			long minDistanceOutside = (long) ring * cellSize;
+			if (countItemsWithin(distances, minDistanceOutside * minDistanceOutside) >= k) {
+				break;
+			}
+		}
+		List<T> result = new ArrayList<T>(distances.keySet());
+		Collections.sort(result, new Comparator<T>() {
+			@Override
+			public int compare(T o1, T o2) {
+				long d1 = distances.get(o1);
+				long d2 = distances.get(o2);
+				return d1 < d2 ? -1 : d1 == d2 ? insertionOrder.compare(o1, o2) : 1;
+			}
+		});
+		return result.size() > k ? new ArrayList<T>(result.subList(0, k)) : result;
+	}
+
+	private static <T> int countItemsWithin(Map<T, Long> distances, long squaredMaxDistance) {
+		int count = 0;
+		for (Long d : distances.values()) {
+			if (d <= squaredMaxDistance) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void addIntersecting(List<T> candidates, Rectangle area, Set<T> visited, List<T> result) {
+		if (candidates == null) {
+			return;
+		}
+		for (T item : candidates) {
+			if (visited.add(item) && entries.get(item).intersects(area)) {
+				result.add(item);
+			}
+		}
+	}
+
+	private void addToCells(T item, Entry entry) {
+		int cx1 = cell(entry.x);
+		int cy1 = cell(entry.y);
+		int cx2 = cell(entry.x2);
+		int cy2 = cell(entry.y2);
+		entry.oversized = (long) (cx2 - cx1 + 1) * (cy2 - cy1 + 1) > MAX_CELLS_PER_ITEM;
+		if (entry.oversized) {
+			oversizedItems.add(item);
+			return;
+		}
+		for (int cx = cx1; cx <= cx2; cx++) {
+			for (int cy = cy1; cy <= cy2; cy++) {
+				Long key = key(cx, cy);
+				List<T> cellItems = cells.get(key);
+				if (cellItems == null) {
+					cellItems = new ArrayList<T>(4);
+					cells.put(key, cellItems);
+				}
+				cellItems.add(item);
+			}
+		}
+		minCellX = Math.min(minCellX, cx1);
+		minCellY = Math.min(minCellY, cy1);
+		maxCellX = Math.max(maxCellX, cx2);
+		maxCellY = Math.max(maxCellY, cy2);
+	}
+
+	private void removeFromCells(T item, Entry entry) {
+		if (entry.oversized) {
+			oversizedItems.remove(item);
+			return;
+		}
+		for (int cx = cell(entry.x); cx <= cell(entry.x2); cx++) {
+			for (int cy = cell(entry.y); cy <= cell(entry.y2); cy++) {
+				Long key = key(cx, cy);
+				List<T> cellItems = cells.get(key);
+				if (cellItems != null) {
+					cellItems.remove(item);
+					if (cellItems.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * rounds towards negative infinity, because elements can have negative coordinates
+	 */
+	private int cell(int coordinate) {
+		int cell = coordinate / cellSize;
+		if (coordinate < 0 && cell * cellSize != coordinate) {
+			cell--;
+		}
+		return cell;
+	}
+
+	private static Long key(int cx, int cy) {
+		return (long) cx << 32 | cy & 0xFFFFFFFFL;
+	}
+
+	private static class Entry {
+		private final long sequence; // defines the order of query results
+		private int x;
+		private int y;
+		private int x2;
+		private int y2;
+		private boolean oversized;
+
+		public Entry(long sequence) {
+			this.sequence = sequence;
+		}
+
+		public void setBounds(Rectangle bounds) {
+			x = bounds.x;
+			y = bounds.y;
+			x2 = bounds.getX2();
+			y2 = bounds.getY2();
+		}
+
+		public boolean intersects(Rectangle area) {
+			return x <= area.getX2() && x2 >= area.x && y <= area.getY2() && y2 >= area.y;
+		}
+
+		public long squaredDistance(Point p) {
+			long dx = p.x < x ? x - p.x : p.x > x2 ? p.x - x2 : 0;
+			long dy = p.y < y ? y - p.y : p.y > y2 ? p.y - y2 : 0;
+			return dx * dx + dy * dy;
+		}
+	}
+}
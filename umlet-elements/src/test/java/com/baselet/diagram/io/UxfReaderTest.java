@@ -0,0 +1,112 @@
+package com.baselet.diagram.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class UxfReaderTest {
+
+	private static class RecordingHandler implements UxfReader.Handler {
+		private final List<String> calls = new ArrayList<String>();
+
+		@Override
+		public void setHelpText(String helpText) {
+			calls.add("help_text=" + helpText);
+		}
+
+		@Override
+		public void setZoomLevel(int zoomLevel) {
+			calls.add("zoom_level=" + zoomLevel);
+		}
+
+		@Override
+		public void addElement(String id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes, String customCode) {
+			calls.add(id + "|" + type + "|" + x + "," + y + "," + w + "," + h + "|" + panelAttributes + "|" + additionalAttributes + "|" + customCode);
+		}
+
+		@Override
+		public void addInvalidElement(String id, String type, RuntimeException cause) {
+			calls.add("invalid " + id);
+		}
+	}
+
+	private static List<String> read(String xml) {
+		RecordingHandler handler = new RecordingHandler();
+		UxfReader.read(xml, handler);
+		return handler.calls;
+	}
+
+	@Test
+	public void readsWhatTheWriterWrites() throws IOException {
+		String text = "lt=<<- & \"q\" 'a'\r\u0001\u0085\tä😀\nsecond line";
+		for (String lineSeparator : new String[] { "\n", "\r\n" }) {
+			StringBuilder sb = new StringBuilder();
+			UxfWriter writer = new UxfWriter(sb, lineSeparator);
+			writer.writeDiagramStart("umlet", "15.1");
+			writer.writeHelpText(text);
+			writer.writeZoomLevel(12);
+			writer.writeElement("UMLClass", null, 10, -20, 30, 40, text, "", null);
+			writer.writeElement(null, "com.baselet.element.old.custom.CustomElement", 0, 0, 1, 2, "", "1;2", "code();");
+			writer.writeDiagramEnd();
+			assertThat(read(sb.toString())).containsExactly(
+					"help_text=" + text,
+					"zoom_level=12",
+					"UMLClass|null|10,-20,30,40|" + text + "||null",
+					"null|com.baselet.element.old.custom.CustomElement|0,0,1,2||1;2|code();");
+		}
+	}
+
+	@Test
+	public void readsFilesOfOtherXmlWriters() {
+		String xml = "\uFEFF<?xml version=\"1.0\"?>\n<!DOCTYPE diagram [<!ELEMENT diagram ANY>]>\n<!-- comment -->"
+						+ "<diagram program='umletino' version=\"15.1\"><zoom_level>10</zoom_level>"
+						+ "<element><!-- x --><id>UMLNote</id><coordinates><x>1</x><y>2</y><w>3</w><h>4</h></coordinates>"
+						+ "<panel_attributes>a&#x41;&#66;&lt;<![CDATA[<b>&amp;]]>&quot;&apos;\r\nb</panel_attributes></element></diagram>\n";
+		assertThat(read(xml)).containsExactly("zoom_level=10", "UMLNote|null|1,2,3,4|aAB<<b>&amp;\"'\nb||null");
+	}
+
+	@Test
+	public void emptyElementsAndAttributes() {
+		UxfPullParser parser = new UxfPullParser("<diagram program=\"a&amp;b\r\nc\"><help_text/></diagram>");
+		assertThat(parser.next()).isEqualTo(UxfPullParser.START_ELEMENT);
+		assertThat(parser.getAttribute("program")).isEqualTo("a&b c");
+		assertThat(parser.getAttribute("version")).isNull();
+		assertThat(parser.next()).isEqualTo(UxfPullParser.START_ELEMENT);
+		assertThat(parser.getName()).isEqualTo("help_text");
+		assertThat(parser.next()).isEqualTo(UxfPullParser.END_ELEMENT);
+		assertThat(parser.getName()).isEqualTo("help_text");
+		assertThat(parser.next()).isEqualTo(UxfPullParser.END_ELEMENT);
+		assertThat(parser.next()).isEqualTo(UxfPullParser.END_DOCUMENT);
+
+		assertThat(read("<diagram><help_text/><element><id>UMLClass</id><coordinates><x>0</x><y>0</y><w>1</w><h>1</h></coordinates><panel_attributes/></element></diagram>"))
+				.containsExactly("help_text=", "UMLClass|null|0,0,1,1|||null");
+	}
+
+	@Test
+	public void elementsWithInvalidCoordinatesAreSkipped() {
+		assertThat(read("<diagram><element><id>UMLClass</id><coordinates><x>0</x><y>a</y><w>1</w><h>1</h></coordinates></element>"
+						+ "<element><id>UMLNote</id></element>"
+						+ "<element><id>Relation</id><coordinates><x>0</x><y>0</y><w>1</w><h>1</h></coordinates></element></diagram>"))
+				.containsExactly("invalid UMLClass", "invalid UMLNote", "Relation|null|0,0,1,1|||null");
+	}
+
+	@Test
+	public void malformedDocumentsAreRejected() {
+		String[] malformed = { "", "no xml", "<diagram>", "<diagram></element>", "<diagram><a></diagram>", "<diagram>&unknown;</diagram>",
+				"<diagram>&#x110000;</diagram>", "<diagram a=b></diagram>", "<diagram/><diagram/>", "<diagram><!-- </diagram>",
+				"<diagram><zoom_level>ten</zoom_level></diagram>" };
+		for (String xml : malformed) {
+			try {
+				read(xml);
+				fail("no exception for " + xml);
+			} catch (UxfFormatException e) {
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.baselet.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.sticking.PointChange;
+import com.baselet.element.sticking.Stickable;
+
+public class UndoHistoryTest {
+
+	private static final int GRID_SIZE = 10;
+
+	private static UndoInformation move(int diffX) {
+		Map<Stickable, List<PointChange>> noStickables = Collections.emptyMap();
+		return new UndoInformation(new Rectangle(diffX, 0, 100, 50), new Rectangle(0, 0, 100, 50), noStickables, GRID_SIZE, "", "");
+	}
+
+	private static int diffX(UndoInformation undoInformation) {
+		return undoInformation.getDiffRectangle(GRID_SIZE, false).getX();
+	}
+
+	@Test
+	public void discardingTheOldestInformationKeepsUndoAndRedoOfTheOthers() {
+		UndoHistory history = new UndoHistory();
+		history.add(move(10));
+		history.add(move(20));
+		history.add(move(30));
+		history.discardOldest();
+		assertThat(diffX(history.get(true))).isEqualTo(30);
+		assertThat(diffX(history.get(true))).isEqualTo(20);
+		assertThat(diffX(history.get(false))).isEqualTo(20);
+		history.discardOldest();
+		assertThat(diffX(history.get(false))).isEqualTo(30);
+		history.add(move(40));
+		assertThat(diffX(history.get(true))).isEqualTo(40);
+		assertThat(diffX(history.get(true))).isEqualTo(30);
+	}
+}
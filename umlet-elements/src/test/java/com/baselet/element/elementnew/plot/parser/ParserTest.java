@@ -0,0 +1,90 @@
+package com.baselet.element.elementnew.plot.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class ParserTest {
+
+	private static final String SOURCE = "// comment\n"
+											+ "data sales\n"
+											+ "\tq1\tq2  q3\n"
+											+ "north\t1\t2\t3\n"
+											+ "south\t4\t5\t6  \n"
+											+ "\n"
+											+ "type=line\n"
+											+ "grid.width=2\n"
+											+ "plot data=sales\n"
+											+ "+plot data=sales data.invert=true\n"
+											+ "1 2";
+
+	@Test
+	public void parseDatasetWithTitles() {
+		ParserResult result = new Parser().parse(SOURCE);
+		DataSet dataSet = result.getPlotStateList().get(0).getDataSet();
+		assertEquals("sales", dataSet.getId());
+		assertArrayEquals(new String[] { "q1", "q2", "q3" }, dataSet.titleRow());
+		assertArrayEquals(new String[] { "north", "south" }, dataSet.titleCol());
+		assertArrayEquals(new double[] { 4, 5, 6 }, dataSet.values()[1], 0);
+		assertEquals("2", result.getPlotGridValue(PlotConstants.KEY_INT_GRID_WIDTH, null));
+	}
+
+	@Test
+	public void parsePlotsAndValues() {
+		List<PlotState> plotStates = new Parser().parse(SOURCE).getPlotStateList();
+		assertEquals(1, plotStates.size());
+		PlotState subPlot = plotStates.get(0).getSubplots().get(0);
+		assertEquals("line", subPlot.getValue("type", null));
+		assertTrue(subPlot.getValueAsBoolean(PlotConstants.KEY_BOOL_DATA_INVERT, false));
+		assertFalse(plotStates.get(0).containsKey(PlotConstants.KEY_BOOL_DATA_INVERT));
+	}
+
+	@Test
+	public void invertedDatasetSwapsRowsAndColumns() {
+		DataSet dataSet = new Parser().parse(SOURCE).getPlotStateList().get(0).getDataSet();
+		DataSet inverted = dataSet.withInversion(true);
+		assertSame(dataSet, dataSet.withInversion(false));
+		assertSame(inverted, dataSet.withInversion(true));
+		assertSame(dataSet, inverted.withInversion(true));
+		assertArrayEquals(new String[] { "north", "south" }, inverted.titleRow());
+		assertArrayEquals(new double[] { 3, 6 }, inverted.values()[2], 0);
+	}
+
+	@Test
+	public void guessedDatasetWithoutTitles() {
+		DataSet dataSet = new Parser().parse("plot\n1\t2\n3 \t 4\t").getPlotStateList().get(0).getDataSet();
+		assertArrayEquals(new String[] { "", "" }, dataSet.titleRow());
+		assertArrayEquals(new double[] { 1, 2 }, dataSet.values()[0], 0);
+		assertArrayEquals(new double[] { 3, 4 }, dataSet.values()[1], 0);
+	}
+
+	@Test(expected = ParserException.class)
+	public void invalidLine() {
+		new Parser().parse("data\n1 2\n\nplot type=a b");
+	}
+
+	@Test
+	public void cachedResultsAreIndependentCopies() {
+		ParserResult first = Parser.parseCached(SOURCE);
+		ParserResult second = Parser.parseCached(SOURCE);
+		assertNotSame(first.getPlotStateList().get(0), second.getPlotStateList().get(0));
+		assertSame(first.getPlotStateList().get(0).getDataSet(), second.getPlotStateList().get(0).getDataSet());
+
+		first.getPlotStateList().get(0).getValue("type", null);
+		first.getPlotStateList().get(0).getValue(PlotConstants.DATA, null);
+		first.getPlotStateList().get(0).checkIfAllValuesUsed();
+		try {
+			second.getPlotStateList().get(0).checkIfAllValuesUsed();
+		} catch (ParserException e) {
+			return; // the values used by the first result must not be marked as used in the second one
+		}
+		throw new AssertionError("the values of the copies are shared");
+	}
+}
@@ -1,6 +1,7 @@
 package com.baselet.element.facet.customdrawings;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -158,4 +159,14 @@ public class ValidInputTest {
 		new CustomDrawingParserImpl("drawText(\"Test \\\" \\\\\\\\ \", 2.5, 3.5, left)", 0, 0, drawHandler).parse();
 		assertEquals(DummyDrawHandler.drawTextToString("Test \" \\\\ ", 2.5, 3.5, AlignHorizontal.LEFT, null), drawHandler.getLastDrawCall());
 	}
+
+	@Test
+	public void compiledCommandIsCachedAndExecutedForEverySize() {
+		CustomDrawingCommand command = CustomDrawingParserImpl.compile("drawEllipse(10,10,(width-20)/2,height-(10+10))");
+		assertSame(command, CustomDrawingParserImpl.compile("drawEllipse(10,10,(width-20)/2,height-(10+10))"));
+		command.execute(drawHandler, 100, 200);
+		assertEquals(DummyDrawHandler.drawEllipseToString(10, 10, 40, 180, null, null, null, null), drawHandler.getLastDrawCall());
+		command.execute(drawHandler, 60, 40);
+		assertEquals(DummyDrawHandler.drawEllipseToString(10, 10, 20, 20, null, null, null, null), drawHandler.getLastDrawCall());
+	}
 }
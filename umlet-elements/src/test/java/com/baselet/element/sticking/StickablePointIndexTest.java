@@ -0,0 +1,84 @@
+package com.baselet.element.sticking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+
+public class StickablePointIndexTest {
+
+	@Test
+	public void sameResultAsCheckingAllStickables() throws Exception {
+		Random random = new Random(7);
+		List<TestStickable> stickables = new ArrayList<TestStickable>();
+		StickablePointIndex index = new StickablePointIndex();
+		for (int i = 0; i < 500; i++) {
+			TestStickable stickable = new TestStickable(random.nextInt(100) * 10, random.nextInt(100) * 10, random.nextInt(30) * 10, random.nextInt(30) * 10);
+			stickables.add(stickable);
+			index.put(stickable);
+		}
+		for (int i = 0; i < 100; i++) {
+			StickingPolygon polygon = new StickingPolygon(random.nextInt(100) * 10, random.nextInt(100) * 10);
+			polygon.addRectangle(0, 0, random.nextInt(30) * 10, random.nextInt(30) * 10);
+			StickableMap expected = Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, stickables);
+			StickableMap actual = index.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, Collections.emptyList());
+			assertTrue(expected.equalsMap(actual));
+		}
+	}
+
+	@Test
+	public void movedAndRemovedStickablesAreUpdated() throws Exception {
+		StickingPolygon polygon = new StickingPolygon(100, 100);
+		polygon.addRectangle(0, 0, 100, 50);
+		TestStickable stickable = new TestStickable(0, 0, 100, 100);
+		StickablePointIndex index = new StickablePointIndex();
+		index.put(stickable);
+		assertEquals(Collections.singleton(stickable), index.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, Collections.emptyList()).getStickables());
+
+		stickable.rect = new Rectangle(500, 500, 100, 100);
+		index.put(stickable);
+		assertTrue(index.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, Collections.emptyList()).isEmpty());
+
+		stickable.rect = new Rectangle(0, 0, 100, 100);
+		index.put(stickable);
+		assertTrue(index.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, Arrays.asList(stickable)).isEmpty());
+
+		index.remove(stickable);
+		assertTrue(index.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, Collections.emptyList()).isEmpty());
+	}
+
+	/**
+	 * a line from the upper left to the lower right corner of its rectangle
+	 */
+	private static class TestStickable implements Stickable {
+		private Rectangle rect;
+
+		public TestStickable(int x, int y, int width, int height) {
+			rect = new Rectangle(x, y, width, height);
+		}
+
+		@Override
+		public Collection<PointDoubleIndexed> getStickablePoints() {
+			return Arrays.asList(new PointDoubleIndexed(0, 0, 0), new PointDoubleIndexed(1, rect.getWidth(), rect.getHeight()));
+		}
+
+		@Override
+		public List<PointDoubleIndexed> movePoints(List<PointChange> changedStickPoints) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Rectangle getRealRectangle() {
+			return rect;
+		}
+	}
+}
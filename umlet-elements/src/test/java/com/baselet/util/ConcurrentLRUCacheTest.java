@@ -0,0 +1,71 @@
+package com.baselet.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ConcurrentLRUCacheTest {
+
+	@Test
+	public void leastRecentlyUsedEntryIsEvicted() {
+		ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<String, Integer>("test", 2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a"); // b is now the least recently used entry
+		cache.put("c", 3);
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isEqualTo(3);
+	}
+
+	@Test
+	public void statisticsCountHitsMissesAndEvictions() {
+		ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<String, Integer>("test", 1);
+		cache.put("a", 1);
+		cache.get("a");
+		cache.get("b");
+		cache.put("b", 2);
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getName()).isEqualTo("test");
+		assertThat(statistics.getCapacity()).isEqualTo(1);
+		assertThat(statistics.getSize()).isEqualTo(1);
+		assertThat(statistics.getHits()).isEqualTo(1);
+		assertThat(statistics.getMisses()).isEqualTo(1);
+		assertThat(statistics.getEvictions()).isEqualTo(1);
+		assertThat(statistics.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void parallelAccessKeepsCapacityAndCounters() throws InterruptedException {
+		final ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>("test", 256);
+		final int threadCount = 8;
+		final int lookupsPerThread = 10000;
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < threadCount; t++) {
+			final int offset = t;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < lookupsPerThread; i++) {
+						Integer key = (i * 7 + offset) % 1000;
+						if (cache.get(key) == null) {
+							cache.put(key, key);
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHits() + statistics.getMisses()).isEqualTo((long) threadCount * lookupsPerThread);
+		assertThat(statistics.getSize()).isLessThanOrEqualTo(256);
+	}
+}
@@ -0,0 +1,88 @@
+package com.baselet.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class LayerOrderedListTest {
+
+	private final Map<String, Integer> layerOf = new HashMap<String, Integer>();
+
+	private LayerOrderedList<String> createList(String... elements) {
+		return new LayerOrderedList<String>(Arrays.asList(elements)) {
+			@Override
+			protected Integer getLayer(String e) {
+				Integer layer = layerOf.get(e);
+				return layer == null ? 0 : layer;
+			}
+		};
+	}
+
+	@Test
+	public void objectsOfTheSameLayerKeepTheirOrder() {
+		layerOf.put("rel1", 1);
+		layerOf.put("rel2", 1);
+		layerOf.put("top", 5);
+		LayerOrderedList<String> list = createList("top", "rel1", "a", "rel2", "b");
+		assertThat(list).containsExactly("top", "rel1", "a", "rel2", "b");
+		assertThat(list.ascending()).containsExactly("a", "b", "rel1", "rel2", "top");
+		assertThat(list.descending()).containsExactly("top", "rel2", "rel1", "b", "a");
+	}
+
+	@Test
+	public void appendAndRemoveUpdateTheOrder() {
+		layerOf.put("rel1", 1);
+		layerOf.put("rel2", 1);
+		LayerOrderedList<String> list = createList("rel1", "a");
+		List<String> ascending = list.ascending();
+		list.add("rel2");
+		list.add("b");
+		assertThat(ascending).containsExactly("a", "b", "rel1", "rel2");
+		list.removeAll(Arrays.asList("a", "rel1"));
+		assertThat(ascending).containsExactly("b", "rel2");
+		list.add(0, "c"); // inserted before other objects of layer 0, therefore sorted again
+		assertThat(list.ascending()).containsExactly("c", "b", "rel2");
+		list.clear();
+		assertThat(list.descending()).isEmpty();
+	}
+
+	@Test
+	public void changedLayersAreOnlySortedIfAnnounced() {
+		LayerOrderedList<String> list = createList("a", "b", "c");
+		layerOf.put("a", 2);
+		assertThat(list.ascending()).containsExactly("a", "b", "c");
+		list.layersMayHaveChanged();
+		assertThat(list.ascending()).containsExactly("b", "c", "a");
+		layerOf.put("c", -1);
+		layerOf.put("a", 0);
+		list.layersMayHaveChanged();
+		assertThat(list.descending()).containsExactly("b", "a", "c");
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void iteratingAViewWhileTheListChangesFailsFast() {
+		LayerOrderedList<String> list = createList("a", "b");
+		Iterator<String> descending = list.descending().iterator();
+		descending.next();
+		list.remove("a");
+		descending.next();
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void iteratingAViewWhileTheLayersAreSortedAgainFailsFast() {
+		LayerOrderedList<String> list = createList("a", "b");
+		Iterator<String> ascending = list.ascending().iterator();
+		ascending.next();
+		layerOf.put("a", 1);
+		list.layersMayHaveChanged();
+		list.ascending();
+		ascending.next();
+	}
+}
@@ -0,0 +1,64 @@
+package com.baselet.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import org.junit.Test;
+
+public class LinkedIdentitySetTest {
+
+	@Test
+	public void containsEveryObjectOnceInInsertionOrder() {
+		String a = new String("a");
+		String equalToA = new String("a");
+		LinkedIdentitySet<String> list = new LinkedIdentitySet<String>();
+		assertThat(list.add(a)).isTrue();
+		assertThat(list.add("b")).isTrue();
+		assertThat(list.add(a)).isFalse();
+		assertThat(list.contains(equalToA)).isFalse();
+		assertThat(list.add(equalToA)).isTrue(); // objects are compared by identity, not by equals()
+		assertThat(list).hasSize(3);
+		assertThat(list.get(0)).isSameAs(a);
+		assertThat(list.get(2)).isSameAs(equalToA);
+	}
+
+	@Test
+	public void removeAndMoveToLastKeepOrder() {
+		LinkedIdentitySet<String> list = new LinkedIdentitySet<String>();
+		list.add("a");
+		list.add("b");
+		list.add("c");
+		list.add("d");
+		assertThat(list.remove("b")).isTrue();
+		assertThat(list.remove("x")).isFalse();
+		list.moveToLast("a");
+		assertThat(list).containsExactly("c", "d", "a");
+		list.moveToLast("e");
+		assertThat(list).containsExactly("c", "d", "a", "e");
+		assertThat(list.get(list.size() - 1)).isEqualTo("e");
+		list.clear();
+		assertThat(list).isEmpty();
+		assertThat(list.contains("a")).isFalse();
+	}
+
+	@Test
+	public void iteratorsRemoveElements() {
+		LinkedIdentitySet<String> list = new LinkedIdentitySet<String>();
+		list.add("a");
+		list.add("b");
+		list.add("c");
+		Iterator<String> iter = list.iterator();
+		iter.next();
+		iter.next();
+		iter.remove();
+		assertThat(list).containsExactly("a", "c");
+		ListIterator<String> listIter = list.listIterator(list.size());
+		assertThat(listIter.previous()).isEqualTo("c");
+		listIter.remove();
+		assertThat(listIter.previous()).isEqualTo("a");
+		assertThat(list).containsExactly("a");
+		assertThat(list.contains("c")).isFalse();
+	}
+}
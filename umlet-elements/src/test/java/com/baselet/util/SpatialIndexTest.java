@@ -0,0 +1,107 @@
+package com.baselet.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+
+public class SpatialIndexTest {
+
+	@Test
+	public void pointQueryIncludesBordersAndKeepsInsertionOrder() {
+		SpatialIndex<String> index = new SpatialIndex<String>(10);
+		index.put("b", new Rectangle(0, 0, 20, 20));
+		index.put("a", new Rectangle(20, 20, 5, 5));
+		index.put("c", new Rectangle(-30, -30, 10, 10));
+		assertThat(index.getItemsAt(new Point(20, 20))).containsExactly("b", "a");
+		assertThat(index.getItemsAt(new Point(-25, -21))).containsExactly("c");
+		assertThat(index.getItemsAt(new Point(50, 50))).isEmpty();
+	}
+
+	@Test
+	public void movedAndRemovedItemsAreUpdated() {
+		SpatialIndex<String> index = new SpatialIndex<String>(10);
+		index.put("a", new Rectangle(0, 0, 10, 10));
+		index.put("b", new Rectangle(0, 0, 10, 10));
+		index.put("a", new Rectangle(100, 100, 10, 10));
+		index.remove("b");
+		assertThat(index.getItemsAt(new Point(5, 5))).isEmpty();
+		assertThat(index.getItemsAt(new Point(105, 105))).containsExactly("a");
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void oversizedItemsAreFound() {
+		SpatialIndex<String> index = new SpatialIndex<String>(10);
+		index.put("huge", new Rectangle(0, 0, 5000, 5000));
+		index.put("small", new Rectangle(2000, 2000, 10, 10));
+		assertThat(index.getItemsAt(new Point(2005, 2005))).containsExactly("huge", "small");
+		assertThat(index.getNearestItems(new Point(6000, 0), 1)).containsExactly("huge");
+	}
+
+	@Test
+	public void randomQueriesMatchLinearSearch() {
+		Random random = new Random(42);
+		SpatialIndex<Integer> index = new SpatialIndex<Integer>(50);
+		List<Rectangle> rects = new ArrayList<Rectangle>();
+		for (int i = 0; i < 500; i++) {
+			rects.add(randomRectangle(random));
+			index.put(i, rects.get(i));
+		}
+		for (int i = 0; i < 100; i++) { // move some elements around
+			int moved = random.nextInt(rects.size());
+			rects.set(moved, randomRectangle(random));
+			index.put(moved, rects.get(moved));
+		}
+		for (int q = 0; q < 200; q++) {
+			Rectangle area = new Rectangle(random.nextInt(2200) - 1100, random.nextInt(2200) - 1100, random.nextInt(300), random.nextInt(300));
+			List<Integer> expected = new ArrayList<Integer>();
+			for (int i = 0; i < rects.size(); i++) {
+				Rectangle r = rects.get(i);
+				if (r.x <= area.getX2() && r.getX2() >= area.x && r.y <= area.getY2() && r.getY2() >= area.y) {
+					expected.add(i);
+				}
+			}
+			assertThat(index.getItemsIntersecting(area)).isEqualTo(expected);
+
+			final Point p = new Point(area.x, area.y);
+			List<Long> expectedDistances = new ArrayList<Long>();
+			for (Rectangle r : rects) {
+				expectedDistances.add(squaredDistance(r, p));
+			}
+			Collections.sort(expectedDistances);
+			List<Long> actualDistances = new ArrayList<Long>();
+			for (Integer i : index.getNearestItems(p, 5)) {
+				actualDistances.add(squaredDistance(rects.get(i), p));
+			}
+			assertThat(actualDistances).isEqualTo(expectedDistances.subList(0, 5));
+		}
+	}
+
+	@Test
+	public void nearestItemsAreOrderedByDistance() {
+		SpatialIndex<String> index = new SpatialIndex<String>(10);
+		index.put("far", new Rectangle(300, 0, 10, 10));
+		index.put("inside", new Rectangle(0, 0, 10, 10));
+		index.put("near", new Rectangle(30, 0, 10, 10));
+		assertThat(index.getNearestItems(new Point(5, 5), 2)).isEqualTo(Arrays.asList("inside", "near"));
+	}
+
+	private static Rectangle randomRectangle(Random random) {
+		return new Rectangle(random.nextInt(2000) - 1000, random.nextInt(2000) - 1000, random.nextInt(200), random.nextInt(200));
+	}
+
+	private static long squaredDistance(Rectangle r, Point p) {
+		long dx = Math.max(0, Math.max(r.x - p.x, p.x - r.getX2()));
+		long dy = Math.max(0, Math.max(r.y - p.y, p.y - r.getY2()));
+		return dx * dx + dy * dy;
+	}
+}
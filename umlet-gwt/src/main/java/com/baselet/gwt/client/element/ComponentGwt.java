@@ -12,6 +12,9 @@ import com.google.gwt.dom.client.CanvasElement;
 public class ComponentGwt implements Component {
 
 	boolean redrawNecessary = true;
+	private int version = 0; // incremented on every model update, therefore the DrawCanvas knows which elements have changed since they were drawn
+	private Integer layer;
+	private static int layerChanges = 0; // incremented if the layer of any element changes, therefore a DiagramGwt only checks its layer order if necessary
 
 	private final Canvas canvas = Canvas.createIfSupported();
 	private final DrawHandlerGwt drawer;
@@ -56,6 +59,20 @@ public class ComponentGwt implements Component {
 	@Override
 	public void afterModelUpdate() {
 		redrawNecessary = true;
+		version++;
+		Integer newLayer = element.getLayer();
+		if (!newLayer.equals(layer)) {
+			layer = newLayer;
+			layerChanges++;
+		}
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public static int getLayerChanges() {
+		return layerChanges;
 	}
 
 	@Override
@@ -3,7 +3,6 @@ package com.baselet.gwt.client.element;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import com.baselet.control.config.SharedConfig;
@@ -17,25 +16,13 @@ import com.baselet.element.sticking.StickableMap;
 import com.baselet.element.sticking.Stickables;
 import com.baselet.element.sticking.StickingPolygon;
 import com.baselet.gui.AutocompletionText;
+import com.baselet.util.LayerOrderedList;
 
 public class DiagramGwt implements Diagram {
 
-	private static final Comparator<GridElement> LAYER_COMPARATOR_ASCENDING = new Comparator<GridElement>() {
-		@Override
-		public int compare(GridElement o1, GridElement o2) {
-			return o1.getLayer().compareTo(o2.getLayer());
-		}
-	};
-
-	private static final Comparator<GridElement> LAYER_COMPARATOR_DESCENDING = new Comparator<GridElement>() {
-		@Override
-		public int compare(GridElement o1, GridElement o2) {
-			return o2.getLayer().compareTo(o1.getLayer());
-		}
-	};
-
 	private String helpText;
-	private final List<GridElement> gridElements;
+	private final LayerOrderedList<GridElement> gridElements;
+	private int knownLayerChanges = -1; // the ComponentGwt.getLayerChanges() when the layers have been checked the last time
 	private int zoomLevel;
 
 	public DiagramGwt(List<GridElement> gridElements) {
@@ -45,7 +32,12 @@ public class DiagramGwt implements Diagram {
 	public DiagramGwt(String helpText, List<GridElement> gridElements) {
 		super();
 		this.helpText = helpText;
-		this.gridElements = gridElements;
+		this.gridElements = new LayerOrderedList<GridElement>(gridElements) {
+			@Override
+			protected Integer getLayer(GridElement e) {
+				return e.getLayer();
+			}
+		};
 		this.zoomLevel = gridElements.size() > 0 ? ((NewGridElement) gridElements.get(0)).getGridSize() : SharedConstants.DEFAULT_GRID_SIZE;
 	}
 
@@ -88,16 +80,18 @@ public class DiagramGwt implements Diagram {
 		return getGridElementsByLayer(true);
 	}
 
+	/**
+	 * returns a read-only view which is kept in order while elements are added and removed (the descending view is the exact reverse of the ascending one,
+	 * therefore it starts with the element which is drawn on top). It must not be kept, because it changes with the elements of the diagram,
+	 * and iterating it while elements are added or removed throws a ConcurrentModificationException
+	 */
 	@Override
 	public List<GridElement> getGridElementsByLayer(boolean ascending) {
-		ArrayList<GridElement> list = new ArrayList<GridElement>(gridElements);
-		if (ascending) {
-			Collections.sort(list, LAYER_COMPARATOR_ASCENDING);
-		}
-		else {
-			Collections.sort(list, LAYER_COMPARATOR_DESCENDING);
+		if (knownLayerChanges != ComponentGwt.getLayerChanges()) {
+			knownLayerChanges = ComponentGwt.getLayerChanges();
+			gridElements.layersMayHaveChanged();
 		}
-		return list;
+		return ascending ? gridElements.ascending() : gridElements.descending();
 	}
 
 	@Override
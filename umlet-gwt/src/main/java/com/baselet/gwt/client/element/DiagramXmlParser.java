@@ -1,11 +1,15 @@
 package com.baselet.gwt.client.element;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.control.constants.SharedConstants;
 import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.io.UxfFormatException;
+import com.baselet.diagram.io.UxfReader;
+import com.baselet.diagram.io.UxfWriter;
 import com.baselet.element.interfaces.Diagram;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.gwt.client.base.Notification;
@@ -16,12 +20,6 @@ import com.baselet.gwt.client.view.widgets.DownloadPopupPanel;
 import com.baselet.gwt.client.view.widgets.DownloadType;
 import com.google.gwt.http.client.URL;
 import com.google.gwt.user.client.Window;
-import com.google.gwt.xml.client.DOMException;
-import com.google.gwt.xml.client.Document;
-import com.google.gwt.xml.client.Element;
-import com.google.gwt.xml.client.Node;
-import com.google.gwt.xml.client.NodeList;
-import com.google.gwt.xml.client.XMLParser;
 
 public class DiagramXmlParser {
 
@@ -36,21 +34,6 @@ public class DiagramXmlParser {
 
 	private static final CustomLogger log = CustomLoggerFactory.getLogger(DiagramXmlParser.class);
 
-	private static final String DIAGRAM = "diagram";
-	private static final String ELEMENT = "element";
-	private static final String ZOOM_LEVEL = "zoom_level";
-	private static final String HELP_TEXT = "help_text";
-	private static final String ID = "id";
-	private static final String COORDINATES = "coordinates";
-	private static final String X = "x";
-	private static final String Y = "y";
-	private static final String W = "w";
-	private static final String H = "h";
-	private static final String PANEL_ATTRIBUTES = "panel_attributes";
-	private static final String ADDITIONAL_ATTRIBUTES = "additional_attributes";
-	private static final String ATTR_PROGRAM = "program";
-	private static final String ATTR_VERSION = "version";
-
 	public static Diagram xmlToDiagram(boolean decodeUrl, String xml) {
 		if (decodeUrl) {
 			xml = URL.decode(xml).replace(NUMBER_SIGN_URL_ENCODED, NUMBER_SIGN);
@@ -60,100 +43,68 @@ public class DiagramXmlParser {
 
 	public static Diagram xmlToDiagram(String xml) {
 		log.debug("Serializing " + xml);
-		if (xml.startsWith(SharedConstants.UTF8_BOM)) {
-			xml = xml.substring(1); // remove BOM if it is given
-		}
-		Diagram diagram = null;
-		String helpText = null;
+		final Diagram diagram = new DiagramGwt(new ArrayList<GridElement>());
 		try {
-			// parse the XML document into a DOM
-			Document messageDom = XMLParser.parse(xml);
-
-			Node helpTextNode = messageDom.getElementsByTagName(HELP_TEXT).item(0);
-			if (helpTextNode != null) {
-				Node firstChild = helpTextNode.getFirstChild();
-				if (firstChild != null) {
-					helpText = helpTextNode.getFirstChild().getNodeValue();
-				}
-				else {
-					helpText = ""; // empty helptext should also work
+			UxfReader.read(xml, new UxfReader.Handler() {
+				@Override
+				public void setHelpText(String helpText) {
+					diagram.setPanelAttributes(helpText);
 				}
-			}
-
-			diagram = new DiagramGwt(helpText, new ArrayList<GridElement>());
 
-			Node zoomElement = messageDom.getElementsByTagName(ZOOM_LEVEL).item(0);
-			if (zoomElement != null) {
-				int zoomLevel = Integer.parseInt(zoomElement.getFirstChild().getNodeValue());
-				diagram.setZoomLevel(zoomLevel);
-			}
+				@Override
+				public void setZoomLevel(int zoomLevel) {
+					diagram.setZoomLevel(zoomLevel);
+				}
 
-			NodeList elements = messageDom.getElementsByTagName(ELEMENT);
-			for (int i = 0; i < elements.getLength(); i++) {
-				Element element = (Element) elements.item(i);
-				try {
-					ElementId id = ElementId.valueOf(element.getElementsByTagName(ID).item(0).getFirstChild().getNodeValue());
-					Element coord = (Element) element.getElementsByTagName(COORDINATES).item(0);
-					Rectangle rect = new Rectangle(getInt(coord, X), getInt(coord, Y), getInt(coord, W), getInt(coord, H));
-
-					String panelAttributes = "";
-					Node panelAttrNode = element.getElementsByTagName(PANEL_ATTRIBUTES).item(0).getFirstChild();
-					if (panelAttrNode != null) {
-						panelAttributes = panelAttrNode.getNodeValue();
+				@Override
+				public void addElement(String id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes, String customCode) {
+					try {
+						diagram.getGridElements().add(ElementFactoryGwt.create(ElementId.valueOf(id), new Rectangle(x, y, w, h), panelAttributes, additionalAttributes, diagram));
+					} catch (RuntimeException e) {
+						addInvalidElement(id, type, e);
 					}
+				}
 
-					String additionalPanelAttributes = "";
-					Node additionalAttrNode = element.getElementsByTagName(ADDITIONAL_ATTRIBUTES).item(0);
-					if (additionalAttrNode != null && additionalAttrNode.getFirstChild() != null) {
-						additionalPanelAttributes = additionalAttrNode.getFirstChild().getNodeValue();
-					}
-					GridElement gridElement = ElementFactoryGwt.create(id, rect, panelAttributes, additionalPanelAttributes, diagram);
-					double zoomFactor = diagram.getZoomLevel() / (double) SharedConstants.DEFAULT_GRID_SIZE;
-					((DrawHandlerGwt) gridElement.getComponent().getDrawHandler()).setZoomFactor(zoomFactor);
-					((DrawHandlerGwt) gridElement.getComponent().getMetaDrawHandler()).setZoomFactor(zoomFactor);
-					diagram.getGridElements().add(gridElement);
-				} catch (Exception e) {
-					log.error("Element has invalid XML structure: " + element, e);
+				@Override
+				public void addInvalidElement(String id, String type, RuntimeException cause) {
+					String element = id != null ? id : type;
+					log.error("Element has invalid XML structure: " + element, cause);
 					Notification.showFeatureNotSupported("Diagram has invalid element: " + element, true);
 				}
-			}
-		} catch (DOMException e) {
+			});
+		} catch (UxfFormatException e) {
 			log.error("Parsing error", e);
 			Window.alert("Could not parse XML document.");
+			return null;
+		}
+		// the zoom level can be anywhere in the file, therefore it is applied after all elements have been read
+		double zoomFactor = diagram.getZoomLevel() / (double) SharedConstants.DEFAULT_GRID_SIZE;
+		for (GridElement gridElement : diagram.getGridElements()) {
+			((DrawHandlerGwt) gridElement.getComponent().getDrawHandler()).setZoomFactor(zoomFactor);
+			((DrawHandlerGwt) gridElement.getComponent().getMetaDrawHandler()).setZoomFactor(zoomFactor);
 		}
 		return diagram;
 	}
 
-	private static Integer getInt(Element coordinates, String tag) {
-		return Integer.valueOf(coordinates.getElementsByTagName(tag).item(0).getFirstChild().getNodeValue());
-	}
-
 	public static String diagramToXml(Diagram diagram) {
-		Document doc = XMLParser.createDocument();
-
-		Element diagramElement = doc.createElement(DIAGRAM);
-		diagramElement.setAttribute(ATTR_PROGRAM, "umletino");
-		diagramElement.setAttribute(ATTR_VERSION, BuildInfoProperties.getVersion());
-		diagramElement.appendChild(create(doc, ZOOM_LEVEL, doc.createTextNode(String.valueOf(diagram.getZoomLevel()))));
-		String helpText = diagram.getPanelAttributes();
-		if (helpText != null) {
-			diagramElement.appendChild(create(doc, HELP_TEXT, doc.createTextNode(helpText)));
-		}
-		doc.appendChild(diagramElement);
-
-		for (GridElement ge : diagram.getGridElements()) {
-			diagramElement.appendChild(
-					create(doc, ELEMENT,
-							create(doc, ID, doc.createTextNode(ge.getId().toString())),
-							create(doc, COORDINATES,
-									create(doc, X, doc.createTextNode(ge.getRectangle().getX() + "")),
-									create(doc, Y, doc.createTextNode(ge.getRectangle().getY() + "")),
-									create(doc, W, doc.createTextNode(ge.getRectangle().getWidth() + "")),
-									create(doc, H, doc.createTextNode(ge.getRectangle().getHeight() + ""))),
-							create(doc, PANEL_ATTRIBUTES, doc.createTextNode(ge.getPanelAttributes())),
-							create(doc, ADDITIONAL_ATTRIBUTES, doc.createTextNode(ge.getAdditionalAttributes()))));
+		StringBuilder sb = new StringBuilder();
+		UxfWriter writer = new UxfWriter(sb, "\n");
+		try {
+			writer.writeDiagramStart("umletino", BuildInfoProperties.getVersion());
+			String helpText = diagram.getPanelAttributes();
+			if (helpText != null) {
+				writer.writeHelpText(helpText);
+			}
+			writer.writeZoomLevel(diagram.getZoomLevel());
+			for (GridElement ge : diagram.getGridElements()) {
+				Rectangle r = ge.getRectangle();
+				writer.writeElement(ge.getId().toString(), null, r.getX(), r.getY(), r.getWidth(), r.getHeight(), ge.getPanelAttributes(), ge.getAdditionalAttributes(), null);
+			}
+			writer.writeDiagramEnd();
+		} catch (IOException e) {
+			throw new IllegalStateException(e); // cannot happen, because a StringBuilder throws no IOExceptions
 		}
-		String xml = doc.toString();
+		String xml = sb.toString();
 		log.debug("Deserializing to " + xml);
 		return xml;
 	}
@@ -174,20 +125,16 @@ public class DiagramXmlParser {
 		receiver.onData(xml, type);
 	}
 
-	private static Element create(Document doc, String name, Node... children) {
-		Element element = doc.createElement(name);
-		for (Node c : children) {
-			element.appendChild(c);
-		}
-		return element;
-	}
-
 	public static String gridElementsToXml(List<GridElement> gridElements) {
 		return diagramToXml(new DiagramGwt(gridElements));
 	}
 
 	public static List<GridElement> xmlToGridElements(String string) {
-		return xmlToDiagram(string).getGridElements();
+		Diagram diagram = xmlToDiagram(string);
+		if (diagram == null) { // e.g. if the clipboard contains no diagram
+			return new ArrayList<GridElement>();
+		}
+		return diagram.getGridElements();
 	}
 
 }
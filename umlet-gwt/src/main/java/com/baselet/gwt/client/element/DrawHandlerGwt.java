@@ -19,6 +19,7 @@ import com.baselet.gwt.client.view.Context2dWrapper;
 import com.baselet.gwt.client.logging.CustomLogger;
 import com.baselet.gwt.client.logging.CustomLoggerFactory;
 import com.baselet.gwt.client.text.Font;
+import com.baselet.gwt.client.text.TextWidthCache;
 import com.google.gwt.canvas.dom.client.Context2d.TextAlign;
 
 public class DrawHandlerGwt extends DrawHandler {
@@ -59,6 +60,9 @@ public class DrawHandlerGwt extends DrawHandler {
 
 	@Override
 	protected DimensionDouble textDimensionHelper(StringStyle singleLine) {
+		if (!(ctx instanceof Context2dPdfWrapper)) { // the pdf fonts are measured differently than the canvas fonts, therefore they are not cached
+			return new DimensionDouble(TextWidthCache.getWidth(ctx, style.getFontSize(), singleLine), style.getFontSize());
+		}
 		Font oldFont = ctx.getFont();
 		ctxSetFont(style.getFontSize(), singleLine);
 		DimensionDouble dim = new DimensionDouble(ctx.measureText(singleLine.getStringWithoutMarkup()), style.getFontSize()); // unfortunately a html canvas offers no method to get the exakt height, therefore just use the fontsize
@@ -0,0 +1,165 @@
+package com.baselet.gwt.client.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.baselet.gwt.client.file.DiagramSnapshot.Element;
+
+/**
+ * The changes of a diagram since the version which has been sent before: the added elements (which are appended to the file), the changed elements
+ * and the ids of the removed elements, together with the diagram settings. A full delta replaces the whole diagram, therefore its base version doesn't matter.
+ * {@link #toJson()} creates the message for the file owner (see UmletEditorProvider.ts in umlet-vscode, which applies the delta exactly like {@link DiagramSnapshot#apply(DiagramDelta)})
+ */
+public class DiagramDelta {
+
+	private final boolean full;
+	private final int baseVersion;
+	private final int version;
+	private final String program;
+	private final String programVersion;
+	private final int zoomLevel;
+	private final String helpText;
+	private final List<Element> added = new ArrayList<Element>();
+	private final List<Element> changed = new ArrayList<Element>();
+	private final List<Integer> removed = new ArrayList<Integer>();
+
+	public DiagramDelta(boolean full, int baseVersion, int version, String program, String programVersion, int zoomLevel, String helpText) {
+		this.full = full;
+		this.baseVersion = baseVersion;
+		this.version = version;
+		this.program = program;
+		this.programVersion = programVersion;
+		this.zoomLevel = zoomLevel;
+		this.helpText = helpText;
+	}
+
+	public boolean isFull() {
+		return full;
+	}
+
+	public int getBaseVersion() {
+		return baseVersion;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public int getZoomLevel() {
+		return zoomLevel;
+	}
+
+	public String getHelpText() {
+		return helpText;
+	}
+
+	public List<Element> getAdded() {
+		return added;
+	}
+
+	public List<Element> getChanged() {
+		return changed;
+	}
+
+	public List<Integer> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * @return true if applying the delta to its base version wouldn't change anything
+	 */
+	public boolean isEmpty(DiagramSnapshot base) {
+		return !full && added.isEmpty() && changed.isEmpty() && removed.isEmpty() && zoomLevel == base.getZoomLevel()
+				&& (helpText == null ? base.getHelpText() == null : helpText.equals(base.getHelpText()));
+	}
+
+	public String toJson() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"full\":").append(full);
+		sb.append(",\"baseVersion\":").append(baseVersion);
+		sb.append(",\"version\":").append(version);
+		sb.append(",\"program\":");
+		appendJsonString(sb, program);
+		sb.append(",\"programVersion\":");
+		appendJsonString(sb, programVersion);
+		sb.append(",\"zoomLevel\":").append(zoomLevel);
+		sb.append(",\"helpText\":");
+		appendJsonString(sb, helpText);
+		sb.append(",\"added\":");
+		appendJsonElements(sb, added);
+		sb.append(",\"changed\":");
+		appendJsonElements(sb, changed);
+		sb.append(",\"removed\":[");
+		for (int i = 0; i < removed.size(); i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(removed.get(i));
+		}
+		return sb.append("]}").toString();
+	}
+
+	private static void appendJsonElements(StringBuilder sb, List<Element> elements) {
+		sb.append('[');
+		for (int i = 0; i < elements.size(); i++) {
+			Element e = elements.get(i);
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append("{\"id\":").append(e.getId());
+			sb.append(",\"type\":");
+			appendJsonString(sb, e.getType());
+			sb.append(",\"x\":").append(e.getX());
+			sb.append(",\"y\":").append(e.getY());
+			sb.append(",\"w\":").append(e.getW());
+			sb.append(",\"h\":").append(e.getH());
+			sb.append(",\"panelAttributes\":");
+			appendJsonString(sb, e.getPanelAttributes());
+			sb.append(",\"additionalAttributes\":");
+			appendJsonString(sb, e.getAdditionalAttributes());
+			sb.append('}');
+		}
+		sb.append(']');
+	}
+
+	static void appendJsonString(StringBuilder sb, String s) {
+		if (s == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						String hex = Integer.toHexString(c);
+						sb.append("\\u");
+						for (int j = hex.length(); j < 4; j++) {
+							sb.append('0');
+						}
+						sb.append(hex);
+					}
+					else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+}
@@ -0,0 +1,114 @@
+package com.baselet.gwt.client.file;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baselet.element.interfaces.Diagram;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.gwt.client.file.DiagramSnapshot.Element;
+
+/**
+ * Creates the deltas which are sent to the file owner instead of the whole diagram file. Every GridElement gets an id when it is sent for the first time;
+ * afterwards only the added, changed and removed elements are sent. A full delta is created for the first diagram, if another diagram is set,
+ * if the file owner has requested it (e.g. because it has lost the state of the file) or if the order of the elements has changed
+ */
+public class DiagramDeltaEncoder {
+
+	private final String program;
+	private final String programVersion;
+
+	private Diagram diagram; // the diagram which has been sent
+	private DiagramSnapshot sent;
+	private Map<GridElement, Integer> ids = new IdentityHashMap<GridElement, Integer>();
+	private int nextId = 0;
+	private boolean fullRequested = false;
+
+	public DiagramDeltaEncoder(String program, String programVersion) {
+		this.program = program;
+		this.programVersion = programVersion;
+	}
+
+	/**
+	 * the next delta will contain the whole diagram
+	 */
+	public void requestFull() {
+		fullRequested = true;
+	}
+
+	/**
+	 * @return the changes since the last delta (which is applied to the sent snapshot) or null if nothing has changed
+	 */
+	public DiagramDelta encode(Diagram diagram) {
+		boolean full = fullRequested || diagram != this.diagram || !isOrderUnchanged(diagram.getGridElements());
+		int baseVersion = sent == null ? 0 : sent.getVersion();
+		DiagramDelta delta = new DiagramDelta(full, baseVersion, baseVersion + 1, program, programVersion, diagram.getZoomLevel(), diagram.getPanelAttributes());
+		Map<GridElement, Integer> newIds = new IdentityHashMap<GridElement, Integer>();
+		for (GridElement ge : diagram.getGridElements()) {
+			Integer id = full ? null : ids.get(ge);
+			if (id == null) {
+				id = nextId++;
+				delta.getAdded().add(new Element(id, ge));
+			}
+			else if (!sent.getElement(id).matches(ge)) {
+				delta.getChanged().add(new Element(id, ge));
+			}
+			newIds.put(ge, id);
+		}
+		if (!full) {
+			for (Map.Entry<GridElement, Integer> e : ids.entrySet()) {
+				if (!newIds.containsKey(e.getKey())) {
+					delta.getRemoved().add(e.getValue());
+				}
+			}
+			if (delta.isEmpty(sent)) {
+				return null;
+			}
+		}
+		if (sent == null) {
+			sent = new DiagramSnapshot(program, programVersion);
+		}
+		sent.apply(delta);
+		ids = newIds;
+		this.diagram = diagram;
+		fullRequested = false;
+		return delta;
+	}
+
+	/**
+	 * @return the file as the file owner has it after applying all deltas
+	 */
+	public DiagramSnapshot getSent() {
+		return sent;
+	}
+
+	/**
+	 * added elements are appended to the file, therefore the elements which have been sent before must still be in the same order and in front of the added ones
+	 */
+	private boolean isOrderUnchanged(List<GridElement> elements) {
+		if (sent == null) {
+			return false;
+		}
+		List<Integer> sentIds = sent.getIds();
+		int sentIndex = 0;
+		boolean added = false;
+		for (GridElement ge : elements) {
+			Integer id = ids.get(ge);
+			if (id == null) {
+				added = true;
+				continue;
+			}
+			if (added) {
+				return false;
+			}
+			while (sentIndex < sentIds.size() && !sentIds.get(sentIndex).equals(id)) {
+				sentIndex++; // removed element
+			}
+			if (sentIndex == sentIds.size()) {
+				return false;
+			}
+			sentIndex++;
+		}
+		return true;
+	}
+}
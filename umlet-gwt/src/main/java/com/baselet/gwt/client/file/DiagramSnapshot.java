@@ -0,0 +1,189 @@
+package com.baselet.gwt.client.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.diagram.io.UxfWriter;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * The state of a diagram file as it has been sent to the file owner (e.g. vscode): the diagram settings and every element with its id in file order.
+ * {@link #apply(DiagramDelta)} updates the state with a delta, {@link #toXml()} writes the file exactly like the file owner writes it after applying the same deltas
+ */
+public class DiagramSnapshot {
+
+	private final String program;
+	private final String programVersion;
+	private int zoomLevel;
+	private String helpText; // can be null
+	private final List<Integer> order = new ArrayList<Integer>();
+	private final Map<Integer, Element> elements = new HashMap<Integer, Element>();
+	private int version;
+
+	public DiagramSnapshot(String program, String programVersion) {
+		this.program = program;
+		this.programVersion = programVersion;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public int getZoomLevel() {
+		return zoomLevel;
+	}
+
+	public String getHelpText() {
+		return helpText;
+	}
+
+	public String getProgram() {
+		return program;
+	}
+
+	public String getProgramVersion() {
+		return programVersion;
+	}
+
+	/**
+	 * @return the ids of all elements in file order
+	 */
+	public List<Integer> getIds() {
+		return order;
+	}
+
+	public Element getElement(int id) {
+		return elements.get(id);
+	}
+
+	/**
+	 * @return false if the delta doesn't belong to this version of the snapshot (the snapshot is unchanged in this case, a full delta is always applied)
+	 */
+	public boolean apply(DiagramDelta delta) {
+		if (delta.isFull()) {
+			order.clear();
+			elements.clear();
+		}
+		else if (delta.getBaseVersion() != version) {
+			return false;
+		}
+		zoomLevel = delta.getZoomLevel();
+		helpText = delta.getHelpText();
+		if (!delta.getRemoved().isEmpty()) {
+			for (Integer id : delta.getRemoved()) {
+				elements.remove(id);
+			}
+			List<Integer> remaining = new ArrayList<Integer>(order.size());
+			for (Integer id : order) {
+				if (elements.containsKey(id)) {
+					remaining.add(id);
+				}
+			}
+			order.clear();
+			order.addAll(remaining);
+		}
+		for (Element e : delta.getChanged()) {
+			elements.put(e.getId(), e);
+		}
+		for (Element e : delta.getAdded()) {
+			elements.put(e.getId(), e);
+			order.add(e.getId());
+		}
+		version = delta.getVersion();
+		return true;
+	}
+
+	/**
+	 * @return the file in the uxf format of the standalone version (like DiagramXmlParser writes it)
+	 */
+	public String toXml() {
+		StringBuilder sb = new StringBuilder();
+		UxfWriter writer = new UxfWriter(sb, "\n");
+		try {
+			writer.writeDiagramStart(program, programVersion);
+			if (helpText != null) {
+				writer.writeHelpText(helpText);
+			}
+			writer.writeZoomLevel(zoomLevel);
+			for (Integer id : order) {
+				Element e = elements.get(id);
+				writer.writeElement(e.type, null, e.x, e.y, e.w, e.h, e.panelAttributes, e.additionalAttributes, null);
+			}
+			writer.writeDiagramEnd();
+		} catch (IOException e) {
+			throw new IllegalStateException(e); // cannot happen, because a StringBuilder throws no IOExceptions
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * An element of the file; it is immutable and compared with the GridElement to find out if the element has changed since it was sent
+	 */
+	public static class Element {
+		private final int id;
+		private final String type;
+		private final int x;
+		private final int y;
+		private final int w;
+		private final int h;
+		private final String panelAttributes;
+		private final String additionalAttributes;
+
+		public Element(int id, String type, int x, int y, int w, int h, String panelAttributes, String additionalAttributes) {
+			this.id = id;
+			this.type = type;
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.h = h;
+			this.panelAttributes = panelAttributes;
+			this.additionalAttributes = additionalAttributes;
+		}
+
+		public Element(int id, GridElement ge) {
+			this(id, ge.getId().toString(), ge.getRectangle().getX(), ge.getRectangle().getY(), ge.getRectangle().getWidth(), ge.getRectangle().getHeight(), ge.getPanelAttributes(), ge.getAdditionalAttributes());
+		}
+
+		public boolean matches(GridElement ge) {
+			Rectangle r = ge.getRectangle();
+			return x == r.getX() && y == r.getY() && w == r.getWidth() && h == r.getHeight() && type.equals(ge.getId().toString())
+					&& panelAttributes.equals(ge.getPanelAttributes()) && additionalAttributes.equals(ge.getAdditionalAttributes());
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public int getX() {
+			return x;
+		}
+
+		public int getY() {
+			return y;
+		}
+
+		public int getW() {
+			return w;
+		}
+
+		public int getH() {
+			return h;
+		}
+
+		public String getPanelAttributes() {
+			return panelAttributes;
+		}
+
+		public String getAdditionalAttributes() {
+			return additionalAttributes;
+		}
+	}
+}
@@ -1,5 +1,10 @@
 package com.baselet.gwt.client.file;
 
+import com.baselet.element.interfaces.Diagram;
+
 public interface FileChangeNotifier {
-	void notifyFileChange(String diagramXMLState);
+	/**
+	 * called after every change of the diagram; implementations can use a {@link DiagramDeltaEncoder} to forward only the changed elements
+	 */
+	void notifyFileChange(Diagram diagram);
 }
@@ -365,6 +365,8 @@ public class PdfContext {
 
 	public native void closePath();
 
+	public native void clip();
+
 	public native void restore();
 
 	public native void fill();
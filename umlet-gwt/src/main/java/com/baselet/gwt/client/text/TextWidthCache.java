@@ -0,0 +1,147 @@
+package com.baselet.gwt.client.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.enums.FormatLabels;
+import com.baselet.gwt.client.view.Context2dWrapper;
+import com.baselet.util.LRUCache;
+
+/**
+ * Caches the text widths measured by the canvas, because measureText is one of the slowest calls while the elements are laid out.
+ * The widths are cached per font (size, bold and italic): short strings are cached as a whole, longer strings are summed up from the cached width of every character
+ * (which ignores the kerning between characters, but avoids filling the cache with long lines which are rarely measured twice).
+ * The cache is shared by all elements and must be cleared if the font data changes
+ */
+public class TextWidthCache {
+
+	public static final int MAX_CACHED_STRING_LENGTH = 32;
+	private static final int FONT_CACHE_SIZE = 16; // every zoom level and format uses its own font
+	private static final int STRING_CACHE_SIZE = 2000; // per font
+
+	private static final LRUCache<FontKey, FontWidths> fonts = new LRUCache<FontKey, FontWidths>(FONT_CACHE_SIZE);
+
+	private TextWidthCache() {} // private constructor to avoid instantiation
+
+	/**
+	 * @return the width of the text without markup; the font of the context is only changed (and restored afterwards) if the width must be measured
+	 */
+	public static double getWidth(Context2dWrapper ctx, double fontSize, StringStyle singleLine) {
+		String text = singleLine.getStringWithoutMarkup();
+		FontWidths widths = getFontWidths(new FontKey(fontSize, singleLine));
+		Measurer measurer = new Measurer(ctx, fontSize, singleLine);
+		try {
+			if (text.length() <= MAX_CACHED_STRING_LENGTH) {
+				Double width = widths.strings.get(text);
+				if (width == null) {
+					width = measurer.measure(text);
+					widths.strings.put(text, width);
+				}
+				return width;
+			}
+			double width = 0;
+			for (int i = 0; i < text.length(); i++) {
+				width += widths.getCharWidth(text.charAt(i), measurer);
+			}
+			return width;
+		} finally {
+			measurer.restoreFont();
+		}
+	}
+
+	public static void clear() {
+		fonts.clear();
+	}
+
+	private static FontWidths getFontWidths(FontKey key) {
+		FontWidths widths = fonts.get(key);
+		if (widths == null) {
+			widths = new FontWidths();
+			fonts.put(key, widths);
+		}
+		return widths;
+	}
+
+	/**
+	 * sets the font of the context before the first measurement
+	 */
+	private static class Measurer {
+		private final Context2dWrapper ctx;
+		private final double fontSize;
+		private final StringStyle singleLine;
+		private Font oldFont;
+
+		private Measurer(Context2dWrapper ctx, double fontSize, StringStyle singleLine) {
+			this.ctx = ctx;
+			this.fontSize = fontSize;
+			this.singleLine = singleLine;
+		}
+
+		private double measure(String text) {
+			if (oldFont == null) {
+				oldFont = ctx.getFont();
+				ctx.setFont(fontSize, singleLine);
+			}
+			return ctx.measureText(text);
+		}
+
+		private void restoreFont() {
+			if (oldFont != null) {
+				ctx.setFont(oldFont); // restore old font to make sure measuring doesnt change context state!
+			}
+		}
+	}
+
+	private static class FontWidths {
+		private final LRUCache<String, Double> strings = new LRUCache<String, Double>(STRING_CACHE_SIZE);
+		private final double[] latinChars = new double[256]; // NaN if not measured yet
+		private final Map<Character, Double> otherChars = new HashMap<Character, Double>();
+
+		private FontWidths() {
+			Arrays.fill(latinChars, Double.NaN);
+		}
+
+		private double getCharWidth(char c, Measurer measurer) {
+			if (c < latinChars.length) {
+				if (Double.isNaN(latinChars[c])) {
+					latinChars[c] = measurer.measure(String.valueOf(c));
+				}
+				return latinChars[c];
+			}
+			Double width = otherChars.get(c);
+			if (width == null) {
+				width = measurer.measure(String.valueOf(c));
+				otherChars.put(c, width);
+			}
+			return width;
+		}
+	}
+
+	private static class FontKey {
+		private final double fontSize;
+		private final boolean bold;
+		private final boolean italic;
+
+		private FontKey(double fontSize, StringStyle singleLine) {
+			this.fontSize = fontSize;
+			bold = singleLine.getFormat().contains(FormatLabels.BOLD);
+			italic = singleLine.getFormat().contains(FormatLabels.ITALIC);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Double.valueOf(fontSize).hashCode() + (bold ? 2 : 0) + (italic ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FontKey)) {
+				return false;
+			}
+			FontKey other = (FontKey) obj;
+			return fontSize == other.fontSize && bold == other.bold && italic == other.italic;
+		}
+	}
+}
@@ -108,6 +108,11 @@ public class Context2dGwtWrapper implements Context2dWrapper {
 		context2d.beginPath();
 	}
 
+	@Override
+	public void clip() {
+		context2d.clip();
+	}
+
 	@Override
 	public void moveTo(double x, double y) {
 		context2d.moveTo(x, y);
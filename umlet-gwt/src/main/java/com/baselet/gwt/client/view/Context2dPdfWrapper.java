@@ -101,6 +101,11 @@ public class Context2dPdfWrapper implements Context2dWrapper {
 		pdfContext.beginPath();
 	}
 
+	@Override
+	public void clip() {
+		pdfContext.clip();
+	}
+
 	@Override
 	public void moveTo(double x, double y) {
 		pdfContext.moveTo(x, y);
@@ -44,6 +44,8 @@ public interface Context2dWrapper {
 
 	void closePath();
 
+	void clip();
+
 	void restore();
 
 	void fill();
@@ -0,0 +1,132 @@
+package com.baselet.gwt.client.view;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baselet.control.basics.geom.Rectangle;
+
+/**
+ * Remembers how the elements looked when they were drawn the last time, therefore a redraw only has to clear and draw the region of the canvas which
+ * has changed since then (the old and new bounds of moved, changed, selected, deselected, added and removed elements) instead of the whole canvas.
+ * Only the elements which intersect the damaged region are drawn again, all others are still visible on the canvas
+ *
+ * @param <T> the drawn elements
+ */
+public abstract class DamageTracker<T> {
+
+	private static final int MARGIN = 2; // elements are drawn on a canvas which is 1px larger than their bounds and lines can be antialiased beyond them
+
+	private Map<T, DrawnState> drawnStates = new IdentityHashMap<T, DrawnState>();
+	private Rectangle damage; // null if nothing is damaged
+	private boolean damagedCompletely = true; // nothing has been drawn yet
+
+	/**
+	 * @return the bounds of the element (unscaled)
+	 */
+	protected abstract Rectangle getBounds(T element);
+
+	protected abstract boolean isSelected(T element);
+
+	/**
+	 * @return a value which changes every time the element must be drawn again although its bounds and selection are unchanged (e.g. because its text has changed)
+	 */
+	protected abstract int getVersion(T element);
+
+	protected abstract void draw(Context2dWrapper context, T element, boolean selected, double scaling);
+
+	/**
+	 * the next redraw draws all elements, e.g. because the canvas has been cleared
+	 */
+	public void damageAll() {
+		damagedCompletely = true;
+	}
+
+	public boolean isDamagedCompletely() {
+		return damagedCompletely;
+	}
+
+	/**
+	 * marks a region (unscaled) which must be redrawn in addition to the changed elements (e.g. a lasso which has been drawn above the elements)
+	 */
+	public void damage(Rectangle region) {
+		damage = Rectangle.mergeToLeft(damage, region.copy());
+	}
+
+	/**
+	 * draws the damaged region of the canvas; if the canvas is damaged completely it must have been cleared before
+	 *
+	 * @param elements all elements of the canvas, in the order in which they are drawn (lowest layer first)
+	 * @return the damaged region in unscaled coordinates including a small margin, or null if nothing was drawn
+	 */
+	public Rectangle redraw(Context2dWrapper context, List<T> elements, double scaling) {
+		collectDamage(elements);
+		Rectangle region = damage;
+		boolean all = damagedCompletely;
+		damage = null;
+		damagedCompletely = false;
+
+		if (all) {
+			for (T element : elements) {
+				draw(context, element, drawnStates.get(element).selected, scaling);
+			}
+			return null;
+		}
+		if (region == null) {
+			return null;
+		}
+		region.addBorder(MARGIN);
+		double x = region.getX() * scaling;
+		double y = region.getY() * scaling;
+		int width = (int) Math.ceil(region.getWidth() * scaling);
+		int height = (int) Math.ceil(region.getHeight() * scaling);
+		context.save();
+		context.beginPath();
+		context.rect(x, y, width, height);
+		context.clip();
+		context.clearRect(x, y, width, height);
+		for (T element : elements) {
+			DrawnState state = drawnStates.get(element);
+			if (state.bounds.intersects(region)) {
+				draw(context, element, state.selected, scaling);
+			}
+		}
+		context.restore();
+		return region;
+	}
+
+	/**
+	 * compares every element with its state at the last redraw and stores the new state; the states of removed elements are dropped
+	 */
+	private void collectDamage(List<T> elements) {
+		Map<T, DrawnState> previousStates = drawnStates;
+		drawnStates = new IdentityHashMap<T, DrawnState>();
+		for (T element : elements) {
+			Rectangle bounds = getBounds(element);
+			boolean selected = isSelected(element);
+			int version = getVersion(element);
+			DrawnState state = previousStates.remove(element);
+			if (state == null) {
+				state = new DrawnState();
+				damage(bounds);
+			}
+			else if (!state.bounds.equals(bounds) || state.selected != selected || state.version != version) {
+				damage(state.bounds);
+				damage(bounds);
+			}
+			state.bounds = bounds;
+			state.selected = selected;
+			state.version = version;
+			drawnStates.put(element, state);
+		}
+		for (DrawnState removedState : previousStates.values()) {
+			damage(removedState.bounds);
+		}
+	}
+
+	private static class DrawnState {
+		private Rectangle bounds;
+		private boolean selected;
+		private int version;
+	}
+}
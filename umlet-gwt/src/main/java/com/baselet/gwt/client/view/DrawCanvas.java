@@ -30,28 +30,72 @@ public class DrawCanvas {
 	private double scaling = 1.0d;
 	private boolean scaleHasChangedSinceLastDraw = false;
 
+	private Selector drawnSelector; // the selector of the current draw() call
+	private boolean clearedSinceLastDraw = true;
+	private boolean infoTextDrawn = false; // the info text and the lasso are no elements, therefore they can only be removed by clearing the whole canvas
+	private boolean lassoDrawn = false;
+
+	private final DamageTracker<GridElement> damageTracker = new DamageTracker<GridElement>() {
+		@Override
+		protected Rectangle getBounds(GridElement element) {
+			return element.getRectangle();
+		}
+
+		@Override
+		protected boolean isSelected(GridElement element) {
+			return drawnSelector.isSelected(element);
+		}
+
+		@Override
+		protected int getVersion(GridElement element) {
+			return ((ComponentGwt) element.getComponent()).getVersion();
+		}
+
+		@Override
+		protected void draw(Context2dWrapper context, GridElement element, boolean selected, double scaling) {
+			((ComponentGwt) element.getComponent()).drawOn(context, selected, scaling);
+		}
+	};
+
 	public void setScaling(double scaling) {
 		this.scaling = scaling;
 		scaleHasChangedSinceLastDraw = true;
+		damageTracker.damageAll();
 	}
 
+	/**
+	 * Only the damaged region of the canvas is redrawn (see {@link DamageTracker}), unless the canvas has been cleared or contains something else than elements
+	 */
 	void draw(boolean drawEmptyInfo, List<GridElement> gridElements, Selector selector, boolean forceRedraw) {
+		boolean drawInfoText = drawEmptyInfo && gridElements.isEmpty();
+		boolean drawLasso = selector instanceof SelectorNew && ((SelectorNew) selector).isLassoActive();
+		if (forceRedraw || drawInfoText || infoTextDrawn || drawLasso || lassoDrawn || SharedConfig.getInstance().isDev_mode()) {
+			damageTracker.damageAll();
+		}
+		if (damageTracker.isDamagedCompletely() && !clearedSinceLastDraw) {
+			clearAndSetSize(getWidth(), getHeight());
+		}
+		clearedSinceLastDraw = false;
+		infoTextDrawn = drawInfoText;
+		lassoDrawn = drawLasso;
+
 		if (SharedConfig.getInstance().isDev_mode()) {
 			CanvasUtils.drawGridOn(getContext2d());
 		}
-		if (drawEmptyInfo && gridElements.isEmpty()) {
+		if (drawInfoText) {
 			drawEmptyInfoText(getScaling());
 		}
 		else {
-			// if (tryOptimizedDrawing()) return;
-			for (GridElement ge : gridElements) {
-				if (forceRedraw) {
+			if (forceRedraw) {
+				for (GridElement ge : gridElements) {
 					((ComponentGwt) ge.getComponent()).afterModelUpdate();
 				}
-				((ComponentGwt) ge.getComponent()).drawOn(getContext2d(), selector.isSelected(ge), getScaling());
 			}
+			drawnSelector = selector;
+			damageTracker.redraw(getContext2d(), gridElements, getScaling());
+			drawnSelector = null;
 		}
-		if (selector instanceof SelectorNew && ((SelectorNew) selector).isLassoActive()) {
+		if (drawLasso) {
 			((SelectorNew) selector).drawLasso(getContext2d());
 		}
 	}
@@ -86,6 +130,17 @@ public class DrawCanvas {
 		// setCoordinateSpace always clears the canvas. To avoid that see https://groups.google.com/d/msg/google-web-toolkit/dpc84mHeKkA/3EKxrlyFCEAJ
 		canvas.setCoordinateSpaceWidth(width);
 		canvas.setCoordinateSpaceHeight(height);
+		clearedSinceLastDraw = true;
+		damageTracker.damageAll();
+	}
+
+	/**
+	 * the canvas is only cleared if the size changes, otherwise the next draw() only redraws its damaged region
+	 */
+	public void setSize(int width, int height) {
+		if (width != getWidth() || height != getHeight()) {
+			clearAndSetSize(width, height);
+		}
 	}
 
 	public String toDataUrl(String type) {
@@ -116,6 +171,8 @@ public class DrawCanvas {
 									"Please revert changes or load a valid file";
 		GridElement emptyElement = ElementFactoryGwt.create(ElementId.Text, new Rectangle(elXPos, elYPos, elWidth, elHeight), invalidDiagramText, "", null);
 		((ComponentGwt) emptyElement.getComponent()).drawOn(getContext2d(), false, getScaling());
+		clearedSinceLastDraw = false;
+		damageTracker.damageAll();
 	}
 
 	public int getWidth() {
@@ -133,25 +190,4 @@ public class DrawCanvas {
 	public FocusWidget getWidget() {
 		return canvas;
 	}
-
-	// TODO would not work because canvas gets always resized and therefore cleaned -> so everything must be redrawn
-	// private boolean tryOptimizedDrawing() {
-	// List<GridElement> geToRedraw = new ArrayList<GridElement>();
-	// for (GridElement ge : gridElements) {
-	// if(((GwtComponent) ge.getComponent()).isRedrawNecessary()) {
-	// for (GridElement geRedraw : geToRedraw) {
-	// if (geRedraw.getRectangle().intersects(ge.getRectangle())) {
-	// return false;
-	// }
-	// }
-	// geToRedraw.add(ge);
-	// }
-	// }
-	//
-	// for (GridElement ge : gridElements) {
-	// elementCanvas.getContext2d().clearRect(0, 0, ge.getRectangle().getWidth(), ge.getRectangle().getHeight());
-	// ((GwtComponent) ge.getComponent()).drawOn(elementCanvas.getContext2d());
-	// }
-	// return true;
-	// }
 }
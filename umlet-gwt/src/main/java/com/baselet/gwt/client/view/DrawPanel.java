@@ -436,11 +436,9 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 				return;
 			}
 
-			canvas.clearAndSetSize(canvasWidth, canvasHeight);
-		}
-		else {
-			canvas.clearAndSetSize(canvas.getWidth(), canvas.getHeight());
+			canvas.setSize(canvasWidth, canvasHeight);
 		}
+		// the canvas is not cleared, because draw() only redraws the regions which have changed since the last draw
 		canvas.draw(true, gridElements, selector);
 	}
 
@@ -9,7 +9,6 @@ import com.baselet.element.GridElementUtils;
 import com.baselet.element.NewGridElement;
 import com.baselet.element.facet.common.GroupFacet;
 import com.baselet.element.interfaces.GridElement;
-import com.baselet.gwt.client.element.DiagramXmlParser;
 import com.baselet.gwt.client.element.ElementFactoryGwt;
 import com.baselet.gwt.client.keyboard.Shortcut;
 import com.baselet.gwt.client.view.widgets.propertiespanel.PropertiesTextArea;
@@ -123,7 +122,7 @@ public class DrawPanelDiagram extends DrawPanel {
 	/* takes the current state of the diagram and forwards it (to vscode) */
 	public void handleFileUpdate() {
 		if (!tempInvalid) {
-			fileChangeNotifier.notifyFileChange(DiagramXmlParser.diagramToXml(getDiagram()));
+			fileChangeNotifier.notifyFileChange(getDiagram());
 		}
 	}
 
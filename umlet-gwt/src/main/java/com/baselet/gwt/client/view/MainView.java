@@ -18,6 +18,7 @@ import com.baselet.gwt.client.element.DiagramXmlParser;
 import com.baselet.gwt.client.element.WebStorage;
 import com.baselet.gwt.client.logging.CustomLogger;
 import com.baselet.gwt.client.logging.CustomLoggerFactory;
+import com.baselet.gwt.client.text.TextWidthCache;
 import com.baselet.gwt.client.view.commands.SaveCommand;
 import com.baselet.gwt.client.view.panel.wrapper.AutoResizeScrollDropPanel;
 import com.baselet.gwt.client.view.panel.wrapper.FileOpenHandler;
@@ -252,6 +253,7 @@ public class MainView extends Composite implements ThemeChangeListener {
 	}
 
 	private void initFonts() {
+		addFontsLoadedListener();
 		String[] fonts = getFontSettings();
 		if (fonts != null && fonts.length > 0) {
 			for (int i = 0; i < fonts.length; i++) {
@@ -355,6 +357,26 @@ public class MainView extends Composite implements ThemeChangeListener {
 				break;
 		}
 		document.getHead().appendChild(fontFaceStyle);
+		TextWidthCache.clear(); // the widths of the former font are invalid (the new font is loaded asynchronously, see addFontsLoadedListener)
+	}
+
+	/**
+	 * the fonts of the data urls are loaded asynchronously after the style has been added, therefore the widths which were measured
+	 * with the fallback font in the meantime must be measured again and the elements must be laid out again once the fonts are loaded
+	 */
+	private native void addFontsLoadedListener() /*-{
+		var fonts = $doc.fonts;
+		if (fonts && fonts.addEventListener) {
+			var view = this;
+			fonts.addEventListener("loadingdone", $entry(function() {
+				view.@com.baselet.gwt.client.view.MainView::onFontsLoaded()();
+			}));
+		}
+	}-*/;
+
+	private void onFontsLoaded() {
+		TextWidthCache.clear();
+		updateView();
 	}
 
 	protected void updateView() {
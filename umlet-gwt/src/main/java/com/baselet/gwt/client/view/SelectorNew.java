@@ -12,6 +12,7 @@ import com.baselet.element.Selector;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.interfaces.HasGridElements;
 import com.baselet.gwt.client.element.DrawHandlerGwt;
+import com.baselet.util.LinkedIdentitySet;
 import com.google.gwt.canvas.client.Canvas;
 import com.google.gwt.dom.client.CanvasElement;
 
@@ -38,7 +39,7 @@ public class SelectorNew extends Selector {
 		this.gridElementProvider = gridElementProvider;
 	}
 
-	private List<GridElement> selectedElements = new ArrayList<GridElement>();
+	private final List<GridElement> selectedElements = new LinkedIdentitySet<GridElement>();
 
 	public GridElement getSingleSelected() {
 		if (selectedElements.size() == 1) {
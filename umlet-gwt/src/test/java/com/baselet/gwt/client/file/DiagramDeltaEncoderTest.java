@@ -0,0 +1,206 @@
+package com.baselet.gwt.client.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.element.interfaces.Diagram;
+import com.baselet.element.interfaces.GridElement;
+
+public class DiagramDeltaEncoderTest {
+
+	/**
+	 * the encoder only reads the id, bounds and attributes of the elements and the settings of the diagram, therefore they are simple proxies
+	 */
+	private static class FakeElement implements InvocationHandler {
+		private final ElementId id;
+		private Rectangle bounds;
+		private String panelAttributes;
+		private final GridElement proxy = (GridElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { GridElement.class }, this);
+
+		private FakeElement(ElementId id, int x, int y, String panelAttributes) {
+			this.id = id;
+			bounds = new Rectangle(x, y, 100, 50);
+			this.panelAttributes = panelAttributes;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			if (method.getName().equals("getId")) {
+				return id;
+			}
+			if (method.getName().equals("getRectangle")) {
+				return bounds.copy();
+			}
+			if (method.getName().equals("getPanelAttributes")) {
+				return panelAttributes;
+			}
+			if (method.getName().equals("getAdditionalAttributes")) {
+				return "";
+			}
+			throw new UnsupportedOperationException(method.getName());
+		}
+	}
+
+	private static class FakeDiagram implements InvocationHandler {
+		private final List<GridElement> elements = new ArrayList<GridElement>();
+		private int zoomLevel = 10;
+		private String helpText = "// Uncomment the following line";
+		private final Diagram proxy = (Diagram) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Diagram.class }, this);
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			if (method.getName().equals("getGridElements")) {
+				return elements;
+			}
+			if (method.getName().equals("getZoomLevel")) {
+				return zoomLevel;
+			}
+			if (method.getName().equals("getPanelAttributes")) {
+				return helpText;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		}
+	}
+
+	private final FakeDiagram diagram = new FakeDiagram();
+	private final DiagramDeltaEncoder encoder = new DiagramDeltaEncoder("umletino", "15.1");
+	private final DiagramSnapshot fileOwner = new DiagramSnapshot("umletino", "15.1");
+
+	private static String fullXml(Diagram diagram) {
+		DiagramSnapshot snapshot = new DiagramSnapshot("umletino", "15.1");
+		snapshot.apply(new DiagramDeltaEncoder("umletino", "15.1").encode(diagram));
+		return snapshot.toXml();
+	}
+
+	/**
+	 * sends the changes to the file owner and checks that the file owner has the same file as if the whole diagram had been sent
+	 */
+	private DiagramDelta send() {
+		DiagramDelta delta = encoder.encode(diagram.proxy);
+		if (delta != null) {
+			assertThat(fileOwner.apply(delta)).isTrue();
+		}
+		assertThat(fileOwner.toXml()).isEqualTo(fullXml(diagram.proxy)).isEqualTo(encoder.getSent().toXml());
+		return delta;
+	}
+
+	@Test
+	public void fileIsWrittenLikeTheFullDiagram() {
+		diagram.elements.add(new FakeElement(ElementId.UMLClass, 10, 20, "Customer\n--\n-id: long").proxy);
+		diagram.elements.add(new FakeElement(ElementId.Relation, 0, 0, "lt=<-\nm1=0..n & \"more\"").proxy);
+		assertThat(send().isFull()).isTrue();
+		assertThat(fileOwner.toXml()).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n"
+												+ "<diagram program=\"umletino\" version=\"15.1\">\n"
+												+ "  <help_text>// Uncomment the following line</help_text>\n"
+												+ "  <zoom_level>10</zoom_level>\n"
+												+ "  <element>\n"
+												+ "    <id>UMLClass</id>\n"
+												+ "    <coordinates>\n"
+												+ "      <x>10</x>\n"
+												+ "      <y>20</y>\n"
+												+ "      <w>100</w>\n"
+												+ "      <h>50</h>\n"
+												+ "    </coordinates>\n"
+												+ "    <panel_attributes>Customer\n--\n-id: long</panel_attributes>\n"
+												+ "    <additional_attributes/>\n"
+												+ "  </element>\n"
+												+ "  <element>\n"
+												+ "    <id>Relation</id>\n"
+												+ "    <coordinates>\n"
+												+ "      <x>0</x>\n"
+												+ "      <y>0</y>\n"
+												+ "      <w>100</w>\n"
+												+ "      <h>50</h>\n"
+												+ "    </coordinates>\n"
+												+ "    <panel_attributes>lt=&lt;-\nm1=0..n &amp; \"more\"</panel_attributes>\n"
+												+ "    <additional_attributes/>\n"
+												+ "  </element>\n"
+												+ "</diagram>\n");
+	}
+
+	@Test
+	public void onlyChangedElementsAreSent() {
+		List<FakeElement> elements = new ArrayList<FakeElement>();
+		for (int i = 0; i < 100; i++) {
+			FakeElement e = new FakeElement(ElementId.UMLClass, i * 10, 0, "Class" + i);
+			elements.add(e);
+			diagram.elements.add(e.proxy);
+		}
+		send();
+
+		elements.get(5).bounds.setLocation(500, 500); // drag
+		elements.get(7).panelAttributes = "Renamed"; // properties panel
+		DiagramDelta delta = send();
+		assertThat(delta.isFull()).isFalse();
+		assertThat(delta.getAdded()).isEmpty();
+		assertThat(delta.getChanged()).hasSize(2);
+		assertThat(delta.getRemoved()).isEmpty();
+
+		diagram.elements.remove(elements.get(0).proxy);
+		diagram.elements.remove(elements.get(50).proxy);
+		diagram.elements.add(new FakeElement(ElementId.UMLNote, 0, 0, "note").proxy);
+		diagram.zoomLevel = 12;
+		delta = send();
+		assertThat(delta.getAdded()).hasSize(1);
+		assertThat(delta.getChanged()).isEmpty();
+		assertThat(delta.getRemoved()).containsOnly(0, 50);
+
+		assertThat(send()).isNull(); // nothing has changed
+	}
+
+	@Test
+	public void changedOrderAndRequestsCauseFullDeltas() {
+		FakeElement a = new FakeElement(ElementId.UMLClass, 0, 0, "A");
+		FakeElement b = new FakeElement(ElementId.UMLClass, 0, 0, "B");
+		diagram.elements.add(a.proxy);
+		diagram.elements.add(b.proxy);
+		send();
+		diagram.elements.add(0, new FakeElement(ElementId.UMLNote, 0, 0, "inserted before the sent elements").proxy);
+		assertThat(send().isFull()).isTrue();
+		diagram.elements.remove(a.proxy);
+		diagram.elements.add(a.proxy);
+		assertThat(send().isFull()).isTrue();
+		encoder.requestFull();
+		assertThat(send().isFull()).isTrue();
+	}
+
+	@Test
+	public void deltaOfAnotherVersionIsRejected() {
+		diagram.elements.add(new FakeElement(ElementId.UMLClass, 0, 0, "A").proxy);
+		send();
+		diagram.zoomLevel = 8;
+		encoder.encode(diagram.proxy); // lost message
+		diagram.helpText = null;
+		DiagramDelta delta = encoder.encode(diagram.proxy);
+		assertThat(fileOwner.apply(delta)).isFalse();
+		assertThat(fileOwner.getZoomLevel()).isEqualTo(10);
+
+		encoder.requestFull(); // the file owner asks for the whole diagram
+		send();
+		assertThat(fileOwner.toXml()).doesNotContain("help_text");
+	}
+
+	@Test
+	public void jsonEscapesStrings() {
+		diagram.elements.add(new FakeElement(ElementId.UMLClass, 0, 0, "a\"b\\c\nd\te\u0001").proxy);
+		diagram.helpText = null;
+		String json = send().toJson();
+		assertThat(json).startsWith("{\"full\":true,\"baseVersion\":0,\"version\":1,\"program\":\"umletino\",\"programVersion\":\"15.1\",\"zoomLevel\":10,\"helpText\":null,\"added\":[{\"id\":0,");
+		assertThat(json).contains("\"panelAttributes\":\"a\\\"b\\\\c\\nd\\te\\u0001\",\"additionalAttributes\":\"\"}],\"changed\":[],\"removed\":[]}");
+	}
+}
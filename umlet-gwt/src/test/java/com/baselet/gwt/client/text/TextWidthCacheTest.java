@@ -0,0 +1,63 @@
+package com.baselet.gwt.client.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.enums.FormatLabels;
+import com.baselet.gwt.client.view.RecordingContext2dWrapper;
+
+public class TextWidthCacheTest {
+
+	private final RecordingContext2dWrapper ctx = new RecordingContext2dWrapper();
+
+	@Before
+	public void clearCache() {
+		TextWidthCache.clear();
+	}
+
+	private static StringStyle plain(String text) {
+		return new StringStyle(Collections.<FormatLabels> emptySet(), text);
+	}
+
+	@Test
+	public void shortStringsAreMeasuredOnce() {
+		assertThat(TextWidthCache.getWidth(ctx, 12, plain("Customer"))).isEqualTo(48);
+		assertThat(ctx.getCalls()).containsExactly("setFont(null,12.0)", "measureText(Customer)", "setFont(null,10.0)");
+		ctx.resetCalls();
+		assertThat(TextWidthCache.getWidth(ctx, 12, plain("Customer"))).isEqualTo(48);
+		assertThat(ctx.getCalls()).isEmpty(); // neither measured nor the font changed
+	}
+
+	@Test
+	public void longStringsAreSummedUpFromCharacters() {
+		String text = "-customerName: String = \"unknown\" {readOnly}";
+		assertThat(text.length()).isGreaterThan(TextWidthCache.MAX_CACHED_STRING_LENGTH);
+		assertThat(TextWidthCache.getWidth(ctx, 10, plain(text))).isEqualTo(text.length() * 5);
+		assertThat(ctx.getCalls()).contains("measureText(c)").doesNotContain("measureText(" + text + ")");
+		ctx.resetCalls();
+		assertThat(TextWidthCache.getWidth(ctx, 10, plain(text + "ö"))).isEqualTo((text.length() + 1) * 5);
+		assertThat(ctx.getCalls()).containsExactly("setFont(null,10.0)", "measureText(ö)", "setFont(null,10.0)");
+	}
+
+	@Test
+	public void everyFontIsCachedSeparately() {
+		TextWidthCache.getWidth(ctx, 12, plain("name"));
+		TextWidthCache.getWidth(ctx, 14, plain("name")); // e.g. another zoom level
+		TextWidthCache.getWidth(ctx, 12, new StringStyle(EnumSet.of(FormatLabels.BOLD), "name"));
+		TextWidthCache.getWidth(ctx, 12, new StringStyle(EnumSet.of(FormatLabels.UNDERLINE), "name")); // underline doesn't change the width
+		assertThat(ctx.getCalls()).containsExactly(
+				"setFont(null,12.0)", "measureText(name)", "setFont(null,10.0)",
+				"setFont(null,14.0)", "measureText(name)", "setFont(null,10.0)",
+				"setFont(BOLD,12.0)", "measureText(name)", "setFont(null,10.0)");
+		ctx.resetCalls();
+		TextWidthCache.clear(); // e.g. the font data has changed
+		TextWidthCache.getWidth(ctx, 12, plain("name"));
+		assertThat(ctx.getCalls()).contains("measureText(name)");
+	}
+}
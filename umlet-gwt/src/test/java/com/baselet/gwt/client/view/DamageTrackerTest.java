@@ -0,0 +1,120 @@
+package com.baselet.gwt.client.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+
+public class DamageTrackerTest {
+
+	private static class Item {
+		private Rectangle bounds;
+		private boolean selected;
+		private int version;
+
+		private Item(int x, int y, int width, int height) {
+			bounds = new Rectangle(x, y, width, height);
+		}
+	}
+
+	private final RecordingContext2dWrapper context = new RecordingContext2dWrapper();
+	private final List<Item> drawn = new ArrayList<Item>();
+	private final DamageTracker<Item> tracker = new DamageTracker<Item>() {
+		@Override
+		protected Rectangle getBounds(Item item) {
+			return item.bounds.copy();
+		}
+
+		@Override
+		protected boolean isSelected(Item item) {
+			return item.selected;
+		}
+
+		@Override
+		protected int getVersion(Item item) {
+			return item.version;
+		}
+
+		@Override
+		protected void draw(Context2dWrapper context, Item item, boolean selected, double scaling) {
+			drawn.add(item);
+		}
+	};
+
+	private final Item left = new Item(0, 0, 100, 50);
+	private final Item right = new Item(500, 0, 100, 50);
+	private final Item bottom = new Item(0, 500, 100, 50);
+	private List<Item> items;
+
+	@Before
+	public void drawAll() {
+		items = new ArrayList<Item>(Arrays.asList(left, right, bottom));
+		assertThat(redraw(1d)).isNull();
+		assertThat(drawn).containsExactly(left, right, bottom);
+		assertThat(context.getCalls()).isEmpty(); // the canvas has been cleared before, therefore the first redraw doesn't clip
+		drawn.clear();
+	}
+
+	private Rectangle redraw(double scaling) {
+		context.resetCalls();
+		return tracker.redraw(context, items, scaling);
+	}
+
+	@Test
+	public void unchangedItemsAreNotDrawnAgain() {
+		assertThat(redraw(1d)).isNull();
+		assertThat(drawn).isEmpty();
+		assertThat(context.getCalls()).isEmpty();
+	}
+
+	@Test
+	public void movedItemDamagesItsOldAndNewBounds() {
+		left.bounds.setLocation(50, 450); // now overlaps bottom
+		assertThat(redraw(1d)).isEqualTo(new Rectangle(-2, -2, 154, 504));
+		assertThat(context.getCalls()).containsExactly("save()", "beginPath()", "rect(-2.0,-2.0,154,504)", "clip()", "clearRect(-2.0,-2.0,154.0,504.0)", "restore()");
+		assertThat(drawn).containsExactly(left, bottom);
+	}
+
+	@Test
+	public void damagedRegionIsScaled() {
+		right.version++;
+		assertThat(redraw(2d)).isEqualTo(new Rectangle(498, -2, 104, 54));
+		assertThat(context.getCalls()).contains("rect(996.0,-4.0,208,108)");
+		assertThat(drawn).containsExactly(right);
+	}
+
+	@Test
+	public void selectionChangeRedrawsTheItem() {
+		bottom.selected = true;
+		redraw(1d);
+		assertThat(drawn).containsExactly(bottom);
+		drawn.clear();
+		bottom.selected = false;
+		redraw(1d);
+		assertThat(drawn).containsExactly(bottom);
+	}
+
+	@Test
+	public void removedItemIsClearedAndAddedItemIsDrawn() {
+		Item added = new Item(500, 500, 20, 20);
+		items.remove(right);
+		items.add(added);
+		assertThat(redraw(1d)).isEqualTo(new Rectangle(498, -2, 104, 524));
+		assertThat(drawn).containsExactly(added);
+	}
+
+	@Test
+	public void damageAllDrawsEverythingWithoutClipping() {
+		tracker.damageAll();
+		assertThat(redraw(1d)).isNull();
+		assertThat(drawn).containsExactly(left, right, bottom);
+		assertThat(context.getCalls()).isEmpty();
+		assertThat(tracker.isDamagedCompletely()).isFalse();
+	}
+}
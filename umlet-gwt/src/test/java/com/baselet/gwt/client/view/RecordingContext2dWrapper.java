@@ -0,0 +1,179 @@
+package com.baselet.gwt.client.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.enums.FormatLabels;
+import com.baselet.gwt.client.text.Font;
+import com.google.gwt.canvas.dom.client.Context2d;
+import com.google.gwt.canvas.dom.client.FillStrokeStyle;
+import com.google.gwt.dom.client.CanvasElement;
+
+/**
+ * Context which doesn't draw anything but records the calls which change the canvas, therefore drawing can be tested without a browser
+ */
+public class RecordingContext2dWrapper implements Context2dWrapper {
+
+	private final List<String> calls = new ArrayList<String>();
+	private Font font = new Font("sans-serif", null, 10);
+
+	public List<String> getCalls() {
+		return calls;
+	}
+
+	public void resetCalls() {
+		calls.clear();
+	}
+
+	private void record(String name, Object... args) {
+		StringBuilder sb = new StringBuilder(name).append('(');
+		for (int i = 0; i < args.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(args[i]);
+		}
+		calls.add(sb.append(')').toString());
+	}
+
+	@Override
+	public void setFillStyle(FillStrokeStyle fillStyle) {}
+
+	@Override
+	public void translate(double x, double y) {
+		record("translate", x, y);
+	}
+
+	@Override
+	public void drawImage(CanvasElement image, double dx, double dy) {
+		record("drawImage", dx, dy);
+	}
+
+	@Override
+	public void drawBase64Image(String base64Image, double dx, double dy, double dWidth, double dHeight) {
+		record("drawBase64Image", dx, dy, dWidth, dHeight);
+	}
+
+	@Override
+	public void fillRect(double x, double y, double w, double h) {
+		record("fillRect", x, y, w, h);
+	}
+
+	@Override
+	public void clearRect(double x, double y, double w, double h) {
+		record("clearRect", x, y, w, h);
+	}
+
+	@Override
+	public void setTransform(int m11, int m12, int m21, int m22, int dx, int dy) {}
+
+	@Override
+	public void scale(double x, double y) {
+		record("scale", x, y);
+	}
+
+	@Override
+	public Font getFont() {
+		return font;
+	}
+
+	@Override
+	public double measureText(String text) {
+		record("measureText", text);
+		return text.length() * font.getFontSize() / 2; // every character is half as wide as the font size
+	}
+
+	@Override
+	public void setFont(double fontSize, StringStyle stringStyle) {
+		FormatLabels fontStyle = null;
+		if (stringStyle.getFormat().contains(FormatLabels.BOLD)) {
+			fontStyle = FormatLabels.BOLD;
+		}
+		else if (stringStyle.getFormat().contains(FormatLabels.ITALIC)) {
+			fontStyle = FormatLabels.ITALIC;
+		}
+		setFont(new Font("sans-serif", fontStyle, fontSize));
+	}
+
+	@Override
+	public void setFont(Font font) {
+		record("setFont", font.getFontStyle(), font.getFontSize());
+		this.font = font;
+	}
+
+	@Override
+	public void save() {
+		record("save");
+	}
+
+	@Override
+	public void beginPath() {
+		record("beginPath");
+	}
+
+	@Override
+	public void moveTo(double x, double y) {}
+
+	@Override
+	public void arc(double x, double y, double radius, double startAngle, double endAngle, boolean anticlockwise) {}
+
+	@Override
+	public void closePath() {}
+
+	@Override
+	public void clip() {
+		record("clip");
+	}
+
+	@Override
+	public void restore() {
+		record("restore");
+	}
+
+	@Override
+	public void fill() {}
+
+	@Override
+	public void stroke() {}
+
+	@Override
+	public void arc(double x, double y, double radius, double startAngle, double endAngle) {}
+
+	@Override
+	public void setStrokeStyle(FillStrokeStyle strokeStyle) {}
+
+	@Override
+	public void setLineWidth(double lineWidth) {}
+
+	@Override
+	public void bezierCurveTo(double cp1x, double cp1y, double cp2x, double cp2y, double x, double y) {}
+
+	@Override
+	public void setTextAlign(Context2d.TextAlign ctxAlign) {}
+
+	@Override
+	public void fillText(String text, Double x, Double y) {
+		record("fillText", text, x, y);
+	}
+
+	@Override
+	public void rect(double x, double y, int width, int height) {
+		record("rect", x, y, width, height);
+	}
+
+	@Override
+	public void lineTo(double x, double y) {}
+
+	@Override
+	public void quadraticCurveTo(double cpx, double cpy, double x, double y) {}
+
+	@Override
+	public void setLineDash(double dash) {}
+
+	@Override
+	public void setLineDash(double dot, double dash) {}
+
+	@Override
+	public void setLineDash(double dot1, double dot2, double dash) {}
+}
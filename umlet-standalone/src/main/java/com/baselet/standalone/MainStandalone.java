@@ -11,6 +11,11 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.imageio.ImageIO;
 
@@ -46,6 +51,7 @@ public class MainStandalone {
 			String formatArg = null;
 			String filenameArg = null;
 			String outputArg = null;
+			String threadsArg = null;
 			for (String arg : args) {
 				if (arg.equals("-help") || arg.equals("-usage")) {
 					initAndPrintUsage();
@@ -63,6 +69,9 @@ public class MainStandalone {
 				else if (arg.startsWith("-output=")) {
 					outputArg = arg.substring(8);
 				}
+				else if (arg.startsWith("-threads=")) {
+					threadsArg = arg.substring(9);
+				}
 			}
 			// Program started by double-click on diagram file (either diagram filename is passed without prefix or with -filename=... prefix)
 			if (actionArg == null && formatArg == null && (filenameArg != null || args.length == 1)) {
@@ -75,7 +84,8 @@ public class MainStandalone {
 				}
 			}
 			else if (actionArg != null && formatArg != null && filenameArg != null) {
-				if (actionArg.equals("convert")) {
+				Integer threads = parseThreads(threadsArg);
+				if (actionArg.equals("convert") && threads != null) {
 					initAll(RuntimeType.BATCH);
 					String[] splitFilename = filenameArg.split("(/|\\\\)");
 					String localName = splitFilename[splitFilename.length - 1];
@@ -85,11 +95,8 @@ public class MainStandalone {
 					}
 					FileFilter fileFilter = new WildcardFileFilter(localName);
 					File[] files = new File(dir).listFiles(fileFilter);
-					if (files != null) {
-						for (File file : files) {
-							log.info("Converting file " + file.getAbsolutePath());
-							doConvert(file, formatArg, outputArg);
-						}
+					if (files != null && doConvert(files, formatArg, outputArg, threads) > 0) {
+						System.exit(1); // signal failed conversions to the calling script (e.g. a CI build)
 					}
 				}
 				else {
@@ -173,20 +180,102 @@ public class MainStandalone {
 		}
 	}
 
-	static void doConvert(File inputFile, String outputFormat, String outputParam) {
+	/**
+	 * Converts all inputFiles. If more than one thread is used, every file is converted by a worker thread with its own DiagramHandler (and therefore its own DrawPanel and FontHandler)
+	 * @return the number of files which could not be converted
+	 */
+	static int doConvert(File[] inputFiles, final String outputFormat, final String outputParam, int threads) {
+		final int total = inputFiles.length;
+		final AtomicInteger finished = new AtomicInteger(0);
+		final AtomicInteger failed = new AtomicInteger(0);
+		long start = System.currentTimeMillis();
+
+		threads = Math.max(1, Math.min(threads, total));
+		if (threads == 1) {
+			for (File file : inputFiles) {
+				doConvertAndReport(file, outputFormat, outputParam, total, finished, failed);
+			}
+		}
+		else {
+			ExecutorService executor = Executors.newFixedThreadPool(threads, new BatchThreadFactory());
+			for (final File file : inputFiles) {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						doConvertAndReport(file, outputFormat, outputParam, total, finished, failed);
+					}
+				});
+			}
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+				failed.addAndGet(total - finished.get()); // unfinished files count as failed
+			}
+		}
+
+		if (total > 1 || failed.get() > 0) {
+			printToConsole("Batch conversion summary: " + (total - failed.get()) + " of " + total + " files converted, " + failed.get() + " failed (" + threads + " threads, " + (System.currentTimeMillis() - start) + " ms)");
+		}
+		return failed.get();
+	}
+
+	private static void doConvertAndReport(File inputFile, String outputFormat, String outputParam, int total, AtomicInteger finished, AtomicInteger failed) {
+		log.info("Converting file " + inputFile.getAbsolutePath());
+		boolean success = doConvert(inputFile, outputFormat, outputParam);
+		if (!success) {
+			failed.incrementAndGet();
+		}
+		int done = finished.incrementAndGet();
+		if (total > 1) {
+			printToConsole("Progress: " + done + "/" + total + " files processed");
+		}
+	}
+
+	static boolean doConvert(File inputFile, String outputFormat, String outputParam) {
 		if (!inputFile.exists()) {
 			printToConsole("File '" + inputFile.getAbsolutePath() + "' not found.");
-			return;
+			return false;
 		}
-		DiagramHandler handler = new DiagramHandler(inputFile);
-
-		String outputFileName = determineOutputName(inputFile, outputFormat, outputParam);
 
 		try {
+			DiagramHandler handler = new DiagramHandler(inputFile);
+			String outputFileName = determineOutputName(inputFile, outputFormat, outputParam);
 			handler.getFileHandler().doExportAs(outputFormat, new File(outputFileName));
 			printToConsole("Conversion finished: \"" + inputFile.getAbsolutePath() + "\" to \"" + outputFileName + "\"");
+			return true;
 		} catch (Exception e) {
+			printToConsole("Conversion failed: \"" + inputFile.getAbsolutePath() + "\" (" + e.getMessage() + ")");
 			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return the number of threads to use for batch conversion (available processors if not specified) or null if the parameter is invalid
+	 */
+	private static Integer parseThreads(String threadsArg) {
+		if (threadsArg == null) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		try {
+			int threads = Integer.parseInt(threadsArg);
+			return threads > 0 ? Integer.valueOf(threads) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static class BatchThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "Batch Converter " + threadNumber.getAndIncrement());
+			t.setDaemon(true);
+			return t;
 		}
 	}
 
@@ -318,7 +407,7 @@ public class MainStandalone {
 		for (String format : ImageIO.getWriterFileSuffixes()) {
 			formatBuilder.append("|").append(format);
 		}
-		printToConsole("USAGE FOR CONVERTING: -action=convert -format=(" + formatBuilder.toString() + ") -filename=inputfile." + Program.getInstance().getExtension() + " [-output=outputfile[.extension]]");
+		printToConsole("USAGE FOR CONVERTING: -action=convert -format=(" + formatBuilder.toString() + ") -filename=inputfile." + Program.getInstance().getExtension() + " [-output=outputfile[.extension]] [-threads=number_of_parallel_conversions]");
 		printToConsole("USAGE FOR GENERATING: -action=generate -filename=inputfile.java[,*.java] -output=outputfile." + Program.getInstance().getExtension());
 	}
 
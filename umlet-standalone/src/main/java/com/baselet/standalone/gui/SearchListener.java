@@ -4,19 +4,30 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.swing.JTextField;
 
+import com.baselet.control.Main;
 import com.baselet.control.basics.Converter;
 import com.baselet.diagram.CurrentDiagram;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.Notifier;
+import com.baselet.diagram.PaletteHandler;
 import com.baselet.element.interfaces.CursorOwn;
+import com.baselet.element.interfaces.GridElement;
 import com.baselet.gui.CurrentGui;
 import com.baselet.gui.command.Search;
 
 public class SearchListener implements KeyListener, MouseMotionListener {
 
-	public SearchListener() {}
+	private final StandaloneGUIBuilder guiBuilder;
+
+	public SearchListener(StandaloneGUIBuilder guiBuilder) {
+		this.guiBuilder = guiBuilder;
+	}
 
 	@Override
 	public void keyPressed(KeyEvent arg0) {
@@ -28,8 +39,28 @@ public class SearchListener implements KeyListener, MouseMotionListener {
 		if (e.getKeyCode() == KeyEvent.VK_ENTER) {
 			JTextField search = (JTextField) e.getComponent();
 			DiagramHandler h = CurrentDiagram.getInstance().getDiagramHandler();
-			if (h != null && search != null && !"".equals(search.getText())) {
-				h.getController().executeCommand(new Search(search.getText()));
+			if (search != null && !"".equals(search.getText())) {
+				// the matches are selected in every diagram and palette; if the current diagram doesn't contain the text, the first other one with matches is shown
+				Map<DiagramHandler, List<GridElement>> matches = Search.findMatchesInAllDiagrams(h, search.getText());
+				DiagramHandler target = matches.isEmpty() || matches.containsKey(h) ? h : matches.keySet().iterator().next();
+				int matchCount = 0;
+				for (Entry<DiagramHandler, List<GridElement>> diagramMatches : matches.entrySet()) {
+					matchCount += diagramMatches.getValue().size();
+					if (diagramMatches.getKey() != h && diagramMatches.getKey() != target) {
+						Search.selectMatches(diagramMatches.getKey().getDrawPanel(), diagramMatches.getValue(), false); // no command, because the diagram is not shown
+					}
+				}
+				// the shown diagram is handled last, because selecting elements makes their diagram the current one
+				if (target != null && target == h) {
+					h.getController().executeCommand(new Search(search.getText())); // also deselects all elements if there is no match
+				}
+				else if (target != null) {
+					show(target);
+					Search.selectMatches(target.getDrawPanel(), matches.get(target), true);
+				}
+				if (!matches.isEmpty()) {
+					Notifier.getInstance().showInfo(matchCount + " matching elements in " + matches.size() + (matches.size() == 1 ? " diagram" : " diagrams"));
+				}
 			}
 			CurrentGui.getInstance().getGui().enableSearch(false);
 		}
@@ -38,6 +69,16 @@ public class SearchListener implements KeyListener, MouseMotionListener {
 		}
 	}
 
+	private void show(DiagramHandler diagram) {
+		for (Entry<String, PaletteHandler> palette : Main.getInstance().getPalettes().entrySet()) {
+			if (palette.getValue() == diagram) {
+				guiBuilder.getPaletteList().setSelectedItem(palette.getKey()); // the listener of the list shows the palette
+				return;
+			}
+		}
+		CurrentGui.getInstance().getGui().jumpTo(diagram);
+	}
+
 	@Override
 	public void keyTyped(KeyEvent arg0) {}
 
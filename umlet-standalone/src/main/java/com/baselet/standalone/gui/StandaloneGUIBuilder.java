@@ -145,7 +145,7 @@ public class StandaloneGUIBuilder extends BaseGUIBuilder {
 		searchField = new JTextField(10);
 		searchField.setMinimumSize(searchField.getPreferredSize());
 		searchField.setMaximumSize(searchField.getPreferredSize());
-		searchField.addKeyListener(new SearchListener());
+		searchField.addKeyListener(new SearchListener(this));
 	}
 
 	public JPanel createSearchPanel() {
@@ -1,6 +1,8 @@
 package com.baselet.control;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.element.interfaces.GridElement;
@@ -10,8 +12,9 @@ public class HandlerElementMap {
 	/**
 	 * Workaround to avoid storing the handler directly in the GridElement
 	 * (necessary as a first step in the direction of GridElements which do not know where they are painted)
+	 * The map is synchronized because diagrams can be loaded and exported by several threads at once (e.g. parallel batch conversion)
 	 */
-	private static HashMap<GridElement, DiagramHandler> gridElementToHandlerMapping = new HashMap<GridElement, DiagramHandler>();
+	private static Map<GridElement, DiagramHandler> gridElementToHandlerMapping = Collections.synchronizedMap(new HashMap<GridElement, DiagramHandler>());
 
 	public static DiagramHandler getHandlerForElement(GridElement element) {
 		return gridElementToHandlerMapping.get(element);
@@ -49,6 +49,12 @@ public class Config {
 	private boolean show_grid = false;
 	private boolean start_maximized = false;
 	private boolean secureXmlProcessing = true;
+	private boolean lazyElementParsing = true; // if true, elements of opened diagrams are parsed when they are first needed instead of while the file is read (and zoomed elements are laid out again when they are painted)
+	private boolean retainedElementRendering = false; // if true, elements are rendered once into an image which is reused until the element changes (see ElementRasterCache)
+	private int elementRasterCacheSizeMb = 128; // memory budget of the images of the retained element rendering
+	private int undoHistorySize = 1000; // maximum number of commands which can be undone per diagram
+	private int undoHistoryMemoryMb = 16; // if the commands of a diagram need more memory, the texts of the oldest ones are moved to a journal file (see UndoJournal)
+	private boolean interpretElementScripts = false; // if true, the javascript of advanced elements is interpreted instead of compiled to bytecode (compiles faster, but runs slower)
 	private String defaultFontFamily = Font.SANS_SERIF;
 	private Integer defaultFontsize = 14;
 	private Integer propertiesPanelFontsize = 11;
@@ -183,6 +189,54 @@ public class Config {
 		this.secureXmlProcessing = secureXmlProcessing;
 	}
 
+	public boolean isLazyElementParsing() {
+		return lazyElementParsing;
+	}
+
+	public void setLazyElementParsing(boolean lazyElementParsing) {
+		this.lazyElementParsing = lazyElementParsing;
+	}
+
+	public boolean isRetainedElementRendering() {
+		return retainedElementRendering;
+	}
+
+	public void setRetainedElementRendering(boolean retainedElementRendering) {
+		this.retainedElementRendering = retainedElementRendering;
+	}
+
+	public int getElementRasterCacheSizeMb() {
+		return elementRasterCacheSizeMb;
+	}
+
+	public void setElementRasterCacheSizeMb(int elementRasterCacheSizeMb) {
+		this.elementRasterCacheSizeMb = elementRasterCacheSizeMb;
+	}
+
+	public int getUndoHistorySize() {
+		return undoHistorySize;
+	}
+
+	public void setUndoHistorySize(int undoHistorySize) {
+		this.undoHistorySize = undoHistorySize;
+	}
+
+	public int getUndoHistoryMemoryMb() {
+		return undoHistoryMemoryMb;
+	}
+
+	public void setUndoHistoryMemoryMb(int undoHistoryMemoryMb) {
+		this.undoHistoryMemoryMb = undoHistoryMemoryMb;
+	}
+
+	public boolean isInterpretElementScripts() {
+		return interpretElementScripts;
+	}
+
+	public void setInterpretElementScripts(boolean interpretElementScripts) {
+		this.interpretElementScripts = interpretElementScripts;
+	}
+
 	public int getPrintPadding() {
 		return printPadding;
 	}
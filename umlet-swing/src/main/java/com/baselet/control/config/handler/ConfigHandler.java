@@ -45,9 +45,16 @@ public class ConfigHandler {
 	private static final String LAST_EXPORT_FORMAT = "last_export_format";
 	private static final String CHECK_FOR_UPDATES = "check_for_updates";
 	private static final String SECURE_XML_PROCESSING = "secure_xml_processing";
+	private static final String LAZY_ELEMENT_PARSING = "lazy_element_parsing";
+	private static final String RETAINED_ELEMENT_RENDERING = "retained_element_rendering";
+	private static final String ELEMENT_RASTER_CACHE_SIZE_MB = "element_raster_cache_size_mb";
+	private static final String UNDO_HISTORY_SIZE = "undo_history_size";
+	private static final String UNDO_HISTORY_MEMORY_MB = "undo_history_memory_mb";
+	private static final String INTERPRET_ELEMENT_SCRIPTS = "interpret_element_scripts";
 	private static final String OPEN_FILE_HOME = "open_file_home";
 	private static final String SAVE_FILE_HOME = "save_file_home";
 	private static final String DEV_MODE = "dev_mode";
+	private static final String TEXT_LAYOUT_CACHE_SIZE = "text_layout_cache_size";
 	private static final String LAST_USED_PALETTE = "last_used_palette";
 	private static final String MAIN_SPLIT_POSITION = "main_split_position";
 	private static final String RIGHT_SPLIT_POSITION = "right_split_position";
@@ -102,9 +109,16 @@ public class ConfigHandler {
 		cfg.setPdfExportFontBoldItalic(getStringProperty(props, PDF_EXPORT_FONT_BOLDITALIC, cfg.getPdfExportFontBoldItalic()));
 		cfg.setCheckForUpdates(getBoolProperty(props, CHECK_FOR_UPDATES, cfg.isCheckForUpdates()));
 		cfg.setSecureXmlProcessing(getBoolProperty(props, SECURE_XML_PROCESSING, cfg.isSecureXmlProcessing()));
+		cfg.setLazyElementParsing(getBoolProperty(props, LAZY_ELEMENT_PARSING, cfg.isLazyElementParsing()));
+		cfg.setRetainedElementRendering(getBoolProperty(props, RETAINED_ELEMENT_RENDERING, cfg.isRetainedElementRendering()));
+		cfg.setElementRasterCacheSizeMb(getIntProperty(props, ELEMENT_RASTER_CACHE_SIZE_MB, cfg.getElementRasterCacheSizeMb()));
+		cfg.setUndoHistorySize(getIntProperty(props, UNDO_HISTORY_SIZE, cfg.getUndoHistorySize()));
+		cfg.setUndoHistoryMemoryMb(getIntProperty(props, UNDO_HISTORY_MEMORY_MB, cfg.getUndoHistoryMemoryMb()));
+		cfg.setInterpretElementScripts(getBoolProperty(props, INTERPRET_ELEMENT_SCRIPTS, cfg.isInterpretElementScripts()));
 		cfg.setOpenFileHome(getStringProperty(props, OPEN_FILE_HOME, cfg.getOpenFileHome()));
 		cfg.setSaveFileHome(getStringProperty(props, SAVE_FILE_HOME, cfg.getSaveFileHome()));
 		SharedConfig.getInstance().setDev_mode(getBoolProperty(props, DEV_MODE, SharedConfig.getInstance().isDev_mode()));
+		SharedConfig.getInstance().setTextLayoutCacheSize(getIntProperty(props, TEXT_LAYOUT_CACHE_SIZE, SharedConfig.getInstance().getTextLayoutCacheSize()));
 		cfg.setLastUsedPalette(getStringProperty(props, LAST_USED_PALETTE, cfg.getLastUsedPalette()));
 		cfg.setMain_split_position(getIntProperty(props, MAIN_SPLIT_POSITION, cfg.getMain_split_position()));
 		cfg.setRight_split_position(getIntProperty(props, RIGHT_SPLIT_POSITION, cfg.getRight_split_position()));
@@ -182,9 +196,16 @@ public class ConfigHandler {
 			props.setProperty(LAST_EXPORT_FORMAT, cfg.getLastExportFormat());
 			props.setProperty(CHECK_FOR_UPDATES, Boolean.toString(cfg.isCheckForUpdates()));
 			props.setProperty(SECURE_XML_PROCESSING, Boolean.toString(cfg.isSecureXmlProcessing()));
+			props.setProperty(LAZY_ELEMENT_PARSING, Boolean.toString(cfg.isLazyElementParsing()));
+			props.setProperty(RETAINED_ELEMENT_RENDERING, Boolean.toString(cfg.isRetainedElementRendering()));
+			props.setProperty(ELEMENT_RASTER_CACHE_SIZE_MB, Integer.toString(cfg.getElementRasterCacheSizeMb()));
+			props.setProperty(UNDO_HISTORY_SIZE, Integer.toString(cfg.getUndoHistorySize()));
+			props.setProperty(UNDO_HISTORY_MEMORY_MB, Integer.toString(cfg.getUndoHistoryMemoryMb()));
+			props.setProperty(INTERPRET_ELEMENT_SCRIPTS, Boolean.toString(cfg.isInterpretElementScripts()));
 			props.setProperty(OPEN_FILE_HOME, cfg.getOpenFileHome());
 			props.setProperty(SAVE_FILE_HOME, cfg.getSaveFileHome());
 			props.setProperty(DEV_MODE, Boolean.toString(SharedConfig.getInstance().isDev_mode()));
+			props.setProperty(TEXT_LAYOUT_CACHE_SIZE, Integer.toString(SharedConfig.getInstance().getTextLayoutCacheSize()));
 			props.setProperty(LAST_USED_PALETTE, cfg.getLastUsedPalette());
 
 			props.setProperty(MAIN_SPLIT_POSITION, Integer.toString(gui.getMainSplitPosition()));
@@ -0,0 +1,66 @@
+package com.baselet.diagram;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.Timer;
+
+import com.baselet.control.enums.Program;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Parses the placeholders of a lazily loaded diagram (see {@link NewGridElement#deferModelUpdate()}) in the background.
+ * Parsing updates the Swing components of the elements, therefore the timer thread only schedules small batches on the event dispatch thread which can handle painting and user input in between.
+ * Every DiagramHandler has one updater which is restarted whenever new placeholders are created (e.g. on every zoom step)
+ */
+public class DeferredModelUpdater implements ActionListener {
+
+	private static final int ELEMENTS_PER_BATCH = 50;
+	private static final int DELAY_BETWEEN_BATCHES_MS = 20;
+
+	private final List<NewGridElement> elements = new ArrayList<NewGridElement>();
+	private final DrawPanel drawPanel;
+	private final Timer timer;
+	private int nextIndex = 0;
+
+	public DeferredModelUpdater(DrawPanel drawPanel) {
+		this.drawPanel = drawPanel;
+		timer = new Timer(DELAY_BETWEEN_BATCHES_MS, this);
+	}
+
+	/**
+	 * stops parsing the placeholders which have been collected before (e.g. for the former zoom level) and starts parsing the current placeholders of the DrawPanel
+	 */
+	public void restart() {
+		timer.stop();
+		elements.clear();
+		nextIndex = 0;
+		if (Program.getInstance().getRuntimeType() == RuntimeType.BATCH) {
+			return; // in batchmode the placeholders are parsed when they are exported
+		}
+		for (GridElement e : drawPanel.getGridElements()) {
+			if (e instanceof NewGridElement && ((NewGridElement) e).isModelUpdateDeferred()) {
+				elements.add((NewGridElement) e);
+			}
+		}
+		if (!elements.isEmpty()) {
+			timer.start();
+		}
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent event) {
+		int batchEnd = Math.min(nextIndex + ELEMENTS_PER_BATCH, elements.size());
+		for (; nextIndex < batchEnd; nextIndex++) {
+			elements.get(nextIndex).updateModelIfDeferred(); // elements which have been parsed in the meantime (e.g. because they were painted) are skipped
+		}
+		if (nextIndex >= elements.size()) {
+			timer.stop();
+			elements.clear();
+		}
+	}
+}
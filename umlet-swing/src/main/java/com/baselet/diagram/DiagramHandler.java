@@ -20,6 +20,7 @@ import com.baselet.control.Main;
 import com.baselet.control.SharedUtils;
 import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Point;
+import com.baselet.control.config.Config;
 import com.baselet.control.constants.Constants;
 import com.baselet.control.enums.Program;
 import com.baselet.diagram.io.DiagramFileHandler;
@@ -45,6 +46,7 @@ public class DiagramHandler {
 	private FontHandler fontHandler;
 
 	protected DrawPanel drawpanel;
+	private final DeferredModelUpdater modelUpdater; // a single updater, because its timer must be stopped if the placeholders are created again
 	private final Controller controller;
 	protected DiagramListener listener;
 	private String helptext;
@@ -71,6 +73,7 @@ public class DiagramHandler {
 		isChanged = false;
 		enabled = true;
 		drawpanel = createDrawPanel();
+		modelUpdater = new DeferredModelUpdater(drawpanel);
 		controller = new Controller(this);
 		fontHandler = new FontHandler(this);
 		fileHandler = DiagramFileHandler.createInstance(this, diagram);
@@ -79,6 +82,7 @@ public class DiagramHandler {
 		}
 		if (diagram != null) {
 			fileHandler.doOpen();
+			modelUpdater.restart();
 		}
 
 		boolean extendedPopupMenu = false;
@@ -223,6 +227,7 @@ public class DiagramHandler {
 		if (askSaveIfDirty()) {
 			ExportHandler.getInstance().diagramTabIsClosed();
 			Main.getInstance().getDiagrams().remove(this); // remove this DiagramHandler from the list of managed diagrams
+			controller.clear(); // deletes the undo journal
 			drawpanel.getSelector().deselectAll(); // deselect all elements of the drawpanel (must be done BEFORE closing the tab, because otherwise it resets this DrawHandler again as the current DrawHandler
 			CurrentGui.getInstance().getGui().close(this); // close the GUI (tab, ...) and set the next active tab as the CurrentDiagram
 
@@ -397,6 +402,10 @@ public class DiagramHandler {
 		 * Zoom entities to the new gridsize
 		 */
 
+		boolean deferModelUpdates = Config.getInstance().isLazyElementParsing();
+		if (deferModelUpdates) {
+			deferModelUpdatesOfUnselectedElements();
+		}
 		zoomEntities(oldGridSize, gridSize, getDrawPanel().getGridElements());
 
 		// AB: Zoom origin
@@ -459,6 +468,24 @@ public class DiagramHandler {
 			}
 			Notifier.getInstance().showInfo(zoomtext);
 		}
+
+		if (deferModelUpdates) {
+			modelUpdater.restart();
+		}
+	}
+
+	/**
+	 * The text of every element must be laid out again for the font size of the new zoom level, which takes most of the time of zooming a large diagram.
+	 * Therefore only the bounds are scaled immediately and the elements are laid out as soon as they are painted (or in the background);
+	 * selected elements are laid out immediately, because they are usually visible and edited next
+	 */
+	private void deferModelUpdatesOfUnselectedElements() {
+		SelectorOld selector = getDrawPanel().getSelector();
+		for (GridElement e : getDrawPanel().getGridElements()) {
+			if (e instanceof NewGridElement && !selector.isSelected(e)) {
+				((NewGridElement) e).deferModelUpdate();
+			}
+		}
 	}
 
 	private void displayError(String error) {
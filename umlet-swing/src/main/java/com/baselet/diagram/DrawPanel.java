@@ -12,7 +12,11 @@ import java.awt.print.Printable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -35,9 +39,14 @@ import com.baselet.control.enums.RuntimeType;
 import com.baselet.control.util.Utils;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.element.Relation;
+import com.baselet.element.sticking.Stickable;
+import com.baselet.element.sticking.StickableMap;
+import com.baselet.element.sticking.StickablePointIndex;
+import com.baselet.element.sticking.StickingPolygon;
 import com.baselet.gui.filedrop.FileDrop;
 import com.baselet.gui.filedrop.FileDropListener;
 import com.baselet.gui.listener.ScrollbarListener;
+import com.baselet.util.SpatialIndex;
 
 @SuppressWarnings("serial")
 public class DrawPanel extends JLayeredPane implements Printable {
@@ -49,7 +58,19 @@ public class DrawPanel extends JLayeredPane implements Printable {
 	private final SelectorOld selector;
 	private final DiagramHandler handler;
 
+	private static final int ELEMENT_INDEX_CELL_SIZE = 100;
+
 	private final List<GridElement> gridElements = new ArrayList<GridElement>();
+	// both are maintained by addElement/removeElement, the index is also updated if the bounds of an element change (see updateElementBounds)
+	private final SpatialIndex<GridElement> elementIndex = new SpatialIndex<GridElement>(ELEMENT_INDEX_CELL_SIZE);
+	private final Map<Component, GridElement> elementsByComponent = new HashMap<Component, GridElement>();
+	// contains the points of the new Relations, it is updated by updateElementBounds and updateStickablePoints
+	private final StickablePointIndex stickablePointIndex = new StickablePointIndex();
+	// elements are removed by removeElement, added (addElement) and changed (updateTextIndex) elements are only collected and indexed by getTextIndex(), because most diagrams are never searched
+	private final TextIndex<GridElement> textIndex = new TextIndex<GridElement>();
+	private final Set<GridElement> textIndexChanges = new LinkedHashSet<GridElement>();
+
+	private boolean printing = false; // the elements must not be painted from cached images while they are printed
 
 	public DrawPanel(DiagramHandler handler, boolean initStartupTextAndFiledrop) {
 		this.handler = handler;
@@ -179,7 +200,12 @@ public class DrawPanel extends JLayeredPane implements Printable {
 				g2d.setTransform(t);
 			}
 			g2d.translate(-bounds.x, -bounds.y);
-			paint(g2d);
+			printing = true;
+			try {
+				paint(g2d);
+			} finally {
+				printing = false;
+			}
 			currentManager = RepaintManager.currentManager(this);
 			currentManager.setDoubleBufferingEnabled(true);
 			return PAGE_EXISTS;
@@ -190,6 +216,31 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		return gridElements;
 	}
 
+	public boolean isPrinting() {
+		return printing;
+	}
+
+	/**
+	 * @return the index of the panel attributes of all elements, the elements which have been added or changed since the last call are indexed first
+	 */
+	public TextIndex<GridElement> getTextIndex() {
+		for (GridElement e : textIndexChanges) {
+			textIndex.put(e, e.getPanelAttributesAsList());
+		}
+		textIndexChanges.clear();
+		return textIndex;
+	}
+
+	/**
+	 * must be called if the panel attributes of an element have been changed (the elements call it themselves, see ComponentSwing.afterModelUpdate() and OldGridElement.setPanelAttributes()),
+	 * elements of other panels are ignored
+	 */
+	public void updateTextIndex(GridElement gridElement) {
+		if (elementsByComponent.get(gridElement.getComponent()) == gridElement) {
+			textIndexChanges.add(gridElement);
+		}
+	}
+
 	public List<Relation> getOldRelations() {
 		return getHelper(Relation.class);
 	}
@@ -203,6 +254,17 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		return returnList;
 	}
 
+	/**
+	 * same result as Stickables.getStickingPointsWhichAreConnectedToStickingPolygon() for the list returned by getStickables(excludeList),
+	 * but only the relation points near the stickingPolygon are checked
+	 */
+	public StickableMap getStickingPointsWhichAreConnectedToStickingPolygon(StickingPolygon stickingPolygon, Collection<GridElement> excludeList) {
+		if (!SharedConfig.getInstance().isStickingEnabled() || handler instanceof PaletteHandler) {
+			return new StickableMap();
+		}
+		return stickablePointIndex.getStickingPointsWhichAreConnectedToStickingPolygon(stickingPolygon, excludeList);
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T extends GridElement> List<T> getHelper(Class<T> filtered) {
 		List<T> gridElementsToReturn = new ArrayList<T>();
@@ -542,14 +604,77 @@ public class DrawPanel extends JLayeredPane implements Printable {
 
 	public void removeElement(GridElement gridElement) {
 		gridElements.remove(gridElement);
+		elementIndex.remove(gridElement);
+		elementsByComponent.remove(gridElement.getComponent());
+		textIndex.remove(gridElement);
+		textIndexChanges.remove(gridElement);
+		if (gridElement instanceof Stickable) {
+			stickablePointIndex.remove((Stickable) gridElement);
+		}
 		remove((Component) gridElement.getComponent());
 	}
 
 	public void addElement(GridElement gridElement) {
 		gridElements.add(gridElement);
+		elementIndex.put(gridElement, gridElement.getRectangle());
+		elementsByComponent.put((Component) gridElement.getComponent(), gridElement);
+		textIndexChanges.add(gridElement);
+		if (gridElement instanceof Stickable) {
+			stickablePointIndex.put((Stickable) gridElement);
+		}
 		add((Component) gridElement.getComponent(), gridElement.getLayer());
 	}
 
+	public void removeAllElements() {
+		gridElements.clear();
+		elementIndex.clear();
+		elementsByComponent.clear();
+		stickablePointIndex.clear();
+		textIndex.clear();
+		textIndexChanges.clear();
+		removeAll();
+	}
+
+	/**
+	 * must be called by the components of the GridElements if their bounds have changed
+	 */
+	public void updateElementBounds(GridElement gridElement) {
+		if (elementIndex.contains(gridElement)) {
+			elementIndex.put(gridElement, gridElement.getRectangle());
+		}
+		updateStickablePoints(gridElement);
+	}
+
+	/**
+	 * must be called if the stickable points of an element may have changed (e.g. after the model of a Relation has been updated)
+	 */
+	public void updateStickablePoints(GridElement gridElement) {
+		if (gridElement instanceof Stickable && stickablePointIndex.contains((Stickable) gridElement)) {
+			stickablePointIndex.put((Stickable) gridElement);
+		}
+	}
+
+	/**
+	 * @return the elements whose rectangle contains the point (in the order of getGridElements())
+	 */
+	public List<GridElement> getGridElementsAt(com.baselet.control.basics.geom.Point point) {
+		return elementIndex.getItemsAt(point);
+	}
+
+	/**
+	 * @return the elements whose rectangle intersects or touches the area (in the order of getGridElements())
+	 */
+	public List<GridElement> getGridElementsIntersecting(Rectangle area) {
+		return elementIndex.getItemsIntersecting(area);
+	}
+
+	/**
+	 * @return the k elements which are nearest to the point, ordered by their distance
+	 */
+	public List<GridElement> getNearestGridElements(com.baselet.control.basics.geom.Point point, int k) {
+		return elementIndex.getNearestItems(point, k);
+	}
+
 	public void updateElements() {
 		for (GridElement e : gridElements) {
 			e.updateModelFromText();
@@ -557,12 +682,7 @@ public class DrawPanel extends JLayeredPane implements Printable {
 	}
 
 	public GridElement getElementToComponent(Component component) {
-		for (GridElement e : gridElements) {
-			if (e.getComponent().equals(component)) {
-				return e;
-			}
-		}
-		return null;
+		return elementsByComponent.get(component);
 	}
 
 	public void scroll(int amount, boolean arg_as_horizontal) {
@@ -37,7 +37,7 @@ public class FontHandler {
 		diagramDefaultFontFamily = null;
 	}
 
-	private String getDiagramDefaultFontFamily() {
+	public String getDiagramDefaultFontFamily() {
 		String returnFontFamily;
 		if (diagramDefaultFontFamily != null) {
 			returnFontFamily = diagramDefaultFontFamily;
@@ -90,7 +90,7 @@ public class FontHandler {
 	}
 
 	public Font getFont(boolean applyZoom) {
-		return new Font(getDiagramDefaultFontFamily(), Font.PLAIN, (int) getFontSize(applyZoom));
+		return TextMetricsCache.getFont(getDiagramDefaultFontFamily(), (int) getFontSize(applyZoom));
 	}
 
 	public double getDistanceBetweenTexts() {
@@ -109,14 +109,24 @@ public class FontHandler {
 		if (stringWithFormatLabels.isEmpty()) {
 			return new DimensionDouble(0, 0);
 		}
-		return new FormattedFont(stringWithFormatLabels, getFontSize(applyZoom), getFont(applyZoom), fontrenderContext).getDimensions();
+		return getTextSize(StringStyle.analyzeFormatLabels(stringWithFormatLabels), applyZoom);
 	}
 
 	public DimensionDouble getTextSize(StringStyle singleLine, boolean applyZoom) {
 		if (singleLine.getStringWithoutMarkup().isEmpty()) {
 			return new DimensionDouble(0, 0);
 		}
-		return new FormattedFont(singleLine, getFontSize(applyZoom), getFont(applyZoom), fontrenderContext).getDimensions();
+		return TextMetricsCache.getTextSize(singleLine, getFontSize(applyZoom), getFont(applyZoom), fontrenderContext);
+	}
+
+	/**
+	 * measures the text with the given (unzoomed) fontsize without changing the fontsize of this FontHandler
+	 */
+	public DimensionDouble getTextSizeWithFontSize(StringStyle singleLine, double fontSize) {
+		if (singleLine.getStringWithoutMarkup().isEmpty()) {
+			return new DimensionDouble(0, 0);
+		}
+		return TextMetricsCache.getTextSize(singleLine, fontSize, TextMetricsCache.getFont(getDiagramDefaultFontFamily(), (int) fontSize), fontrenderContext);
 	}
 
 	public double getTextWidth(String s) {
@@ -13,9 +13,10 @@ import com.baselet.control.enums.FormatLabels;
 
 public class FormattedFont {
 
-	private static Integer underline;
-	private static Float bold;
-	private static Float italic;
+	// instance fields (not static) to allow text measurement from several threads (e.g. parallel batch conversion)
+	private Integer underline;
+	private Float bold;
+	private Float italic;
 
 	private final String string;
 	private final AttributedString atrString;
@@ -56,7 +57,7 @@ public class FormattedFont {
 		return atrString.getIterator();
 	}
 
-	private static void setFormat(StringStyle style) {
+	private void setFormat(StringStyle style) {
 		if (style.getFormat().contains(FormatLabels.UNDERLINE)) {
 			underline = TextAttribute.UNDERLINE_ON;
 		}
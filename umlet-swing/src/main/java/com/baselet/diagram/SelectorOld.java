@@ -3,19 +3,20 @@ package com.baselet.diagram;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Vector;
 
 import com.baselet.control.Main;
 import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.NewGridElement;
 import com.baselet.element.Selector;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.custom.CustomElement;
 import com.baselet.gui.CurrentGui;
+import com.baselet.util.LinkedIdentitySet;
 
 public class SelectorOld extends Selector {
 
 	private GridElement dominantEntity;
-	private final Vector<GridElement> selectedElements = new Vector<GridElement>();
+	private final LinkedIdentitySet<GridElement> selectedElements = new LinkedIdentitySet<GridElement>(); // isSelected() is called by every element on every repaint, therefore it must not depend on the number of selected elements
 	private final DrawPanel panel;
 	private boolean _selectorframeactive;
 	private final SelectorFrame _selectorframe;
@@ -28,7 +29,7 @@ public class SelectorOld extends Selector {
 
 	public GridElement getDominantEntity() {
 		if (dominantEntity == null && !selectedElements.isEmpty()) {
-			return selectedElements.firstElement();
+			return selectedElements.get(0);
 		}
 		return dominantEntity;
 	}
@@ -80,7 +81,7 @@ public class SelectorOld extends Selector {
 	public void updateSelectorInformation() {
 		GridElement elementForPropPanel = null;
 		if (!selectedElements.isEmpty()) {
-			elementForPropPanel = selectedElements.elementAt(selectedElements.size() - 1);
+			elementForPropPanel = selectedElements.get(selectedElements.size() - 1);
 		}
 		updateSelectorInformation(elementForPropPanel);
 	}
@@ -96,7 +97,7 @@ public class SelectorOld extends Selector {
 	}
 
 	public void multiSelect(Rectangle rect) {
-		for (GridElement e : panel.getGridElements()) {
+		for (GridElement e : panel.getGridElementsIntersecting(rect)) { // elements outside of the rectangle cannot be in range
 			if (e.isInRange(rect)) {
 				select(e);
 			}
@@ -125,6 +126,9 @@ public class SelectorOld extends Selector {
 	@Override
 	public void doAfterSelect(GridElement e) {
 		super.doAfterSelect(e);
+		if (e instanceof NewGridElement) {
+			((NewGridElement) e).updateModelIfDeferred(); // selected placeholders (e.g. after "select all") must be parsed before they are moved or edited
+		}
 		e.repaint(); // element must be repainted if selection state has changed (for selectioncolor)
 	}
 
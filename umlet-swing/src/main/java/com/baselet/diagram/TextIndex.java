@@ -0,0 +1,237 @@
+package com.baselet.diagram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive full-text index of the lines of items (e.g. the panel attributes of GridElements).
+ * The words (sequences of letters and digits) of all items are kept sorted: prefix queries look up the matching words, literal queries only verify the items
+ * which have a word that contains the longest word of the query, and regular expressions are matched against the lowercase texts which are stored by the index,
+ * therefore no query has to lowercase the texts again.
+ * An item is only indexed again if its lines are a different list object than the indexed ones (GridElements replace the list if their text changes).
+ * The items of a query result are ordered as they were put into the index for the first time. The index is not thread-safe
+ *
+ * @param <T> the indexed items, which are compared by equals() and hashCode()
+ */
+public class TextIndex<T> {
+
+	private final TreeMap<String, Set<T>> words = new TreeMap<String, Set<T>>();
+	private final Map<T, Entry> entries = new HashMap<T, Entry>();
+	private long nextSequence = 0;
+
+	private final Comparator<T> insertionOrder = new Comparator<T>() {
+		@Override
+		public int compare(T o1, T o2) {
+			long s1 = entries.get(o1).sequence;
+			long s2 = entries.get(o2).sequence;
+			return s1 < s2 ? -1 : s1 == s2 ? 0 : 1;
+		}
+	};
+
+	/**
+	 * adds the item or updates its text if the lines are not the indexed list
+	 */
+	public void put(T item, List<String> lines) {
+		Entry entry = entries.get(item);
+		if (entry == null) {
+			entry = new Entry(nextSequence++);
+			entries.put(item, entry);
+		}
+		else if (entry.lines == lines) {
+			return; // nothing has changed
+		}
+		else {
+			removeFromPostings(item, entry);
+		}
+		entry.setLines(lines);
+		addToPostings(item, entry);
+	}
+
+	public void remove(T item) {
+		Entry entry = entries.remove(item);
+		if (entry != null) {
+			removeFromPostings(item, entry);
+		}
+	}
+
+	public void clear() {
+		words.clear();
+		entries.clear();
+	}
+
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return all items whose text contains the query (ignoring the case)
+	 */
+	public List<T> findLiteral(String query) {
+		String lowerCaseQuery = toLowerCase(query);
+		Collection<T> candidates = entries.keySet();
+		int[] longestWord = longestWord(lowerCaseQuery);
+		if (longestWord != null) {
+			String word = lowerCaseQuery.substring(longestWord[0], longestWord[1]);
+			boolean startsWord = longestWord[0] > 0; // otherwise the query can start in the middle of a word
+			boolean endsWord = longestWord[1] < lowerCaseQuery.length();
+			if (startsWord && endsWord) {
+				Set<T> items = words.get(word);
+				candidates = items != null ? items : Collections.<T> emptySet();
+			}
+			else {
+				candidates = new HashSet<T>();
+				Map<String, Set<T>> matchingWords = startsWord ? words.subMap(word, word + Character.MAX_VALUE) : words;
+				for (Map.Entry<String, Set<T>> e : matchingWords.entrySet()) {
+					if (e.getKey().contains(word)) {
+						candidates.addAll(e.getValue());
+					}
+				}
+			}
+		}
+		List<T> result = new ArrayList<T>();
+		for (T item : candidates) {
+			if (entries.get(item).text.contains(lowerCaseQuery)) {
+				result.add(item);
+			}
+		}
+		Collections.sort(result, insertionOrder);
+		return result;
+	}
+
+	/**
+	 * @return all items which contain a word (a sequence of letters and digits) starting with the prefix (ignoring the case)
+	 */
+	public List<T> findPrefix(String prefix) {
+		String lowerCasePrefix = toLowerCase(prefix);
+		Set<T> items = new HashSet<T>();
+		for (Set<T> wordItems : words.subMap(lowerCasePrefix, lowerCasePrefix + Character.MAX_VALUE).values()) {
+			items.addAll(wordItems);
+		}
+		List<T> result = new ArrayList<T>(items);
+		Collections.sort(result, insertionOrder);
+		return result;
+	}
+
+	/**
+	 * @param pattern is matched against the lowercase text of every item, therefore it should be written in lowercase
+	 * @return all items whose text contains a match of the pattern
+	 */
+	public List<T> findPattern(Pattern pattern) {
+		List<T> result = new ArrayList<T>();
+		for (Map.Entry<T, Entry> e : entries.entrySet()) {
+			if (pattern.matcher(e.getValue().text).find()) {
+				result.add(e.getKey());
+			}
+		}
+		Collections.sort(result, insertionOrder);
+		return result;
+	}
+
+	public static String toLowerCase(String text) {
+		return text.toLowerCase(Locale.ENGLISH);
+	}
+
+	private void addToPostings(T item, Entry entry) {
+		for (String word : words(entry.text)) {
+			addPosting(words, word, item);
+		}
+	}
+
+	private void removeFromPostings(T item, Entry entry) {
+		for (String word : words(entry.text)) {
+			removePosting(words, word, item);
+		}
+	}
+
+	private static <T> void addPosting(Map<String, Set<T>> postings, String key, T item) {
+		Set<T> items = postings.get(key);
+		if (items == null) {
+			items = new HashSet<T>(4);
+			postings.put(key, items);
+		}
+		items.add(item);
+	}
+
+	private static <T> void removePosting(Map<String, Set<T>> postings, String key, T item) {
+		Set<T> items = postings.get(key);
+		if (items != null) {
+			items.remove(item);
+			if (items.isEmpty()) {
+				postings.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * @return the start and end of the longest word of the text or null if it has no word
+	 */
+	private static int[] longestWord(String text) {
+		int[] longest = null;
+		int wordStart = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (isWordChar && wordStart == -1) {
+				wordStart = i;
+			}
+			else if (!isWordChar && wordStart != -1) {
+				if (longest == null || i - wordStart > longest[1] - longest[0]) {
+					longest = new int[] { wordStart, i };
+				}
+				wordStart = -1;
+			}
+		}
+		return longest;
+	}
+
+	private static Set<String> words(String text) {
+		Set<String> result = new HashSet<String>();
+		int wordStart = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (isWordChar && wordStart == -1) {
+				wordStart = i;
+			}
+			else if (!isWordChar && wordStart != -1) {
+				result.add(text.substring(wordStart, i));
+				wordStart = -1;
+			}
+		}
+		return result;
+	}
+
+	private static class Entry {
+		private final long sequence; // defines the order of query results
+		private List<String> lines;
+		private String text;
+
+		public Entry(long sequence) {
+			this.sequence = sequence;
+		}
+
+		public void setLines(List<String> lines) {
+			this.lines = lines;
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < lines.size(); i++) {
+				if (i > 0) {
+					sb.append('\n');
+				}
+				sb.append(lines.get(i));
+			}
+			text = toLowerCase(sb.toString());
+		}
+	}
+}
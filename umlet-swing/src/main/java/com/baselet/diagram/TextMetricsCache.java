@@ -0,0 +1,123 @@
+package com.baselet.diagram;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.basics.geom.DimensionDouble;
+import com.baselet.control.enums.FormatLabels;
+import com.baselet.util.CacheStatistics;
+import com.baselet.util.ConcurrentLRUCache;
+
+/**
+ * Caches the Font instances of the FontHandlers and the measured dimensions of text runs.
+ * A FormattedFont (and therefore a TextLayout) is only created if a text run is measured for the first time with a specific font family, font size, format and FontRenderContext.
+ * The cache is shared by all diagrams and threads (e.g. parallel batch conversion), because the measured dimensions do not depend on the diagram
+ */
+public class TextMetricsCache {
+
+	private static final int FONT_CACHE_SIZE = 64;
+	private static final int DIMENSION_CACHE_SIZE = 5000;
+
+	private static final ConcurrentLRUCache<FontKey, Font> fontCache = new ConcurrentLRUCache<FontKey, Font>("fonts", FONT_CACHE_SIZE);
+	private static final ConcurrentLRUCache<DimensionKey, DimensionDouble> dimensionCache = new ConcurrentLRUCache<DimensionKey, DimensionDouble>("text dimensions", DIMENSION_CACHE_SIZE);
+
+	private TextMetricsCache() {} // private constructor to avoid instantiation
+
+	public static Font getFont(String family, int size) {
+		FontKey key = new FontKey(family, size);
+		Font font = fontCache.get(key);
+		if (font == null) {
+			font = new Font(family, Font.PLAIN, size);
+			fontCache.put(key, font);
+		}
+		return font;
+	}
+
+	/**
+	 * @return the same dimension as new FormattedFont(singleLine, fontSize, font, fontRenderContext).getDimensions()
+	 */
+	public static DimensionDouble getTextSize(StringStyle singleLine, double fontSize, Font font, FontRenderContext fontRenderContext) {
+		DimensionKey key = new DimensionKey(singleLine, fontSize, font.getFamily(), fontRenderContext);
+		DimensionDouble dimension = dimensionCache.get(key);
+		if (dimension == null) {
+			dimension = new FormattedFont(singleLine, fontSize, font, fontRenderContext).getDimensions();
+			dimensionCache.put(key, dimension);
+		}
+		return dimension;
+	}
+
+	public static CacheStatistics getStatistics() {
+		return dimensionCache.getStatistics();
+	}
+
+	private static class FontKey {
+		private final String family;
+		private final int size;
+
+		public FontKey(String family, int size) {
+			this.family = family;
+			this.size = size;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * family.hashCode() + size;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FontKey)) {
+				return false;
+			}
+			FontKey other = (FontKey) obj;
+			return size == other.size && family.equals(other.family);
+		}
+	}
+
+	private static class DimensionKey {
+		private final String text;
+		private final int formatBits; // the relevant FormatLabels as bitset (avoids copying the format set)
+		private final double fontSize;
+		private final String family;
+		private final FontRenderContext fontRenderContext;
+		private final int hashCode;
+
+		private DimensionKey(StringStyle singleLine, double fontSize, String family, FontRenderContext fontRenderContext) {
+			text = singleLine.getStringWithoutMarkup();
+			formatBits = formatBit(singleLine, FormatLabels.BOLD, 1) | formatBit(singleLine, FormatLabels.ITALIC, 2) | formatBit(singleLine, FormatLabels.UNDERLINE, 4);
+			this.fontSize = fontSize;
+			this.family = family;
+			this.fontRenderContext = fontRenderContext;
+			long sizeBits = Double.doubleToLongBits(fontSize);
+			int result = text.hashCode();
+			result = 31 * result + formatBits;
+			result = 31 * result + (int) (sizeBits ^ sizeBits >>> 32);
+			result = 31 * result + family.hashCode();
+			result = 31 * result + fontRenderContext.hashCode();
+			hashCode = result;
+		}
+
+		private static int formatBit(StringStyle singleLine, FormatLabels label, int bit) {
+			return singleLine.getFormat().contains(label) ? bit : 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DimensionKey)) {
+				return false;
+			}
+			DimensionKey other = (DimensionKey) obj;
+			return hashCode == other.hashCode && formatBits == other.formatBits && Double.doubleToLongBits(fontSize) == Double.doubleToLongBits(other.fontSize)
+					&& text.equals(other.text) && family.equals(other.family) && fontRenderContext.equals(other.fontRenderContext);
+		}
+	}
+}
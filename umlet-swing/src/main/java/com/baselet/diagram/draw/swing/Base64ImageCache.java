@@ -0,0 +1,130 @@
+package com.baselet.diagram.draw.swing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared cache of decoded base64 images (e.g. created by the Base64ImageDiagramConverter), which avoids decoding the image on every repaint.
+ * The key is the base64 string itself: its hashcode is computed only once per String instance and the DrawFunctions always pass the same instance, therefore a lookup is cheap even for large images.
+ * The images are held by SoftReferences (the garbage collector may drop them if memory gets low) and the least recently used images are evicted if the decoded images exceed MAX_CACHED_BYTES.
+ * Each entry can additionally hold one downscaled copy for the last requested screen size, because scaling a large screenshot during every repaint is slow
+ */
+public class Base64ImageCache {
+
+	private static final Logger log = LoggerFactory.getLogger(Base64ImageCache.class);
+
+	private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
+	private static final Map<String, CachedImage> cache = new LinkedHashMap<String, CachedImage>(16, 0.75f, true);
+	private static long cachedBytes = 0;
+
+	private Base64ImageCache() {} // private constructor to avoid instantiation
+
+	/**
+	 * @return an image which can be drawn with the given size (or null if the string is not a valid base64 encoded image).
+	 * A downscaled copy is returned if the image is shrunk and the graphics object is not transformed (screen painting),
+	 * otherwise the original image is returned (e.g. exports get the full resolution)
+	 */
+	public static BufferedImage getImage(String imageString, int width, int height, Graphics2D g2) {
+		CachedImage cachedImage;
+		BufferedImage original;
+		synchronized (cache) {
+			cachedImage = cache.get(imageString);
+			original = cachedImage == null ? null : cachedImage.originalReference.get();
+		}
+		if (original == null) {
+			original = decode(imageString); // decode outside of the lock to avoid blocking other threads
+			if (original == null) {
+				return null;
+			}
+			cachedImage = put(imageString, original);
+		}
+		boolean downscaled = width > 0 && height > 0 && width <= original.getWidth() && height <= original.getHeight() && (width < original.getWidth() || height < original.getHeight());
+		if (!downscaled || !g2.getTransform().isIdentity()) {
+			return original;
+		}
+		return cachedImage.getScaled(original, width, height, g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+	}
+
+	private static CachedImage put(String imageString, BufferedImage image) {
+		CachedImage cachedImage = new CachedImage(image);
+		synchronized (cache) {
+			CachedImage old = cache.put(imageString, cachedImage);
+			if (old != null) {
+				cachedBytes -= old.bytes;
+			}
+			cachedBytes += cachedImage.bytes;
+			Iterator<CachedImage> iter = cache.values().iterator();
+			while (iter.hasNext()) { // iteration starts with the least recently used image
+				CachedImage c = iter.next();
+				if (c != cachedImage && (cachedBytes > MAX_CACHED_BYTES || c.originalReference.get() == null)) {
+					iter.remove();
+					cachedBytes -= c.bytes;
+				}
+			}
+		}
+		return cachedImage;
+	}
+
+	private static BufferedImage decode(String imageString) {
+		try {
+			ByteArrayInputStream bis = new ByteArrayInputStream(Base64.getDecoder().decode(imageString));
+			BufferedImage image = ImageIO.read(bis);
+			bis.close();
+			if (image == null) {
+				log.error("The base64 string does not contain a supported image format");
+			}
+			return image;
+		} catch (IllegalArgumentException e) {
+			log.error("Cannot decode base64 image", e);
+		} catch (IOException e) {
+			log.error("Cannot read base64 image", e);
+		}
+		return null;
+	}
+
+	private static class CachedImage {
+		private final SoftReference<BufferedImage> originalReference;
+		private final long bytes; // the downscaled copy is never larger than the original, therefore the size of the original is counted twice
+		private SoftReference<BufferedImage> scaledReference = new SoftReference<BufferedImage>(null);
+		private Object scaledInterpolation;
+
+		public CachedImage(BufferedImage image) {
+			originalReference = new SoftReference<BufferedImage>(image);
+			bytes = 2L * image.getWidth() * image.getHeight() * 4;
+		}
+
+		public synchronized BufferedImage getScaled(BufferedImage original, int width, int height, Object interpolation) {
+			BufferedImage scaled = scaledReference.get();
+			if (scaled == null || scaled.getWidth() != width || scaled.getHeight() != height || !equal(interpolation, scaledInterpolation)) {
+				scaled = new BufferedImage(width, height, original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+				Graphics2D g = scaled.createGraphics();
+				if (interpolation != null) {
+					g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation); // use the same interpolation as the painting graphics to keep the appearance
+				}
+				g.drawImage(original, 0, 0, width, height, null);
+				g.dispose();
+				scaledReference = new SoftReference<BufferedImage>(scaled);
+				scaledInterpolation = interpolation;
+			}
+			return scaled;
+		}
+
+		private static boolean equal(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+}
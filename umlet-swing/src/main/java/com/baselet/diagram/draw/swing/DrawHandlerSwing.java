@@ -9,10 +9,6 @@ import java.awt.geom.Ellipse2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.ByteArrayInputStream;
-import java.lang.Exception;
-import java.util.Base64;
 
 import com.baselet.control.StringStyle;
 import com.baselet.control.basics.Converter;
@@ -78,15 +74,7 @@ public class DrawHandlerSwing extends DrawHandler {
 
 	@Override
 	public DimensionDouble textDimensionHelper(StringStyle singleLine) {
-		boolean specialFontSize = style.getFontSize() != getDefaultFontSize();
-		if (specialFontSize) {
-			handler.getFontHandler().setFontSize(style.getFontSize());
-		}
-		DimensionDouble returnVal = handler.getFontHandler().getTextSize(singleLine, false);
-		if (specialFontSize) {
-			handler.getFontHandler().resetFontSize();
-		}
-		return returnVal;
+		return handler.getFontHandler().getTextSizeWithFontSize(singleLine, style.getFontSize());
 	}
 
 	@Override
@@ -94,6 +82,11 @@ public class DrawHandlerSwing extends DrawHandler {
 		return handler.getFontHandler().getFontSize(false);
 	}
 
+	@Override
+	public String getFontContext() {
+		return handler.getFontHandler().getDiagramDefaultFontFamily();
+	}
+
 	/* DRAW METHODS */
 	@Override
 	public void drawArc(double x, double y, double width, double height, double start, double extent, boolean open) {
@@ -202,20 +195,12 @@ public class DrawHandlerSwing extends DrawHandler {
 			g2.translate(xTranslation, yTranslation);
 		}
 		if (style.getLineWidth() > 0) {
-			BufferedImage image = null;
-			byte[] imageByte;
-			try {
-				Base64.Decoder decoder = Base64.getDecoder();
-				imageByte = decoder.decode(imageString);
-				ByteArrayInputStream bis = new ByteArrayInputStream(imageByte);
-				image = ImageIO.read(bis);
-				bis.close();
-			} catch (Exception e) {
-				e.printStackTrace();
+			Rectangle bounds = s.getBounds();
+			BufferedImage image = Base64ImageCache.getImage(imageString, bounds.width, bounds.height, g2);
+			if (image == null) {
 				return;
 			}
-
-			g2.drawImage(image, s.getBounds().x, s.getBounds().y, s.getBounds().width, s.getBounds().height, null);
+			g2.drawImage(image, bounds.x, bounds.y, bounds.width, bounds.height, null);
 		}
 	}
 
@@ -1,49 +1,108 @@
 package com.baselet.diagram.draw.swing.javascriptparser;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.FunctionObject;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 
+import com.baselet.control.config.Config;
 import com.baselet.control.constants.FacetConstants;
 import com.baselet.control.enums.LineType;
 import com.baselet.diagram.draw.DrawHandler;
 import com.baselet.diagram.draw.JavascriptCodeParser;
+import com.baselet.util.ConcurrentLRUCache;
 
+/**
+ * Executes the javascript of advanced elements with Rhino.
+ * The standard objects are created once and shared (sealed) by all scripts, the compiled scripts are cached by their code
+ * and every thread reuses its own Context, therefore elements can be redrawn cheaply and exported in parallel
+ */
 public class JavascriptParserSwing extends JavascriptCodeParser {
 
 	private final static String DRAWMETHODS_PREFIX = "draw";
 
+	private static final int SCRIPT_CACHE_SIZE = 200; // number of cached scripts of all elements
+
+	private static final ContextFactory contextFactory = new ContextFactory();
+
+	private static final ThreadLocal<Context> threadContexts = new ThreadLocal<Context>();
+
+	// changing the interpreted mode only affects scripts which are compiled afterwards
+	private static final ConcurrentLRUCache<String, Script> scriptCache = new ConcurrentLRUCache<String, Script>("element scripts", SCRIPT_CACHE_SIZE);
+
 	private final DrawerScriptable drawerScriptable;
 
+	private List<FunctionObject> drawFunctions; // created on the first parse, because every DrawHandlerSwing creates a parser
+
 	public JavascriptParserSwing(DrawHandler drawer) {
 		drawerScriptable = new DrawerScriptable(drawer);
 	}
 
 	@Override
 	public void parse(String code, int width, int height) {
-		Context cx = Context.enter();
+		Context cx = enterContext();
+		try {
+			Scriptable scope = createScope(cx);
+			drawerScriptable.setScope(scope);
+			setGlobalVariables(scope, width, height);
+			getScript(cx, code).exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	/**
+	 * the Context of the thread is created once and entered for every script, it must always be exited afterwards
+	 */
+	private static Context enterContext() {
+		Context cx = contextFactory.enterContext(threadContexts.get()); // returns the already active context if the script is executed within another script
+		if (threadContexts.get() == null) {
+			threadContexts.set(cx);
+		}
+		return cx;
+	}
 
-		Scriptable scope = cx.initStandardObjects();
+	private static Script getScript(Context cx, String code) {
+		Script script = scriptCache.get(code);
+		if (script == null) {
+			cx.setOptimizationLevel(Config.getInstance().isInterpretElementScripts() ? -1 : 0);
+			script = cx.compileString(code, "JS", 1, null); // scripts with syntax errors throw an exception and are not cached
+			scriptCache.put(code, script);
+		}
+		return script;
+	}
 
-		// Create an instance of the class whose instance methods is to be made available in javascript as a global function.
-		Scriptable scriptable = drawerScriptable;
-		scriptable.setParentScope(scope);
-		drawerScriptable.setScope(scope);
+	/**
+	 * every script runs in its own scope which uses the shared standard objects as prototype, therefore global variables of a script don't affect other scripts
+	 */
+	private Scriptable createScope(Context cx) {
+		Scriptable scope = cx.newObject(SharedScope.INSTANCE);
+		scope.setPrototype(SharedScope.INSTANCE);
+		scope.setParentScope(null);
+		for (FunctionObject drawFunction : getDrawFunctions()) {
+			scope.put(drawFunction.getFunctionName(), scope, drawFunction);
+		}
+		return scope;
+	}
 
-		for (Method method : DrawerScriptable.class.getMethods()) {
-			if (method.getName().startsWith(DRAWMETHODS_PREFIX)) {
+	private List<FunctionObject> getDrawFunctions() {
+		if (drawFunctions == null) {
+			// Create an instance of the class whose instance methods is to be made available in javascript as a global function.
+			Scriptable scriptable = drawerScriptable;
+			scriptable.setParentScope(SharedScope.INSTANCE);
+			drawFunctions = new ArrayList<FunctionObject>();
+			for (Method method : SharedScope.DRAW_METHODS) {
 				// Create the FunctionObject that binds the above function name to the instance method.
-				FunctionObject scriptableInstanceMethodBoundJavascriptFunction = new CustomFunctionObject(method.getName(), method, scriptable);
-				// Make it accessible within the scriptExecutionScope.
-				scope.put(method.getName(), scope, scriptableInstanceMethodBoundJavascriptFunction);
+				drawFunctions.add(new CustomFunctionObject(method.getName(), method, scriptable));
 			}
 		}
-
-		setGlobalVariables(scope, width, height);
-
-		cx.evaluateString(scope, code, "JS", 1, null);
+		return drawFunctions;
 	}
 
 	private void setGlobalVariables(Scriptable scope, int width, int height) {
@@ -60,4 +119,31 @@ public class JavascriptParserSwing extends JavascriptCodeParser {
 		scope.put("lt", scope, LineType.SOLID.getValue());
 		scope.put("lw", scope, FacetConstants.LINE_WIDTH_DEFAULT);
 	}
+
+	/**
+	 * created on first use, so that diagrams without advanced elements don't initialize Rhino
+	 */
+	private static class SharedScope {
+		private static final ScriptableObject INSTANCE = createSharedScope();
+		private static final List<Method> DRAW_METHODS = getDrawMethods();
+
+		private static ScriptableObject createSharedScope() {
+			Context cx = contextFactory.enterContext();
+			try {
+				return cx.initStandardObjects(null, true); // sealed, therefore no script can change the standard objects of the other scripts
+			} finally {
+				Context.exit();
+			}
+		}
+
+		private static List<Method> getDrawMethods() {
+			List<Method> methods = new ArrayList<Method>();
+			for (Method method : DrawerScriptable.class.getMethods()) {
+				if (method.getName().startsWith(DRAWMETHODS_PREFIX)) {
+					methods.add(method);
+				}
+			}
+			return methods;
+		}
+	}
 }
@@ -1,17 +1,17 @@
 package com.baselet.diagram.io;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -19,21 +19,13 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileFilter;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
+import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.control.config.Config;
 import com.baselet.control.constants.Constants;
 import com.baselet.control.enums.Program;
@@ -145,119 +137,34 @@ public class DiagramFileHandler {
 		CurrentGui.getInstance().getGui().updateDiagramName(handler, handler.getName());
 	}
 
-	private void createXMLOutputDoc(Document doc, Collection<GridElement> elements, Element current) {
-		for (GridElement e : elements) {
-			appendRecursively(doc, current, e);
-		}
-	}
-
-	private void appendRecursively(Document doc, Element parentXmlElement, GridElement e) {
-		parentXmlElement.appendChild(createXmlElementForGridElement(doc, e));
+	private void writeGridElement(UxfWriter writer, GridElement e) throws IOException {
+		Rectangle r = e.getRectangle();
+		String id = e instanceof NewGridElement ? ((NewGridElement) e).getId().toString() : null; // OldGridElements are stored with their classname as type
+		String customCode = e instanceof CustomElement ? ((CustomElement) e).getCode() : null;
+		writer.writeElement(id, e.getClass().getName(), r.x, r.y, r.width, r.height, e.getPanelAttributes(), e.getAdditionalAttributes(), customCode);
 	}
 
-	private Element createXmlElementForGridElement(Document doc, GridElement e) {
-		// insert normal entity element
-		java.lang.Class<? extends GridElement> c = e.getClass();
-		String sElType = c.getName();
-		String sElPanelAttributes = e.getPanelAttributes();
-		String sElAdditionalAttributes = e.getAdditionalAttributes();
-
-		Element el = doc.createElement("element");
-
-		if (e instanceof NewGridElement) {
-			Element elType = doc.createElement("id");
-			elType.appendChild(doc.createTextNode(((NewGridElement) e).getId().toString()));
-			el.appendChild(elType);
-		}
-		else { // OldGridElement
-			Element elType = doc.createElement("type");
-			elType.appendChild(doc.createTextNode(sElType));
-			el.appendChild(elType);
-		}
-
-		Element elCoor = doc.createElement("coordinates");
-		el.appendChild(elCoor);
-
-		Element elX = doc.createElement("x");
-		elX.appendChild(doc.createTextNode("" + e.getRectangle().x));
-		elCoor.appendChild(elX);
-
-		Element elY = doc.createElement("y");
-		elY.appendChild(doc.createTextNode("" + e.getRectangle().y));
-		elCoor.appendChild(elY);
-
-		Element elW = doc.createElement("w");
-		elW.appendChild(doc.createTextNode("" + e.getRectangle().width));
-		elCoor.appendChild(elW);
-
-		Element elH = doc.createElement("h");
-		elH.appendChild(doc.createTextNode("" + e.getRectangle().height));
-		elCoor.appendChild(elH);
-
-		Element elPA = doc.createElement("panel_attributes");
-		elPA.appendChild(doc.createTextNode(sElPanelAttributes));
-		el.appendChild(elPA);
-
-		Element elAA = doc.createElement("additional_attributes");
-		elAA.appendChild(doc.createTextNode(sElAdditionalAttributes));
-		el.appendChild(elAA);
+	/**
+	 * streams the diagram in the uxf format to the writer (no intermediate DOM or String is created)
+	 */
+	protected void writeDiagram(Writer out) throws IOException {
+		UxfWriter writer = new UxfWriter(out, System.getProperty("line.separator"));
+		writer.writeDiagramStart(Program.getInstance().getProgramName().toLowerCase(), String.valueOf(Program.getInstance().getVersion()));
 
-		if (e instanceof CustomElement) {
-			Element elCO = doc.createElement("custom_code");
-			elCO.appendChild(doc.createTextNode(((CustomElement) e).getCode()));
-			el.appendChild(elCO);
+		// save helptext
+		String helptext = handler.getHelpText();
+		if (!helptext.equals(Constants.getDefaultHelptext())) {
+			writer.writeHelpText(helptext);
 		}
-		return el;
-	}
-
-	protected String createStringToBeSaved() {
-		DocumentBuilder db = null;
-		String returnString = null;
-
-		try {
-			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-			db = dbf.newDocumentBuilder();
-			Document doc = db.newDocument();
-
-			Element root = doc.createElement("diagram");
-			root.setAttribute("program", Program.getInstance().getProgramName().toLowerCase());
-			root.setAttribute("version", String.valueOf(Program.getInstance().getVersion()));
-			doc.appendChild(root);
-
-			// save helptext
-			String helptext = handler.getHelpText();
-			if (!helptext.equals(Constants.getDefaultHelptext())) {
-				Element help = doc.createElement("help_text");
-				help.appendChild(doc.createTextNode(helptext));
-				root.appendChild(help);
-			}
-
-			// save zoom
-			Element zoom = doc.createElement("zoom_level");
-			zoom.appendChild(doc.createTextNode(String.valueOf(handler.getGridSize())));
-			root.appendChild(zoom);
-
-			createXMLOutputDoc(doc, handler.getDrawPanel().getGridElements(), root);
-
-			// output the stuff...
-			DOMSource source = new DOMSource(doc);
-			StringWriter stringWriter = new StringWriter();
-			StreamResult result = new StreamResult(stringWriter);
 
-			TransformerFactory transFactory = TransformerFactory.newInstance();
-			Transformer transformer = transFactory.newTransformer();
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+		// save zoom
+		writer.writeZoomLevel(handler.getGridSize());
 
-			transformer.transform(source, result);
-
-			returnString = stringWriter.toString();
-		} catch (Exception e) {
-			log.error("Error saving XML.", e);
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			writeGridElement(writer, e);
 		}
-
-		return returnString;
-
+		writer.writeDiagramEnd();
+		out.flush();
 	}
 
 	public void doOpen() {
@@ -345,15 +252,30 @@ public class DiagramFileHandler {
 		// CustomElementSecurityManager.remThreadPrivileges(Thread.currentThread());
 	}
 
-	private void save() throws UnsupportedEncodingException, FileNotFoundException {
+	private void save() throws IOException {
 		save(file, false); // If save is called without a parameter it uses the class variable "file"
 	}
 
-	private void save(File saveToFile, boolean tempFile) throws UnsupportedEncodingException, FileNotFoundException {
-		String tmp = createStringToBeSaved();
-		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(saveToFile), "UTF-8"));
-		out.print(tmp);
-		out.close();
+	/**
+	 * the diagram is streamed into a temporary file in the same directory which replaces the target file afterwards
+	 * therefore an error during saving never leaves a partially written diagram file
+	 */
+	private void save(File saveToFile, boolean tempFile) throws IOException {
+		File target = saveToFile.getCanonicalFile(); // resolve symlinks to replace the linked file instead of the link
+		File partFile = File.createTempFile("~" + target.getName() + "_", ".part", target.getParentFile());
+		try {
+			Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(partFile), "UTF-8"));
+			try {
+				writeDiagram(out);
+			} finally {
+				out.close();
+			}
+			moveReplacing(partFile, target);
+		} finally {
+			if (partFile.exists() && !partFile.delete()) {
+				log.warn("Cannot delete temporary file " + partFile.getAbsolutePath());
+			}
+		}
 		if (!tempFile) {
 			handler.setChanged(false);
 			RecentlyUsedFilesList.getInstance().add(saveToFile.getAbsolutePath());
@@ -361,6 +283,14 @@ public class DiagramFileHandler {
 		Notifier.getInstance().showInfo(saveToFile.getAbsolutePath() + " saved");
 	}
 
+	private static void moveReplacing(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
 	private String chooseFileName(boolean ownXmlFormat, FileFilter filefilter, JFileChooser fileChooser) {
 		String fileName = null;
 
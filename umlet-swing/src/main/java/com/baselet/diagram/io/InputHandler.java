@@ -9,6 +9,7 @@ import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
 import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.Config;
 import com.baselet.control.enums.ElementId;
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.DrawPanel;
@@ -53,12 +54,15 @@ public class InputHandler extends DefaultHandler {
 
 	private String id; // Experimental elements have an id instead of an entityname
 
+	private final boolean deferModelUpdates; // if true, NewGridElements are created as placeholders which are parsed when they are needed
+
 	public InputHandler(DiagramHandler handler) {
 		this.handler = handler;
 		_p = handler.getDrawPanel();
 		ignoreElements = new ArrayList<String>();
 		ignoreElements.add("main.control.Group");
 		currentGroup = null;
+		deferModelUpdates = Config.getInstance().isLazyElementParsing();
 	}
 
 	@Override
@@ -98,7 +102,7 @@ public class InputHandler extends DefaultHandler {
 		else if (elementname.equals("element")) {
 			if (id != null) {
 				try {
-					NewGridElement e = ElementFactorySwing.create(ElementId.valueOf(id), new Rectangle(x, y, w, h), panel_attributes, additional_attributes, handler);
+					NewGridElement e = ElementFactorySwing.create(ElementId.valueOf(id), new Rectangle(x, y, w, h), panel_attributes, additional_attributes, handler, deferModelUpdates);
 					if (currentGroup != null) {
 						e.setProperty(GroupFacet.KEY, currentGroup);
 					}
@@ -10,8 +10,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -22,7 +26,6 @@ import javax.imageio.metadata.IIOInvalidTreeException;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.ImageOutputStream;
-import javax.swing.JLayeredPane;
 
 import org.apache.batik.dom.GenericDOMImplementation;
 import org.apache.batik.svggen.SVGGraphics2D;
@@ -30,6 +33,7 @@ import org.sourceforge.jlibeps.epsgraphics.EpsGraphics2D;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Element;
 
+import com.baselet.control.HandlerElementMap;
 import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Dimension;
 import com.baselet.control.basics.geom.Rectangle;
@@ -40,7 +44,9 @@ import com.baselet.control.util.Utils;
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.DrawPanel;
 import com.baselet.diagram.FontHandler;
+import com.baselet.element.ComponentSwing;
 import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
 import com.baselet.element.interfaces.GridElement;
 import com.itextpdf.awt.FontMapper;
 import com.itextpdf.awt.PdfGraphics2D;
@@ -48,6 +54,13 @@ import com.itextpdf.text.pdf.PdfWriter;
 
 public class OutputHandler {
 
+	private static final Comparator<GridElement> LAYER_COMPARATOR_ASCENDING = new Comparator<GridElement>() {
+		@Override
+		public int compare(GridElement o1, GridElement o2) {
+			return o1.getLayer().compareTo(o2.getLayer());
+		}
+	};
+
 	private OutputHandler() {} // private constructor to avoid instantiation
 
 	public static void createAndOutputToFile(String extension, File file, DiagramHandler handler) throws Exception {
@@ -75,6 +88,7 @@ public class OutputHandler {
 
 	private static void exportToOutputStream(String extension, OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
 		for (GridElement ge : entities) {
+			updateModelIfDeferred(ge);
 			ge.getDeprecatedAddons().doBeforeExport();
 		}
 		if (extension.equals("eps")) {
@@ -201,6 +215,9 @@ public class OutputHandler {
 	}
 
 	public static BufferedImage createImageForGridElements(Collection<GridElement> entities, FontHandler diagramFont, int scale) {
+		for (GridElement ge : entities) {
+			updateModelIfDeferred(ge); // must be parsed before the bounds are calculated, because autoresize can change the size
+		}
 
 		Rectangle bounds = DrawPanel.getContentBounds(Config.getInstance().getPrintPadding(), entities);
 		BufferedImage im = new BufferedImage(bounds.width == 0 ? 1 : bounds.width * scale, bounds.height == 0 ? 1 : bounds.height * scale, BufferedImage.TYPE_INT_RGB);
@@ -226,20 +243,73 @@ public class OutputHandler {
 		return ImageIO.getImageWritersBySuffix(ext).hasNext();
 	}
 
+	/**
+	 * Paints the entities in layer order directly into the given graphics object (no Swing container is involved)
+	 * NewGridElements which are laid out for the default gridsize with the diagram font replay the DrawFunctions of their DrawHandler, therefore they are neither parsed again nor cloned
+	 * All other elements (e.g. OldGridElements which parse their attributes within paint() or elements of a zoomed diagram) are painted using a clone which is laid out by an export handler
+	 */
 	public static void paintEntitiesIntoGraphics2D(Graphics2D g2d, Collection<GridElement> entities, FontHandler diagramFont) {
-		DiagramHandler handler = DiagramHandler.forExport(diagramFont); // #290: pass fontHandler from original diagramHandler to let the export use diagram specific fontsize+family
-		JLayeredPane tempPanel = new JLayeredPane();
-		for (GridElement entity : entities) {
-			GridElement clone = ElementFactorySwing.createCopy(entity, handler);
-			com.baselet.element.interfaces.Component component = clone.getComponent();
-			// Issue 138: when PDF and Swing Export draw on (0,0) a part of the drawn image is cut, therefore it's displaced by 0.5px in that case.
-			// also Issue 270: makes arrow ending placement better
-			component.translateForExport();
-			tempPanel.add((Component) component, clone.getLayer());
+		DiagramHandler exportHandler = null; // only created if at least one element must be cloned
+		g2d.setColor(Color.BLACK); // the JLayeredPane which was used before set its foreground color after the background has been filled
+		for (GridElement entity : sortByLayerInPaintOrder(entities)) {
+			updateModelIfDeferred(entity);
+			if (canBePaintedDirectly(entity, diagramFont)) {
+				Rectangle r = entity.getRectangle();
+				if (g2d.hitClip(r.x, r.y, r.width, r.height)) {
+					Graphics2D elementGraphics = createElementGraphics(g2d, r);
+					((ComponentSwing) entity.getComponent()).paintForExport(elementGraphics);
+					elementGraphics.dispose();
+				}
+			}
+			else {
+				if (exportHandler == null) {
+					exportHandler = DiagramHandler.forExport(diagramFont); // #290: pass fontHandler from original diagramHandler to let the export use diagram specific fontsize+family
+				}
+				GridElement clone = ElementFactorySwing.createCopy(entity, exportHandler);
+				com.baselet.element.interfaces.Component component = clone.getComponent();
+				// Issue 138: when PDF and Swing Export draw on (0,0) a part of the drawn image is cut, therefore it's displaced by 0.5px in that case.
+				// also Issue 270: makes arrow ending placement better
+				component.translateForExport();
+				Rectangle r = clone.getRectangle();
+				if (g2d.hitClip(r.x, r.y, r.width, r.height)) {
+					Graphics2D elementGraphics = createElementGraphics(g2d, r);
+					((Component) component).paint(elementGraphics);
+					elementGraphics.dispose();
+				}
+			}
+		}
+	}
+
+	/**
+	 * every element starts with a black foreground color, like the children of the JLayeredPane which was used before (otherwise the exported files would change)
+	 */
+	private static Graphics2D createElementGraphics(Graphics2D g2d, Rectangle r) {
+		Graphics2D elementGraphics = (Graphics2D) g2d.create(r.x, r.y, r.width, r.height);
+		elementGraphics.setColor(Color.BLACK);
+		return elementGraphics;
+	}
+
+	/**
+	 * elements are painted from the lowest to the highest layer. Within the same layer the first element must be painted last (it was on top of the JLayeredPane which was used for exports before)
+	 */
+	private static List<GridElement> sortByLayerInPaintOrder(Collection<GridElement> entities) {
+		List<GridElement> list = new ArrayList<GridElement>(entities);
+		Collections.reverse(list);
+		Collections.sort(list, LAYER_COMPARATOR_ASCENDING); // sort is stable, therefore the reversed order within a layer is kept
+		return list;
+	}
+
+	private static void updateModelIfDeferred(GridElement entity) {
+		if (entity instanceof NewGridElement) {
+			((NewGridElement) entity).updateModelIfDeferred();
+		}
+	}
+
+	private static boolean canBePaintedDirectly(GridElement entity, FontHandler diagramFont) {
+		if (!(entity instanceof NewGridElement)) {
+			return false;
 		}
-		tempPanel.validate();
-		tempPanel.setBackground(Color.WHITE);
-		tempPanel.setSize(Integer.MAX_VALUE, Integer.MAX_VALUE);
-		tempPanel.update(g2d);
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(entity);
+		return handler != null && handler.getGridSize() == Constants.DEFAULTGRIDSIZE && handler.getFontHandler() == diagramFont;
 	}
 }
@@ -1,6 +1,9 @@
 package com.baselet.element;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.swing.JComponent;
 
@@ -9,6 +12,7 @@ import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Point;
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
 import com.baselet.diagram.draw.DrawHandler;
 import com.baselet.diagram.draw.swing.DrawHandlerSwing;
 import com.baselet.element.interfaces.Component;
@@ -28,15 +32,45 @@ public class ComponentSwing extends JComponent implements Component {
 
 	@Override
 	public void paint(Graphics g) {
+		gridElement.updateModelIfDeferred(); // placeholders are parsed as soon as they become visible
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		final boolean selected = handler.getDrawPanel().getSelector().isSelected(gridElement);
+		if (ElementRasterCache.isUsable(this, g)) {
+			// the meta drawer is only painted for selected elements
+			List<Object> contentKey = Arrays.<Object> asList(drawer.getDrawablesVersion(), selected ? metaDrawer.getDrawablesVersion() : null, selected, handler.getZoomFactor());
+			boolean painted = ElementRasterCache.paint(this, (Graphics2D) g, contentKey, new ElementRasterCache.Renderer() {
+				@Override
+				public void render(Graphics2D g2) {
+					paintDirectly(g2, selected);
+				}
+			});
+			if (painted) {
+				return;
+			}
+		}
+		paintDirectly(g, selected);
+	}
+
+	/**
+	 * replays the DrawFunctions of the element (and of the meta drawer if the element is selected)
+	 */
+	private void paintDirectly(Graphics g, boolean selected) {
 		drawer.setGraphics(g);
 		metaDrawer.setGraphics(g);
-		boolean selected = HandlerElementMap.getHandlerForElement(gridElement).getDrawPanel().getSelector().isSelected(gridElement);
 		drawer.drawAll(selected);
 		if (selected) {
 			metaDrawer.drawAll();
 		}
 	}
 
+	/**
+	 * replays the already existing DrawFunctions of the element as not selected (used by exports)
+	 */
+	public void paintForExport(Graphics g) {
+		drawer.setGraphics(g);
+		drawer.drawAll(false);
+	}
+
 	@Override
 	public void translateForExport() { // translation breaks export of some elements, therefore its disabled - see issue 353
 		// drawer.setTranslate(true);
@@ -93,9 +127,30 @@ public class ComponentSwing extends JComponent implements Component {
 		this.setBounds(rect.x, rect.y, rect.width, rect.height);
 	}
 
+	/**
+	 * all location and size changes of a Component end up in this method, therefore the spatial index of the DrawPanel is updated here
+	 */
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		super.setBounds(x, y, width, height);
+		if (getParent() instanceof DrawPanel) {
+			((DrawPanel) getParent()).updateElementBounds(gridElement);
+		}
+	}
+
 	@Override
 	public void afterModelUpdate() {
 		repaint(); // necessary e.g. for NewGridElement Relation to make sure it gets redrawn correctly when a sticking element is moved around
+		if (getParent() instanceof DrawPanel) {
+			((DrawPanel) getParent()).updateStickablePoints(gridElement);
+			((DrawPanel) getParent()).updateTextIndex(gridElement); // every change of the panel attributes updates the model
+		}
+	}
+
+	@Override
+	public void removeNotify() {
+		super.removeNotify();
+		ElementRasterCache.remove(this); // the image of a removed element would otherwise stay in the cache until it is evicted
 	}
 
 	public void setHandler(DiagramHandler diagramHandler) {
@@ -13,9 +13,7 @@ import com.baselet.element.elementnew.ElementFactory;
 import com.baselet.element.interfaces.DrawHandlerInterface;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.OldGridElement;
-import com.baselet.element.relation.Relation;
 import com.baselet.element.sticking.StickableMap;
-import com.baselet.element.sticking.Stickables;
 
 public class ElementFactorySwing extends ElementFactory {
 
@@ -23,7 +21,17 @@ public class ElementFactorySwing extends ElementFactory {
 	 * uses no reflection, to avoid complications with GWT
 	 */
 	public static NewGridElement create(ElementId id, Rectangle bounds, String panelAttributes, String additionalAttributes, DiagramHandler handler) {
+		return create(id, bounds, panelAttributes, additionalAttributes, handler, false);
+	}
+
+	/**
+	 * @param deferModelUpdate if true, the element is created as a placeholder whose properties are parsed when they are needed (see {@link NewGridElement#deferModelUpdate()})
+	 */
+	public static NewGridElement create(ElementId id, Rectangle bounds, String panelAttributes, String additionalAttributes, DiagramHandler handler, boolean deferModelUpdate) {
 		final NewGridElement returnObj = createAssociatedGridElement(id);
+		if (deferModelUpdate) {
+			returnObj.deferModelUpdate();
+		}
 
 		ComponentSwing component = new ComponentSwing(returnObj);
 
@@ -46,8 +54,7 @@ public class ElementFactorySwing extends ElementFactory {
 			@Override
 			public StickableMap getStickableMap() {
 				DiagramHandler h = HandlerElementMap.getHandlerForElement(returnObj);
-				List<Relation> stickables = h.getDrawPanel().getStickables(Collections.<GridElement> emptyList());
-				return Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(returnObj.generateStickingBorder(), stickables);
+				return h.getDrawPanel().getStickingPointsWhichAreConnectedToStickingPolygon(returnObj.generateStickingBorder(), Collections.<GridElement> emptyList());
 			}
 		};
 
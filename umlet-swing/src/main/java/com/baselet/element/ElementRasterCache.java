@@ -0,0 +1,175 @@
+package com.baselet.element;
+
+import java.awt.Container;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.PrintGraphics;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.print.PrinterGraphics;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+import com.baselet.control.config.Config;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.diagram.draw.helper.theme.ThemeChangeListener;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+
+/**
+ * Retained rendering of elements (if the config option retained_element_rendering is set): the content of a component is rendered once into an image which is drawn on every following paint,
+ * therefore scrolling and dragging other elements neither replay the DrawFunctions (with antialiased shapes and text) of NewGridElements
+ * nor parse the panel attributes of memoizable OldGridElements again.
+ * An image becomes invalid if the content key of the component changes (e.g. the DrawFunctions or the panel attributes, the selection state, the zoom), if the component is resized,
+ * if the theme changes or if the painting graphics has a different scale (e.g. on a HiDPI screen). The least recently painted images are evicted if all images exceed the configured memory budget.
+ * Managed BufferedImages are used instead of VolatileImages, because Java2D caches them in video memory itself and their content is never lost
+ */
+public class ElementRasterCache {
+
+	private static final long BYTES_PER_MB = 1024L * 1024;
+	private static final int BYTES_PER_PIXEL = 4;
+	private static final int MAX_SHARE_OF_SINGLE_IMAGE = 4; // a single image may use up to a quarter of the budget, larger elements are painted directly
+
+	private static final Map<JComponent, Raster> cache = new LinkedHashMap<JComponent, Raster>(16, 0.75f, true);
+	private static long cachedBytes = 0;
+	private static int themeVersion = 0;
+
+	static {
+		ThemeFactory.addListener(new ThemeChangeListener() {
+			@Override
+			public void onThemeChange() {
+				synchronized (cache) {
+					themeVersion++; // the theme can also change its colors without being replaced, therefore a counter is used instead of the theme itself
+				}
+			}
+		});
+	}
+
+	private ElementRasterCache() {} // private constructor to avoid instantiation
+
+	/**
+	 * paints the content of a component into the given graphics object
+	 */
+	public interface Renderer {
+		void render(Graphics2D g);
+	}
+
+	/**
+	 * @return true if the retained element rendering is enabled and the component is painted onto the screen by its DrawPanel;
+	 *         printing and exports (which paint clones without parent) need vector output and must neither use nor fill the cache
+	 */
+	public static boolean isUsable(JComponent component, Graphics g) {
+		if (!Config.getInstance().isRetainedElementRendering() || g instanceof PrinterGraphics || g instanceof PrintGraphics) {
+			return false;
+		}
+		Container parent = component.getParent();
+		return parent instanceof DrawPanel && !((DrawPanel) parent).isPrinting();
+	}
+
+	/**
+	 * paints the component using its cached image, which is rendered first if it doesn't exist or is outdated
+	 *
+	 * @param contentKey is compared by equals() to the key of the cached image and must change whenever the renderer would paint something else (size, theme and scale are checked by the cache)
+	 * @return false if the component cannot be painted from an image (e.g. if the graphics is rotated or the image would exceed the budget), the caller must paint it directly
+	 */
+	public static boolean paint(JComponent component, Graphics2D g, Object contentKey, Renderer renderer) {
+		int width = component.getWidth();
+		int height = component.getHeight();
+		AffineTransform transform = g.getTransform();
+		if (width <= 0 || height <= 0 || (transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE)) != 0) {
+			return false;
+		}
+		double scaleX = transform.getScaleX();
+		double scaleY = transform.getScaleY();
+		int imageWidth = (int) Math.ceil(width * scaleX);
+		int imageHeight = (int) Math.ceil(height * scaleY);
+		long bytes = (long) imageWidth * imageHeight * BYTES_PER_PIXEL;
+		long budget = Config.getInstance().getElementRasterCacheSizeMb() * BYTES_PER_MB;
+		if (imageWidth <= 0 || imageHeight <= 0 || bytes > budget / MAX_SHARE_OF_SINGLE_IMAGE) {
+			return false;
+		}
+
+		Raster raster;
+		int currentThemeVersion;
+		synchronized (cache) {
+			currentThemeVersion = themeVersion;
+			raster = cache.get(component);
+			if (raster != null && !raster.isValid(contentKey, currentThemeVersion, imageWidth, imageHeight, scaleX, scaleY)) {
+				remove(component);
+				raster = null;
+			}
+		}
+		if (raster == null) {
+			raster = render(renderer, g, scaleX, scaleY, imageWidth, imageHeight, contentKey, currentThemeVersion);
+			synchronized (cache) {
+				put(component, raster, budget);
+			}
+		}
+		g.drawImage(raster.image, 0, 0, width, height, null);
+		return true;
+	}
+
+	/**
+	 * drops the image of the component (e.g. if it is removed from the diagram)
+	 */
+	public static void remove(JComponent component) {
+		synchronized (cache) {
+			Raster raster = cache.remove(component);
+			if (raster != null) {
+				cachedBytes -= raster.bytes;
+			}
+		}
+	}
+
+	private static Raster render(Renderer renderer, Graphics2D g, double scaleX, double scaleY, int imageWidth, int imageHeight, Object contentKey, int themeVersion) {
+		BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+		Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setRenderingHints(g.getRenderingHints()); // keep the antialiasing and text settings of the DrawPanel
+		imageGraphics.scale(scaleX, scaleY);
+		renderer.render(imageGraphics);
+		imageGraphics.dispose();
+		return new Raster(image, contentKey, themeVersion, scaleX, scaleY);
+	}
+
+	private static void put(JComponent component, Raster raster, long budget) {
+		Raster old = cache.put(component, raster);
+		if (old != null) {
+			cachedBytes -= old.bytes;
+		}
+		cachedBytes += raster.bytes;
+		Iterator<Raster> iter = cache.values().iterator();
+		while (cachedBytes > budget && iter.hasNext()) { // iteration starts with the least recently painted element
+			Raster r = iter.next();
+			if (r != raster) {
+				iter.remove();
+				cachedBytes -= r.bytes;
+			}
+		}
+	}
+
+	private static class Raster {
+		private final BufferedImage image;
+		private final long bytes;
+		private final Object contentKey;
+		private final int themeVersion;
+		private final double scaleX;
+		private final double scaleY;
+
+		public Raster(BufferedImage image, Object contentKey, int themeVersion, double scaleX, double scaleY) {
+			this.image = image;
+			this.contentKey = contentKey;
+			this.themeVersion = themeVersion;
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+			bytes = (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+		}
+
+		public boolean isValid(Object contentKey, int themeVersion, int imageWidth, int imageHeight, double scaleX, double scaleY) {
+			return this.contentKey.equals(contentKey) && this.themeVersion == themeVersion
+					&& image.getWidth() == imageWidth && image.getHeight() == imageHeight && this.scaleX == scaleX && this.scaleY == scaleY;
+		}
+	}
+}
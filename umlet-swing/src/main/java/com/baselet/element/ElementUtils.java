@@ -30,7 +30,7 @@ public class ElementUtils {
 		}
 
 		DrawPanel drawPanel = HandlerElementMap.getHandlerForElement(gridElement).getDrawPanel();
-		List<GridElement> elements = drawPanel.getGridElements();
+		List<GridElement> elements = drawPanel.getGridElementsAt(absolute); // only elements which contain the point can be selectable on it
 		Selector selector = drawPanel.getSelector();
 		for (GridElement other : elements) {
 			if (other == gridElement || other.getLayer() < gridElement.getLayer() || !other.isSelectableOn(absolute)) {
@@ -36,10 +36,13 @@ import com.baselet.control.enums.ElementId;
 import com.baselet.control.enums.LineType;
 import com.baselet.control.util.Utils;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.diagram.FontHandler;
 import com.baselet.diagram.draw.DrawHandler;
 import com.baselet.diagram.draw.helper.ColorOwn.Transparency;
 import com.baselet.diagram.draw.helper.theme.Theme;
 import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.element.ElementRasterCache;
 import com.baselet.element.ElementUtils;
 import com.baselet.element.NewGridElement;
 import com.baselet.element.UndoHistory;
@@ -161,6 +164,9 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 	@Override
 	public void setPanelAttributes(String panelAttributes) {
 		this.panelAttributes = Arrays.asList(panelAttributes.split("\n", -1)); // split with -1 to retain empty lines at the end
+		if (getParent() instanceof DrawPanel) {
+			((DrawPanel) getParent()).updateTextIndex(this);
+		}
 	}
 
 	@Override
@@ -392,12 +398,42 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 		else {
 			fgColor = fgColorBase;
 		}
+		if (isRenderingMemoizable() && !translateForExport && ElementRasterCache.isUsable(this, g2)) { // exports and printouts must not contain images of the elements
+			FontHandler fontHandler = getDiagramHandler().getFontHandler();
+			List<Object> contentKey = Arrays.<Object> asList(getPanelAttributes(), selected, getDiagramHandler().getZoomFactor(), fontHandler.getFont(), fontHandler.getFontSize());
+			boolean painted = ElementRasterCache.paint(this, g2, contentKey, new ElementRasterCache.Renderer() {
+				@Override
+				public void render(Graphics2D imageGraphics) {
+					updateModelFromText();
+					paintEntity(imageGraphics);
+				}
+			});
+			if (painted) {
+				return;
+			}
+		}
 		updateModelFromText();
 		paintEntity(g2);
 	}
 
 	public abstract void paintEntity(Graphics g);
 
+	/**
+	 * Elements which parse their panel attributes and lay out their content within every paintEntity() call can return true to let the DrawPanel reuse the painted image
+	 * (only if the config option retained_element_rendering is set)
+	 * until the panel attributes, the size, the zoom, the diagram font, the selection state or the theme change (see {@link ElementRasterCache}).
+	 * This is only allowed if paintEntity() depends on nothing else (e.g. the location of the element or other elements)
+	 */
+	protected boolean isRenderingMemoizable() {
+		return false;
+	}
+
+	@Override
+	public void removeNotify() {
+		super.removeNotify();
+		ElementRasterCache.remove(this);
+	}
+
 	@Override
 	public com.baselet.element.interfaces.Component getComponent() {
 		return this;
@@ -459,6 +495,17 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 		setBounds(Converter.convert(rect));
 	}
 
+	/**
+	 * all location and size changes of a Component end up in this method, therefore the spatial index of the DrawPanel is updated here
+	 */
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		super.setBounds(x, y, width, height);
+		if (getParent() instanceof DrawPanel) {
+			((DrawPanel) getParent()).updateElementBounds(this);
+		}
+	}
+
 	@Override
 	public Rectangle getBoundsRect() {
 		return Converter.convert(getBounds());
@@ -614,6 +661,11 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 		undoStack.add(undoInfoA.merge(undoInfoB));
 	}
 
+	@Override
+	public void discardOldestUndoDrag() {
+		undoStack.discardOldest();
+	}
+
 	@Override
 	public GridElementDeprecatedAddons getDeprecatedAddons() {
 		return GridElementDeprecatedAddons.NONE;
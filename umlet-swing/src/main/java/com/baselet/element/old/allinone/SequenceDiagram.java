@@ -865,6 +865,11 @@ public class SequenceDiagram extends OldGridElement {
 		return false;
 	}
 
+	@Override
+	protected boolean isRenderingMemoizable() {
+		return true; // the whole diagram is parsed and laid out on every paint, but it only depends on the panel attributes
+	}
+
 	@Override
 	public GridElementDeprecatedAddons getDeprecatedAddons() {
 		return new GridElementDeprecatedAddons() {
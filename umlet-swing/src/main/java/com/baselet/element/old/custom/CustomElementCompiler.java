@@ -41,7 +41,7 @@ public class CustomElementCompiler {
 	private List<CompileError> compilation_errors;
 	private boolean global_error;
 
-	public static CustomElementCompiler getInstance() {
+	public static synchronized CustomElementCompiler getInstance() {
 		if (compiler == null) {
 			compiler = new CustomElementCompiler();
 		}
@@ -182,7 +182,7 @@ public class CustomElementCompiler {
 				template_match.group(5);
 	}
 
-	public GridElement genEntity(String code, ErrorHandler errorhandler) {
+	public synchronized GridElement genEntity(String code, ErrorHandler errorhandler) { // synchronized because the compiler uses a single source file in the temp directory
 		if (!Config.getInstance().isEnable_custom_elements()) {
 			String errorMessage = "Custom Elements are disabled\nEnabled them in the Options\nOnly open them from trusted\nsources to avoid malicious code execution!";
 			if (SharedConfig.getInstance().isDev_mode()) {
@@ -1,5 +1,7 @@
 package com.baselet.gui.command;
 
+import java.util.Collection;
+
 import com.baselet.control.Main;
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.element.interfaces.GridElement;
@@ -7,23 +9,27 @@ import com.baselet.gui.CurrentGui;
 import com.baselet.gui.pane.OwnSyntaxPane;
 
 public class ChangePanelAttributes extends Command {
+
+	private static final long MERGE_TIME_WINDOW_MS = 1000; // changes which are typed without a longer pause are undone together
+
 	private GridElement _entity;
 
 	public GridElement getEntity() {
 		return _entity;
 	}
 
-	private String _newState;
-	private String _oldState;
+	private final UndoJournal.Text _newState;
+	private final UndoJournal.Text _oldState;
 	private int _oldCaret;
 	private int _newCaret;
+	private final long _time;
 
 	public String getNewState() {
-		return _newState;
+		return _newState.get();
 	}
 
 	public String getOldState() {
-		return _oldState;
+		return _oldState.get();
 	}
 
 	public int getOldCaret() {
@@ -35,17 +41,22 @@ public class ChangePanelAttributes extends Command {
 	}
 
 	public ChangePanelAttributes(GridElement e, String oldState, String newState, int oldCaret, int newCaret) {
+		this(e, oldState, newState, oldCaret, newCaret, System.currentTimeMillis());
+	}
+
+	ChangePanelAttributes(GridElement e, String oldState, String newState, int oldCaret, int newCaret, long time) {
 		_entity = e;
-		_newState = newState;
-		_oldState = oldState;
+		_newState = new UndoJournal.Text(newState);
+		_oldState = new UndoJournal.Text(oldState);
 		_newCaret = newCaret;
 		_oldCaret = oldCaret;
+		_time = time;
 	}
 
 	@Override
 	public void execute(DiagramHandler handler) {
 		super.execute(handler);
-		_entity.setPanelAttributes(_newState);
+		_entity.setPanelAttributes(getNewState());
 		_entity.repaint();
 
 		GridElement gridElement = Main.getInstance().getEditedGridElement();
@@ -63,7 +74,7 @@ public class ChangePanelAttributes extends Command {
 	public void undo(DiagramHandler handler) {
 		// AB: Do not call super.undo() which would deselect the entity
 		// super.undo(handler);
-		_entity.setPanelAttributes(_oldState);
+		_entity.setPanelAttributes(getOldState());
 		_entity.repaint();
 
 		GridElement gridElement = Main.getInstance().getEditedGridElement();
@@ -77,19 +88,36 @@ public class ChangePanelAttributes extends Command {
 		}
 	}
 
+	/**
+	 * only changes which are typed quickly one after another are merged (to allow undo of property changes)
+	 */
 	@Override
 	public boolean isMergeableTo(Command c) {
-		// method is not mergeable (to allow undo of property changes)
-		return false;
+		if (!(c instanceof ChangePanelAttributes)) {
+			return false;
+		}
+		ChangePanelAttributes previous = (ChangePanelAttributes) c;
+		return previous._entity == _entity && _time - previous._time <= MERGE_TIME_WINDOW_MS && previous.getNewState().equals(getOldState());
 	}
 
 	@Override
 	public Command mergeTo(Command c) {
 		ChangePanelAttributes tmp = (ChangePanelAttributes) c;
-		ChangePanelAttributes ret = new ChangePanelAttributes(getEntity(), tmp.getOldState(), getNewState(), tmp.getOldCaret(), getNewCaret());
+		ChangePanelAttributes ret = new ChangePanelAttributes(getEntity(), tmp.getOldState(), getNewState(), tmp.getOldCaret(), getNewCaret(), _time);
 		return ret;
 	}
 
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + _oldState.getEstimatedSize() + _newState.getEstimatedSize();
+	}
+
+	@Override
+	protected void collectTexts(Collection<UndoJournal.Text> texts) {
+		texts.add(_oldState);
+		texts.add(_newState);
+	}
+
 	@Override
 	public String toString() {
 		return "Changestate from " + getOldState() + " to " + getNewState();
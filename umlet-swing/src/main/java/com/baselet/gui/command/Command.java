@@ -1,7 +1,13 @@
 package com.baselet.gui.command;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.SelectorOld;
+import com.baselet.element.interfaces.GridElement;
 
 public abstract class Command {
 
@@ -33,4 +39,50 @@ public abstract class Command {
 	public boolean isChangingDiagram() {
 		return true;
 	}
+
+	/**
+	 * @return the estimated number of bytes which the command keeps on the heap (the Controller limits the memory of its history by this value)
+	 */
+	public long getEstimatedSize() {
+		return 64;
+	}
+
+	/**
+	 * estimates the size of elements which are only referenced by the command (e.g. removed elements)
+	 */
+	protected static long estimateSize(Collection<GridElement> elements) {
+		if (elements == null) {
+			return 0;
+		}
+		long size = 0;
+		for (GridElement e : elements) {
+			size += 1024 + 2L * e.getPanelAttributes().length() + 2L * e.getAdditionalAttributes().length();
+		}
+		return size;
+	}
+
+	/**
+	 * adds the texts of the command which can be moved to the journal (they must stay the same objects, because the journal updates their positions if it is compacted)
+	 */
+	protected void collectTexts(@SuppressWarnings("unused") Collection<UndoJournal.Text> texts) {
+
+	}
+
+	/**
+	 * moves the large data of an old command (its texts) to the journal, the command must still be undoable and redoable afterwards
+	 */
+	public void moveToJournal(UndoJournal journal) throws IOException {
+		List<UndoJournal.Text> texts = new ArrayList<UndoJournal.Text>();
+		collectTexts(texts);
+		for (UndoJournal.Text text : texts) {
+			text.moveTo(journal);
+		}
+	}
+
+	/**
+	 * called if the command is removed from the history because it is too old, afterwards it will never be undone or redone
+	 */
+	public void discard() {
+
+	}
 }
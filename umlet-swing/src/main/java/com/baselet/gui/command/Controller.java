@@ -1,18 +1,39 @@
 package com.baselet.gui.command;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.baselet.control.config.Config;
 import com.baselet.diagram.CurrentDiagram;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.gui.BaseGUI;
 import com.baselet.gui.CurrentGui;
 
+/**
+ * The undo history of a diagram. It keeps at most {@link Config#getUndoHistorySize()} commands; if their estimated size exceeds {@link Config#getUndoHistoryMemoryMb()},
+ * the texts of the oldest commands are moved to an {@link UndoJournal} and if that is not enough, the oldest commands are dropped
+ */
 public class Controller {
+
+	private static final Logger log = LoggerFactory.getLogger(Controller.class);
+
 	private Vector<Command> commands;
+	private Vector<Long> estimatedSizes; // the estimated size of every command when it was added or moved to the journal
+	private long estimatedSize; // the sum of estimatedSizes
+	private int journaledCommands; // the number of oldest commands which have been moved to the journal
+	private int removedJournaledCommands; // the number of journaled commands which have been dropped since the journal was compacted
+	private final UndoJournal journal = new UndoJournal();
 	private final DiagramHandler handler;
 	private int _cursor;
 
 	public Controller(DiagramHandler handler) {
 		commands = new Vector<Command>();
+		estimatedSizes = new Vector<Long>();
 		_cursor = -1;
 		this.handler = handler;
 	}
@@ -20,10 +41,12 @@ public class Controller {
 	public void executeCommand(Command newCommand) {
 		// Remove future commands
 		for (int i = commands.size() - 1; i > _cursor; i--) {
-			commands.removeElementAt(i);
+			removeCommand(i);
 		}
 		commands.add(newCommand);
+		addEstimatedSize(newCommand);
 		newCommand.execute(handler);
+		updateEstimatedSize(commands.size() - 1); // e.g. Paste creates its elements on the first execution
 
 		if (commands.size() >= 2) {
 			Command c_n, c_nMinus1;
@@ -31,43 +54,48 @@ public class Controller {
 			c_nMinus1 = commands.elementAt(commands.size() - 2);
 
 			if (c_n.isMergeableTo(c_nMinus1)) {
-				commands.removeElement(c_n);
-				commands.removeElement(c_nMinus1);
+				removeCommand(commands.size() - 1);
+				removeCommand(commands.size() - 1);
 				Command c = c_n.mergeTo(c_nMinus1);
 				commands.add(c);
+				addEstimatedSize(c);
 			}
 		}
 		_cursor = commands.size() - 1;
+		limitHistory();
+		compactJournalIfNecessary();
 
 		if (newCommand.isChangingDiagram()) {
 			handler.setChanged(true);
 		}
 
-		CurrentGui.getInstance().getGui().updateGrayedOutMenuItems(handler);
+		updateGrayedOutMenuItems(handler);
 	}
 
 	public void undo() {
 		if (isUndoable()) {
 			Command c = commands.elementAt(_cursor);
 			c.undo(handler);
+			updateEstimatedSize(_cursor); // e.g. texts of the diagram state are created again
 			_cursor--;
 			if (c.isChangingDiagram()) {
 				handler.setChanged(true);
 			}
 		}
-		CurrentGui.getInstance().getGui().updateGrayedOutMenuItems(CurrentDiagram.getInstance().getDiagramHandler());
+		updateGrayedOutMenuItems(CurrentDiagram.getInstance().getDiagramHandler());
 	}
 
 	public void redo() {
 		if (isRedoable()) {
 			Command c = commands.elementAt(_cursor + 1);
 			c.redo(handler);
+			updateEstimatedSize(_cursor + 1); // e.g. texts of the diagram state are created again
 			_cursor++;
 			if (c.isChangingDiagram()) {
 				handler.setChanged(true);
 			}
 		}
-		CurrentGui.getInstance().getGui().updateGrayedOutMenuItems(CurrentDiagram.getInstance().getDiagramHandler());
+		updateGrayedOutMenuItems(CurrentDiagram.getInstance().getDiagramHandler());
 	}
 
 	public boolean isEmpty() {
@@ -84,7 +112,93 @@ public class Controller {
 
 	public void clear() {
 		commands = new Vector<Command>();
+		estimatedSizes = new Vector<Long>();
+		estimatedSize = 0;
+		journaledCommands = 0;
+		removedJournaledCommands = 0;
+		journal.close();
 		_cursor = -1;
 	}
 
+	private void updateGrayedOutMenuItems(DiagramHandler diagramHandler) {
+		BaseGUI gui = CurrentGui.getInstance().getGui();
+		if (gui != null) { // e.g. in batch mode
+			gui.updateGrayedOutMenuItems(diagramHandler);
+		}
+	}
+
+	/**
+	 * must only be called if no command can be redone, therefore only the oldest commands are moved to the journal or dropped
+	 */
+	private void limitHistory() {
+		int maxCommands = Math.max(1, Config.getInstance().getUndoHistorySize());
+		long maxSize = Config.getInstance().getUndoHistoryMemoryMb() * 1024L * 1024L;
+		while (commands.size() > maxCommands) {
+			discardOldestCommand();
+		}
+		// the newest command stays on the heap, because it is probably merged with the next one
+		while (estimatedSize > maxSize && journaledCommands < commands.size() - 1) {
+			moveToJournal(journaledCommands);
+		}
+		while (estimatedSize > maxSize && commands.size() > 1) {
+			discardOldestCommand();
+		}
+	}
+
+	/**
+	 * the journal only grows while commands are added, therefore it is rewritten once more journaled commands have been dropped (evicted or truncated redo commands) than are left
+	 */
+	private void compactJournalIfNecessary() {
+		if (removedJournaledCommands <= journaledCommands) {
+			return;
+		}
+		List<UndoJournal.Text> liveTexts = new ArrayList<UndoJournal.Text>();
+		for (Command c : commands) {
+			c.collectTexts(liveTexts); // not only of the journaled commands, because a merged command can contain texts of a journaled one
+		}
+		try {
+			journal.compact(liveTexts);
+		} catch (IOException e) {
+			log.warn("Cannot compact the undo journal", e);
+		}
+		removedJournaledCommands = 0;
+	}
+
+	private void moveToJournal(int index) {
+		Command c = commands.elementAt(index);
+		try {
+			c.moveToJournal(journal);
+		} catch (IOException e) {
+			log.warn("Cannot move the command to the undo journal", e);
+		}
+		updateEstimatedSize(index);
+		journaledCommands++;
+	}
+
+	private void discardOldestCommand() {
+		commands.elementAt(0).discard();
+		removeCommand(0);
+		_cursor--;
+	}
+
+	private void addEstimatedSize(Command c) {
+		long size = c.getEstimatedSize();
+		estimatedSizes.add(size);
+		estimatedSize += size;
+	}
+
+	private void updateEstimatedSize(int index) {
+		long size = commands.elementAt(index).getEstimatedSize();
+		estimatedSize += size - estimatedSizes.set(index, size);
+	}
+
+	private void removeCommand(int index) {
+		commands.removeElementAt(index);
+		estimatedSize -= estimatedSizes.remove(index);
+		if (index < journaledCommands) {
+			journaledCommands--;
+			removedJournaledCommands++;
+		}
+	}
+
 }
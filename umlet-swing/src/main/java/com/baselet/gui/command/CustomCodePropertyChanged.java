@@ -1,5 +1,7 @@
 package com.baselet.gui.command;
 
+import java.util.Collection;
+
 import com.baselet.control.HandlerElementMap;
 import com.baselet.control.Main;
 import com.baselet.diagram.CustomPreviewHandler;
@@ -12,17 +14,17 @@ import com.baselet.gui.pane.OwnSyntaxPane;
 public class CustomCodePropertyChanged extends Command {
 	// private GridElement _entity;
 
-	private String _newState;
-	private String _oldState;
+	private final UndoJournal.Text _newState;
+	private final UndoJournal.Text _oldState;
 	private int _oldCaret;
 	private int _newCaret;
 
 	public String getNewState() {
-		return _newState;
+		return _newState.get();
 	}
 
 	public String getOldState() {
-		return _oldState;
+		return _oldState.get();
 	}
 
 	public int getOldCaret() {
@@ -34,8 +36,8 @@ public class CustomCodePropertyChanged extends Command {
 	}
 
 	public CustomCodePropertyChanged(String oldState, String newState, int oldCaret, int newCaret) {
-		_newState = newState;
-		_oldState = oldState;
+		_newState = new UndoJournal.Text(newState);
+		_oldState = new UndoJournal.Text(oldState);
 		_newCaret = newCaret;
 		_oldCaret = oldCaret;
 	}
@@ -56,7 +58,7 @@ public class CustomCodePropertyChanged extends Command {
 		}
 
 		if (gridElement != null && HandlerElementMap.getHandlerForElement(gridElement) instanceof CustomPreviewHandler) {
-			gridElement.setPanelAttributes(_newState);
+			gridElement.setPanelAttributes(getNewState());
 
 			OwnSyntaxPane pane = CurrentGui.getInstance().getGui().getPropertyPane();
 			pane.switchToElement(gridElement);
@@ -86,7 +88,7 @@ public class CustomCodePropertyChanged extends Command {
 		}
 
 		if (gridElement != null && HandlerElementMap.getHandlerForElement(gridElement) instanceof CustomPreviewHandler) {
-			gridElement.setPanelAttributes(_oldState);
+			gridElement.setPanelAttributes(getOldState());
 
 			OwnSyntaxPane pane = CurrentGui.getInstance().getGui().getPropertyPane();
 			pane.switchToElement(gridElement);
@@ -99,6 +101,17 @@ public class CustomCodePropertyChanged extends Command {
 		}
 	}
 
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + _oldState.getEstimatedSize() + _newState.getEstimatedSize();
+	}
+
+	@Override
+	protected void collectTexts(Collection<UndoJournal.Text> texts) {
+		texts.add(_oldState);
+		texts.add(_newState);
+	}
+
 	@Override
 	public String toString() {
 		return "Changestate from " + getOldState() + " to " + getNewState();
@@ -64,4 +64,9 @@ public class Cut extends Command {
 
 		handler.getDrawPanel().updatePanelAndScrollbars();
 	}
+
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + estimateSize(entities);
+	}
 }
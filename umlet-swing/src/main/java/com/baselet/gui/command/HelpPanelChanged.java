@@ -1,5 +1,6 @@
 package com.baselet.gui.command;
 
+import java.util.Collection;
 import java.util.Vector;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -9,14 +10,14 @@ import com.baselet.control.util.Utils;
 import com.baselet.diagram.DiagramHandler;
 
 public class HelpPanelChanged extends Command {
-	private final String changed_to;
-	private String changed_from;
+	private final UndoJournal.Text changed_to;
+	private UndoJournal.Text changed_from;
 
 	public HelpPanelChanged(String text) {
-		changed_to = text;
+		changed_to = new UndoJournal.Text(text);
 	}
 
-	private HelpPanelChanged(String changed_from, String changed_to) {
+	private HelpPanelChanged(UndoJournal.Text changed_from, UndoJournal.Text changed_to) {
 		this.changed_from = changed_from;
 		this.changed_to = changed_to;
 	}
@@ -54,10 +55,13 @@ public class HelpPanelChanged extends Command {
 	@Override
 	public void execute(DiagramHandler handler) {
 		super.execute(handler);
-		changed_from = handler.getHelpText();
-		handler.setHelpText(changed_to);
-		handler.getFontHandler().setDiagramDefaultFontSize(getFontsize(changed_to));
-		handler.getFontHandler().setDiagramDefaultFontFamily(getFontfamily(changed_to));
+		if (changed_from == null) { // a redo must not replace the (possibly journaled) text of the first execution
+			changed_from = new UndoJournal.Text(handler.getHelpText());
+		}
+		String text = changed_to.get();
+		handler.setHelpText(text);
+		handler.getFontHandler().setDiagramDefaultFontSize(getFontsize(text));
+		handler.getFontHandler().setDiagramDefaultFontFamily(getFontfamily(text));
 		handler.getDrawPanel().updateElements();
 		handler.getDrawPanel().repaint();
 	}
@@ -65,9 +69,10 @@ public class HelpPanelChanged extends Command {
 	@Override
 	public void undo(DiagramHandler handler) {
 		super.undo(handler);
-		handler.setHelpText(changed_from);
-		handler.getFontHandler().setDiagramDefaultFontSize(getFontsize(changed_from));
-		handler.getFontHandler().setDiagramDefaultFontFamily(getFontfamily(changed_from));
+		String text = changed_from.get();
+		handler.setHelpText(text);
+		handler.getFontHandler().setDiagramDefaultFontSize(getFontsize(text));
+		handler.getFontHandler().setDiagramDefaultFontFamily(getFontfamily(text));
 		handler.getDrawPanel().updateElements();
 		handler.getDrawPanel().repaint();
 	}
@@ -86,4 +91,17 @@ public class HelpPanelChanged extends Command {
 		HelpPanelChanged ret = new HelpPanelChanged(tmp.changed_from, changed_to);
 		return ret;
 	}
+
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + changed_to.getEstimatedSize() + (changed_from == null ? 0 : changed_from.getEstimatedSize());
+	}
+
+	@Override
+	protected void collectTexts(Collection<UndoJournal.Text> texts) {
+		texts.add(changed_to);
+		if (changed_from != null) {
+			texts.add(changed_from);
+		}
+	}
 }
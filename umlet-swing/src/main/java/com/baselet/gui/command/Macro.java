@@ -1,5 +1,6 @@
 package com.baselet.gui.command;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Vector;
 
@@ -75,6 +76,29 @@ public class Macro extends Command {
 		return ret;
 	}
 
+	@Override
+	public long getEstimatedSize() {
+		long size = super.getEstimatedSize();
+		for (Command c : _commands) {
+			size += c.getEstimatedSize();
+		}
+		return size;
+	}
+
+	@Override
+	protected void collectTexts(Collection<UndoJournal.Text> texts) {
+		for (Command c : _commands) {
+			c.collectTexts(texts);
+		}
+	}
+
+	@Override
+	public void discard() {
+		for (Command c : _commands) {
+			c.discard();
+		}
+	}
+
 	@Override
 	public boolean isChangingDiagram() {
 		for (Command c : _commands) {
@@ -142,6 +142,16 @@ public class Move extends Command {
 		return entity == m.entity && useSetLocation == m.useSetLocation && stickablesEquals && shiftEquals && notBothFirstDrag;
 	}
 
+	@Override
+	public long getEstimatedSize() {
+		return 256; // including the UndoInformation of the element
+	}
+
+	@Override
+	public void discard() {
+		entity.discardOldestUndoDrag(); // the UndoInformation of this move is the oldest one of the element
+	}
+
 	@Override
 	public Command mergeTo(Command c) {
 		Move m = (Move) c;
@@ -96,4 +96,9 @@ public class Paste extends Command {
 
 		handler.getDrawPanel().updatePanelAndScrollbars();
 	}
+
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + estimateSize(entities);
+	}
 }
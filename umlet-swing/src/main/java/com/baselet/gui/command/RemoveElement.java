@@ -80,4 +80,9 @@ public class RemoveElement extends Command {
 		handler.getDrawPanel().updatePanelAndScrollbars();
 		handler.getDrawPanel().repaint();
 	}
+
+	@Override
+	public long getEstimatedSize() {
+		return super.getEstimatedSize() + estimateSize(_entities);
+	}
 }
@@ -2,44 +2,52 @@ package com.baselet.gui.command;
 
 import java.awt.Color;
 import java.awt.Point;
-import java.util.Locale;
-import java.util.regex.Matcher;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import com.baselet.control.Main;
 import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.DrawPanel;
 import com.baselet.diagram.SelectorOld;
+import com.baselet.diagram.TextIndex;
 import com.baselet.element.interfaces.GridElement;
 
 public class Search extends Command {
 
 	static Color _failed = new Color(227, 127, 127);
 	static Color _success = new Color(148, 172, 251);
-	private String regex;
-	private Pattern pattern;
+	private static final String REGEX_SPECIAL_CHARS = "\\^$.|?*+()[]{}";
+	private static final String PREFIX_WILDCARD = "*";
 
-	public Search(String regex) {
-		this.regex = ".*(" + regex.toLowerCase(Locale.ENGLISH) + ").*";
+	private final String query;
+
+	public Search(String query) {
+		this.query = query;
 	}
 
 	@Override
 	public void execute(DiagramHandler handler) {
 		super.execute(handler);
-		SelectorOld s = handler.getDrawPanel().getSelector();
-		s.deselectAll();
 		DrawPanel d = handler.getDrawPanel();
-		pattern = Pattern.compile(regex);
-		Matcher m;
-		for (GridElement e : d.getGridElements()) {
-			m = pattern.matcher(e.getPanelAttributes().toLowerCase(Locale.ENGLISH));
-			if (m.find()) {
-				s.select(e);
-			}
-		}
+		selectMatches(d, findElements(d, query), true);
+	}
 
-		if (s.getSelectedElements().size() == 0) {
+	/**
+	 * selects only the matches (e.g. the result of {@link #findMatchesInAllDiagrams(DiagramHandler, String)}) and scrolls to them if the panel is shown
+	 */
+	public static void selectMatches(DrawPanel d, List<GridElement> matches, boolean scrollToMatches) {
+		SelectorOld s = d.getSelector();
+		s.deselectAll();
+		if (matches.isEmpty()) {
+			return;
+		}
+		s.select(matches);
+		if (!scrollToMatches) {
 			return;
 		}
 
@@ -60,6 +68,63 @@ public class Search extends Command {
 		}
 	}
 
+	/**
+	 * Queries without special characters are matched literally, a word followed by "*" matches every element with a word that starts with it
+	 * and every other query is a regular expression (or a literal if it is no valid expression). The case is always ignored
+	 */
+	public static List<GridElement> findElements(DrawPanel panel, String query) {
+		TextIndex<GridElement> index = panel.getTextIndex();
+		if (isLiteral(query)) {
+			return index.findLiteral(query);
+		}
+		String prefix = query.substring(0, query.length() - PREFIX_WILDCARD.length());
+		if (query.endsWith(PREFIX_WILDCARD) && !prefix.isEmpty() && isLiteral(prefix)) {
+			return index.findPrefix(prefix);
+		}
+		try {
+			return index.findPattern(Pattern.compile(TextIndex.toLowerCase(query)));
+		} catch (PatternSyntaxException e) {
+			return index.findLiteral(query);
+		}
+	}
+
+	/**
+	 * @return the matching elements of every diagram and palette which contains matches (the current diagram is the first one)
+	 */
+	public static Map<DiagramHandler, List<GridElement>> findMatchesInAllDiagrams(DiagramHandler current, String query) {
+		Map<DiagramHandler, List<GridElement>> matches = new LinkedHashMap<DiagramHandler, List<GridElement>>();
+		if (current != null) {
+			addMatches(matches, current, query);
+		}
+		for (DiagramHandler diagram : Main.getInstance().getDiagramsAndPalettes()) {
+			if (diagram != current) {
+				addMatches(matches, diagram, query);
+			}
+		}
+		return matches;
+	}
+
+	private static void addMatches(Map<DiagramHandler, List<GridElement>> matches, DiagramHandler diagram, String query) {
+		List<GridElement> elements = findElements(diagram.getDrawPanel(), query);
+		if (!elements.isEmpty()) {
+			matches.put(diagram, elements);
+		}
+	}
+
+	private static boolean isLiteral(String query) {
+		for (int i = 0; i < query.length(); i++) {
+			if (REGEX_SPECIAL_CHARS.indexOf(query.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isChangingDiagram() {
+		return false; // a search only changes the selection
+	}
+
 	@Override
 	public void undo(DiagramHandler handler) {
 		super.undo(handler);
@@ -0,0 +1,158 @@
+package com.baselet.gui.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Temporary file which keeps the texts of old commands of the undo history (see {@link Controller}), therefore deep undo doesn't need the heap for them.
+ * The texts are appended as UTF-8 and read again if an old command is undone or redone. The file is created on the first write and deleted on close;
+ * it is compacted by the controller if journaled commands are dropped
+ */
+public class UndoJournal {
+
+	private static final Logger log = LoggerFactory.getLogger(UndoJournal.class);
+
+	private File file;
+	private RandomAccessFile data;
+
+	/**
+	 * @return the position of the text which must be passed to {@link #read(long)}
+	 */
+	public long write(String text) throws IOException {
+		return append(getData(), text);
+	}
+
+	public String read(long position) throws IOException {
+		RandomAccessFile in = getData();
+		in.seek(position);
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * rewrites the journal with only those of the given texts which are kept in it and updates their positions, therefore the texts of dropped commands no longer use disk space.
+	 * If the new file cannot be written, the old one is kept
+	 */
+	public void compact(Collection<Text> liveTexts) throws IOException {
+		if (data == null) {
+			return;
+		}
+		Map<Text, Long> newPositions = new IdentityHashMap<Text, Long>(); // commands which have been merged can share their texts
+		File newFile = null;
+		RandomAccessFile newData = null;
+		try {
+			for (Text text : liveTexts) {
+				if (text.journal == this && !newPositions.containsKey(text)) {
+					if (newData == null) {
+						newFile = createFile();
+						newData = new RandomAccessFile(newFile, "rw");
+					}
+					newPositions.put(text, append(newData, read(text.position)));
+				}
+			}
+		} catch (IOException e) {
+			if (newData != null) {
+				newData.close();
+				newFile.delete();
+			}
+			throw e;
+		}
+		close();
+		file = newFile;
+		data = newData;
+		for (Map.Entry<Text, Long> entry : newPositions.entrySet()) {
+			entry.getKey().position = entry.getValue();
+		}
+	}
+
+	public long length() throws IOException {
+		return data == null ? 0 : data.length();
+	}
+
+	public void close() {
+		if (data == null) {
+			return;
+		}
+		try {
+			data.close();
+		} catch (IOException e) {
+			log.warn("Cannot close the undo journal " + file, e);
+		}
+		if (!file.delete()) {
+			log.warn("Cannot delete the undo journal " + file);
+		}
+		data = null;
+		file = null;
+	}
+
+	private RandomAccessFile getData() throws IOException {
+		if (data == null) {
+			file = createFile();
+			data = new RandomAccessFile(file, "rw");
+		}
+		return data;
+	}
+
+	private static File createFile() throws IOException {
+		File file = File.createTempFile("umlet-undo", ".journal");
+		file.deleteOnExit();
+		return file;
+	}
+
+	private static long append(RandomAccessFile out, String text) throws IOException {
+		long position = out.length();
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		out.seek(position);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+		return position;
+	}
+
+	/**
+	 * A text of a command which is kept on the heap until it is moved to a journal
+	 */
+	public static class Text {
+		private String text; // can be null
+		private UndoJournal journal; // null while the text is on the heap
+		private long position;
+
+		public Text(String text) {
+			this.text = text;
+		}
+
+		public String get() {
+			if (journal == null) {
+				return text;
+			}
+			try {
+				return journal.read(position);
+			} catch (IOException e) {
+				throw new RuntimeException("Cannot read the undo journal", e);
+			}
+		}
+
+		public void moveTo(UndoJournal journal) throws IOException {
+			if (this.journal == null && text != null) {
+				position = journal.write(text);
+				this.journal = journal;
+				text = null;
+			}
+		}
+
+		/**
+		 * @return the estimated number of bytes on the heap
+		 */
+		public long getEstimatedSize() {
+			return text == null ? 32 : 72 + 2L * text.length();
+		}
+	}
+}
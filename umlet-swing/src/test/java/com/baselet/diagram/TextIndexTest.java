@@ -0,0 +1,77 @@
+package com.baselet.diagram;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class TextIndexTest {
+
+	@Test
+	public void literalQueriesIgnoreTheCaseAndKeepInsertionOrder() {
+		TextIndex<String> index = new TextIndex<String>();
+		index.put("b", Arrays.asList("CustomerService", "+findAll()"));
+		index.put("a", Arrays.asList("Customer"));
+		index.put("c", Arrays.asList("Order", "bg=red"));
+		assertThat(index.findLiteral("customer")).containsExactly("b", "a");
+		assertThat(index.findLiteral("r\nbg")).containsExactly("c");
+		assertThat(index.findLiteral("ll")).containsExactly("b");
+		assertThat(index.findLiteral("missing")).isEmpty();
+	}
+
+	@Test
+	public void prefixQueriesMatchTheStartOfWords() {
+		TextIndex<String> index = new TextIndex<String>();
+		index.put("a", Arrays.asList("Customer", "-name: String"));
+		index.put("b", Arrays.asList("NewCustomer"));
+		assertThat(index.findPrefix("cust")).containsExactly("a");
+		assertThat(index.findPrefix("STR")).containsExactly("a");
+		assertThat(index.findPrefix("new")).containsExactly("b");
+	}
+
+	@Test
+	public void changedAndRemovedItemsAreUpdated() {
+		TextIndex<String> index = new TextIndex<String>();
+		List<String> lines = Arrays.asList("Customer");
+		index.put("a", lines);
+		index.put("b", Arrays.asList("Customer"));
+		lines.set(0, "Order"); // the same list is not indexed again
+		index.put("a", lines);
+		assertThat(index.findLiteral("customer")).containsExactly("a", "b");
+		index.put("a", new ArrayList<String>(lines));
+		index.remove("b");
+		assertThat(index.findLiteral("customer")).isEmpty();
+		assertThat(index.findPrefix("ord")).containsExactly("a");
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void queriesMatchLikeRegularExpressions() {
+		Random random = new Random(1);
+		TextIndex<Integer> index = new TextIndex<Integer>();
+		List<String> texts = new ArrayList<String>();
+		for (int i = 0; i < 200; i++) {
+			StringBuilder sb = new StringBuilder();
+			for (int j = random.nextInt(30); j > 0; j--) {
+				sb.append("aBc \n".charAt(random.nextInt(5)));
+			}
+			texts.add(sb.toString());
+			index.put(i, Arrays.asList(sb.toString().split("\n", -1)));
+		}
+		for (String query : Arrays.asList("a", "ab", "abc", "c\na", "b b", "cab")) {
+			List<Integer> expected = new ArrayList<Integer>();
+			for (int i = 0; i < texts.size(); i++) {
+				if (Pattern.compile(Pattern.quote(query), Pattern.CASE_INSENSITIVE).matcher(texts.get(i)).find()) {
+					expected.add(i);
+				}
+			}
+			assertThat(index.findLiteral(query)).as(query).isEqualTo(expected);
+			assertThat(index.findPattern(Pattern.compile(Pattern.quote(query)))).as(query).isEqualTo(expected);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.baselet.diagram.draw.swing.javascriptparser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.basics.geom.DimensionDouble;
+import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.enums.AlignHorizontal;
+import com.baselet.control.enums.Program;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.draw.DrawHandler;
+
+public class JavascriptParserSwingTest {
+
+	@BeforeClass
+	public static void initProgram() {
+		Program.init("test", RuntimeType.BATCH); // the Config is read while a script is compiled
+	}
+
+	@Test
+	public void globalVariablesOfAScriptDontAffectTheNextScript() {
+		RecordingDrawHandler drawer = new RecordingDrawHandler();
+		JavascriptParserSwing parser = new JavascriptParserSwing(drawer);
+		parser.parse("var lw = 5; counter = 1; drawRectangle(0, 0, width, height);", 40, 20);
+		parser.parse("drawCircle(typeof counter == 'undefined' ? 0 : counter, width, lw);", 40, 20);
+		assertThat(drawer.calls).containsExactly("rectangle 0.0 0.0 40.0 20.0", "circle 0.0 40.0 1.0");
+	}
+
+	@Test
+	public void cachedScriptRunsInParallel() throws InterruptedException {
+		final String code = "for (var i = 0; i < 100; i++) { drawCircle(i, width, height); }";
+		final List<RecordingDrawHandler> drawers = Collections.synchronizedList(new ArrayList<RecordingDrawHandler>());
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			final int size = t;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					RecordingDrawHandler drawer = new RecordingDrawHandler();
+					JavascriptParserSwing parser = new JavascriptParserSwing(drawer);
+					for (int i = 0; i < 10; i++) {
+						parser.parse(code, size, size);
+					}
+					drawers.add(drawer);
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(drawers).hasSize(4);
+		for (RecordingDrawHandler drawer : drawers) {
+			assertThat(drawer.calls).hasSize(1000);
+		}
+	}
+
+	private static class RecordingDrawHandler extends DrawHandler {
+		private final List<String> calls = new ArrayList<String>();
+
+		@Override
+		public void drawCircle(double x, double y, double radius) {
+			calls.add("circle " + x + " " + y + " " + radius);
+		}
+
+		@Override
+		public void drawRectangle(double x, double y, double width, double height) {
+			calls.add("rectangle " + x + " " + y + " " + width + " " + height);
+		}
+
+		@Override
+		protected DimensionDouble textDimensionHelper(StringStyle singleLine) {
+			return new DimensionDouble(0, 0);
+		}
+
+		@Override
+		protected double getDefaultFontSize() {
+			return 10;
+		}
+
+		@Override
+		public void drawArc(double x, double y, double width, double height, double start, double extent, boolean open) {}
+
+		@Override
+		public void drawEllipse(double x, double y, double width, double height) {}
+
+		@Override
+		public void drawLines(PointDouble... points) {}
+
+		@Override
+		public void drawRectangleRound(double x, double y, double width, double height, double radius) {}
+
+		@Override
+		public void drawBase64Image(double x, double y, double width, double height, String imageString) {}
+
+		@Override
+		public void printHelper(StringStyle[] lines, PointDouble point, AlignHorizontal align) {}
+	}
+}
@@ -0,0 +1,86 @@
+package com.baselet.diagram.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * The expected strings are the output of the indenting JDK Transformer which was used to save diagrams before the UxfWriter existed
+ */
+public class UxfWriterTest {
+
+	private static final String NL = System.getProperty("line.separator");
+
+	@Test
+	public void emptyDiagram() throws IOException {
+		StringWriter out = new StringWriter();
+		UxfWriter writer = new UxfWriter(out, NL);
+		writer.writeDiagramStart("umlet", "15.1");
+		writer.writeZoomLevel(10);
+		writer.writeDiagramEnd();
+		assertThat(out.toString()).isEqualTo(lines(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>",
+				"<diagram program=\"umlet\" version=\"15.1\">",
+				"  <zoom_level>10</zoom_level>",
+				"</diagram>"));
+	}
+
+	@Test
+	public void newAndOldElements() throws IOException {
+		StringWriter out = new StringWriter();
+		UxfWriter writer = new UxfWriter(out, NL);
+		writer.writeDiagramStart("umlet", "15.1");
+		writer.writeHelpText("fontsize=14");
+		writer.writeElement("UMLClass", "ignored", 10, -20, 30, 40, "Name\n--\nattr", "", null);
+		writer.writeElement(null, "com.baselet.element.old.custom.CustomElement", 0, 0, 1, 2, "", "1;2", "code();");
+		writer.writeDiagramEnd();
+		assertThat(out.toString()).isEqualTo(lines(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>",
+				"<diagram program=\"umlet\" version=\"15.1\">",
+				"  <help_text>fontsize=14</help_text>",
+				"  <element>",
+				"    <id>UMLClass</id>",
+				"    <coordinates>",
+				"      <x>10</x>",
+				"      <y>-20</y>",
+				"      <w>30</w>",
+				"      <h>40</h>",
+				"    </coordinates>",
+				"    <panel_attributes>Name",
+				"--",
+				"attr</panel_attributes>",
+				"    <additional_attributes/>",
+				"  </element>",
+				"  <element>",
+				"    <type>com.baselet.element.old.custom.CustomElement</type>",
+				"    <coordinates>",
+				"      <x>0</x>",
+				"      <y>0</y>",
+				"      <w>1</w>",
+				"      <h>2</h>",
+				"    </coordinates>",
+				"    <panel_attributes/>",
+				"    <additional_attributes>1;2</additional_attributes>",
+				"    <custom_code>code();</custom_code>",
+				"  </element>",
+				"</diagram>"));
+	}
+
+	@Test
+	public void escapingOfText() throws IOException {
+		StringWriter out = new StringWriter();
+		new UxfWriter(out, NL).writeHelpText("lt=<<- & \"q\" 'a'\r\u0001\u0085\tä😀");
+		assertThat(out.toString()).isEqualTo("  <help_text>lt=&lt;&lt;- &amp; \"q\" 'a'&#13;&#1;&#133;\tä&#128512;</help_text>" + NL);
+	}
+
+	private static String lines(String... lines) {
+		StringBuilder sb = new StringBuilder();
+		for (String line : lines) {
+			sb.append(line).append(NL);
+		}
+		return sb.toString();
+	}
+}
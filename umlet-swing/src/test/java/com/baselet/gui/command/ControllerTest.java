@@ -0,0 +1,183 @@
+package com.baselet.gui.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baselet.control.config.Config;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.interfaces.GridElement;
+
+public class ControllerTest {
+
+	private static final int MB = 1024 * 1024;
+
+	/**
+	 * a command with a text which can be moved to the journal and an additional size on the heap which cannot
+	 */
+	private static class TextCommand extends Command {
+		private final UndoJournal.Text text;
+		private final long sizeOnHeap;
+		private final List<String> log;
+		private final String name;
+
+		private TextCommand(List<String> log, String name, int textLength, long sizeOnHeap) {
+			this.log = log;
+			this.name = name;
+			StringBuilder sb = new StringBuilder(name);
+			while (sb.length() < textLength) {
+				sb.append('x');
+			}
+			text = new UndoJournal.Text(sb.toString());
+			this.sizeOnHeap = sizeOnHeap;
+		}
+
+		@Override
+		public void execute(DiagramHandler handler) {
+			log.add("execute " + text.get().substring(0, name.length()));
+		}
+
+		@Override
+		public void undo(DiagramHandler handler) {
+			log.add("undo " + text.get().substring(0, name.length()));
+		}
+
+		@Override
+		public void discard() {
+			log.add("discard " + name);
+		}
+
+		@Override
+		public long getEstimatedSize() {
+			return super.getEstimatedSize() + sizeOnHeap + text.getEstimatedSize();
+		}
+
+		@Override
+		protected void collectTexts(Collection<UndoJournal.Text> texts) {
+			texts.add(text);
+		}
+	}
+
+	/**
+	 * ChangePanelAttributes only reads and writes the panel attributes of the element, therefore it is a simple proxy
+	 */
+	private static class FakeElement implements InvocationHandler {
+		private String panelAttributes = "";
+		private final GridElement proxy = (GridElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { GridElement.class }, this);
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			if (method.getName().equals("setPanelAttributes")) {
+				panelAttributes = (String) args[0];
+				return null;
+			}
+			if (method.getName().equals("repaint")) {
+				return null;
+			}
+			throw new UnsupportedOperationException(method.getName());
+		}
+	}
+
+	private final List<String> log = new ArrayList<String>();
+	private int oldHistorySize;
+	private int oldHistoryMemoryMb;
+	private Controller controller;
+
+	@Before
+	public void setUp() {
+		oldHistorySize = Config.getInstance().getUndoHistorySize();
+		oldHistoryMemoryMb = Config.getInstance().getUndoHistoryMemoryMb();
+		controller = new Controller(DiagramHandler.forExport(null));
+	}
+
+	@After
+	public void tearDown() {
+		controller.clear();
+		Config.getInstance().setUndoHistorySize(oldHistorySize);
+		Config.getInstance().setUndoHistoryMemoryMb(oldHistoryMemoryMb);
+	}
+
+	private void undoAll() {
+		while (controller.isUndoable()) {
+			controller.undo();
+		}
+	}
+
+	@Test
+	public void theOldestCommandsAreDiscardedIfTheHistoryIsFull() {
+		Config.getInstance().setUndoHistorySize(3);
+		for (int i = 1; i <= 5; i++) {
+			controller.executeCommand(new TextCommand(log, "c" + i, 10, 0));
+		}
+		undoAll();
+		assertThat(log).containsExactly("execute c1", "execute c2", "execute c3", "execute c4", "discard c1", "execute c5", "discard c2", "undo c5", "undo c4", "undo c3");
+	}
+
+	@Test
+	public void textsOfOldCommandsAreMovedToTheJournalBeforeCommandsAreDiscarded() {
+		Config.getInstance().setUndoHistoryMemoryMb(1);
+		for (int i = 1; i <= 4; i++) { // the texts of 4 commands need 2.4 MB on the heap
+			controller.executeCommand(new TextCommand(log, "c" + i, 300000, 0));
+		}
+		undoAll();
+		assertThat(log).containsExactly("execute c1", "execute c2", "execute c3", "execute c4", "undo c4", "undo c3", "undo c2", "undo c1");
+	}
+
+	@Test
+	public void commandsAreDiscardedIfTheirHeapSizeExceedsTheMemoryLimit() {
+		Config.getInstance().setUndoHistoryMemoryMb(1);
+		for (int i = 1; i <= 4; i++) { // the journaled commands still need 128 KB on the heap, therefore only 3 of them fit
+			controller.executeCommand(new TextCommand(log, "c" + i, 300000, MB / 8));
+		}
+		undoAll();
+		assertThat(log).containsExactly("execute c1", "execute c2", "execute c3", "execute c4", "discard c1", "undo c4", "undo c3", "undo c2");
+	}
+
+	@Test
+	public void journaledTextsStayReadableIfTheJournalIsCompacted() {
+		Config.getInstance().setUndoHistorySize(3);
+		Config.getInstance().setUndoHistoryMemoryMb(1);
+		for (int i = 1; i <= 8; i++) { // c6 drops the third journaled command, therefore the journal is compacted
+			controller.executeCommand(new TextCommand(log, "c" + i, 300000, 0));
+			if (i == 6) { // the journaled c5 is truncated by c7
+				controller.undo();
+				controller.undo();
+			}
+		}
+		log.clear();
+		undoAll();
+		assertThat(log).containsExactly("undo c8", "undo c7", "undo c4");
+	}
+
+	@Test
+	public void panelAttributesTypedWithinOneSecondAreUndoneTogether() {
+		FakeElement element = new FakeElement();
+		controller.executeCommand(new ChangePanelAttributes(element.proxy, "", "C", 0, 1, 10000));
+		controller.executeCommand(new ChangePanelAttributes(element.proxy, "C", "Cu", 1, 2, 10500));
+		controller.executeCommand(new ChangePanelAttributes(element.proxy, "Cu", "Cus", 2, 3, 11500));
+		controller.executeCommand(new ChangePanelAttributes(element.proxy, "Cus", "Cust", 3, 4, 13000)); // typed after a pause
+		assertThat(element.panelAttributes).isEqualTo("Cust");
+		controller.undo();
+		assertThat(element.panelAttributes).isEqualTo("Cus");
+		controller.undo();
+		assertThat(element.panelAttributes).isEmpty();
+		assertThat(controller.isUndoable()).isFalse();
+		controller.redo();
+		assertThat(element.panelAttributes).isEqualTo("Cus");
+	}
+}
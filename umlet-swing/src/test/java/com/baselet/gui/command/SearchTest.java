@@ -0,0 +1,53 @@
+package com.baselet.gui.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+
+public class SearchTest {
+
+	private final DiagramHandler handler = DiagramHandler.forExport(null);
+	private final DrawPanel panel = handler.getDrawPanel();
+
+	private GridElement addElement(String panelAttributes) {
+		GridElement e = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 100, 50), panelAttributes, "", handler);
+		handler.getController().executeCommand(new AddElement(e, 0, 0));
+		return e;
+	}
+
+	@Test
+	public void theIndexFollowsTheCommandsWhichChangeTheElements() {
+		GridElement customer = addElement("Customer");
+		GridElement order = addElement("Order");
+		assertThat(Search.findElements(panel, "customer")).containsExactly(customer);
+
+		handler.getController().executeCommand(new ChangePanelAttributes(order, "Order", "CustomerOrder", 0, 0));
+		assertThat(Search.findElements(panel, "customer")).containsExactly(customer, order);
+		handler.getController().undo();
+		assertThat(Search.findElements(panel, "customer")).containsExactly(customer);
+		assertThat(Search.findElements(panel, "ord*")).containsExactly(order);
+
+		handler.getController().executeCommand(new RemoveElement(customer));
+		assertThat(Search.findElements(panel, "customer")).isEmpty();
+		handler.getController().undo();
+		assertThat(Search.findElements(panel, "cust.mer")).containsExactly(customer);
+	}
+
+	@Test
+	public void changesWithoutCommandsAreIndexed() {
+		GridElement customer = addElement("Customer");
+		assertThat(Search.findElements(panel, "customer")).containsExactly(customer);
+		customer.setProperty("bg", "red"); // e.g. by the custom element editor or the autoresize of old elements
+		assertThat(Search.findElements(panel, "bg=red")).containsExactly(customer);
+		customer.setPanelAttributes("Client");
+		assertThat(Search.findElements(panel, "customer")).isEmpty();
+		assertThat(Search.findElements(panel, "client")).containsExactly(customer);
+	}
+}
@@ -0,0 +1,62 @@
+package com.baselet.gui.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class UndoJournalTest {
+
+	private final UndoJournal journal = new UndoJournal();
+
+	@After
+	public void tearDown() {
+		journal.close();
+	}
+
+	@Test
+	public void textsAreReadInAnyOrder() throws IOException {
+		long first = journal.write("Customer\n-name: String");
+		long second = journal.write("");
+		long third = journal.write("Größe → ½");
+		assertThat(journal.read(third)).isEqualTo("Größe → ½");
+		assertThat(journal.read(first)).isEqualTo("Customer\n-name: String");
+		assertThat(journal.read(second)).isEmpty();
+	}
+
+	@Test
+	public void movedTextsLeaveTheHeap() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("line ").append(i).append('\n');
+		}
+		UndoJournal.Text text = new UndoJournal.Text(sb.toString());
+		UndoJournal.Text nullText = new UndoJournal.Text(null);
+		long sizeOnHeap = text.getEstimatedSize();
+		text.moveTo(journal);
+		nullText.moveTo(journal);
+		assertThat(text.getEstimatedSize()).isLessThan(sizeOnHeap / 100);
+		assertThat(journal.length()).isGreaterThan(sb.length());
+		assertThat(text.get()).isEqualTo(sb.toString());
+		assertThat(nullText.get()).isNull();
+	}
+
+	@Test
+	public void compactionKeepsOnlyTheGivenTexts() throws IOException {
+		UndoJournal.Text dropped = new UndoJournal.Text("dropped command");
+		UndoJournal.Text kept = new UndoJournal.Text("kept command");
+		UndoJournal.Text onHeap = new UndoJournal.Text("newest command");
+		dropped.moveTo(journal);
+		kept.moveTo(journal);
+		long length = journal.length();
+		journal.compact(Arrays.asList(kept, onHeap, kept)); // merged commands can share a text
+		assertThat(journal.length()).isLessThan(length);
+		assertThat(kept.get()).isEqualTo("kept command");
+		assertThat(onHeap.get()).isEqualTo("newest command");
+		journal.compact(Arrays.asList(onHeap));
+		assertThat(journal.length()).isZero();
+	}
+}
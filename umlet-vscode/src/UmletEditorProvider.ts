@@ -6,6 +6,7 @@ import * as path from 'path';
 import * as fs from "fs";
 import * as parser from 'fast-xml-parser';
 import {DebugLevel} from "./main/typescript/DebugLevel";
+import {applyDiagramDelta, DiagramDelta, DiagramState, diagramToXml} from "./main/typescript/DiagramDelta";
 
 export var currentlyActivePanel: WebviewPanel | null = null;
 let lastCurrentlyActivePanel: WebviewPanel | null = null; //always saves last panel which was active, even if its not in focus anymore. used for export commands and edit->copy/paste/cut
@@ -44,6 +45,11 @@ export class UmletEditorProvider implements vscode.CustomTextEditorProvider {
      * Called when our custom editor is opened.
      */
     resolveCustomTextEditor(document: vscode.TextDocument, webviewPanel: vscode.WebviewPanel, token: vscode.CancellationToken): void | Thenable<void> {
+        //the diagram as it was sent by the webview; it is updated with the element-level deltas of the webview, therefore the whole file must only be sent if this state is lost
+        let diagramState: DiagramState | undefined = undefined;
+        //the deltas which arrive until the full diagram was sent don't match either, so the full diagram is only requested once
+        let fullDiagramRequested = false;
+
         //whenever the .uxf file is changed (for example throough a text editor in vs code), these changes shoule be reflected in umlet
         const changeDocumentSubscription = vscode.workspace.onDidChangeTextDocument(e => {
             console.log("DOCCHANGE" + e.contentChanges.length);
@@ -60,6 +66,7 @@ export class UmletEditorProvider implements vscode.CustomTextEditorProvider {
                 //if e.contentChanges.length === 0, then there was no actual content change, but the grey dirty indicator was set by vs code
                 //in that case we do not want to set gwt again, because that would unselect all selected elements
                 if (e.document.uri.toString() === document.uri.toString() && e.contentChanges.length !== 0) {
+                    diagramState = undefined; //the webview sends the full diagram after it has loaded the changed file
                     UmletEditorProvider.postLog(DebugLevel.STANDARD, "match text change, injecting changes to gwt ");
                     UmletEditorProvider.postLog(DebugLevel.STANDARD, 'webview panel is: ' + webviewPanel);
                     webviewPanel.webview.postMessage({
@@ -92,6 +99,21 @@ export class UmletEditorProvider implements vscode.CustomTextEditorProvider {
                 case 'updateFiledataUxf':
                     this.updateCurrentFile(message.text, document);
                     return;
+                case 'updateFiledataDelta': {
+                    const delta: DiagramDelta = JSON.parse(message.text);
+                    diagramState = applyDiagramDelta(diagramState, delta);
+                    if (diagramState === undefined) {
+                        if (!fullDiagramRequested) {
+                            UmletEditorProvider.postLog(DebugLevel.STANDARD, 'diagram delta ' + delta.version + ' does not match the last version, requesting the full diagram');
+                            webviewPanel.webview.postMessage({command: 'requestFullDiagram'});
+                            fullDiagramRequested = true;
+                        }
+                    } else {
+                        fullDiagramRequested = false;
+                        this.updateCurrentFile(diagramToXml(diagramState), document);
+                    }
+                    return;
+                }
                 case 'exportPng':
                     var actual_data = message.text.replace("data:image/png;base64,", "");
                     this.saveFileDecodePng(actual_data);
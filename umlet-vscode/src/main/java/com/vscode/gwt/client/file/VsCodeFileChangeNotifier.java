@@ -1,19 +1,55 @@
 package com.vscode.gwt.client.file;
 
+import com.baselet.element.interfaces.Diagram;
+import com.baselet.gwt.client.file.DiagramDelta;
+import com.baselet.gwt.client.file.DiagramDeltaEncoder;
 import com.baselet.gwt.client.file.FileChangeNotifier;
+import com.baselet.gwt.client.version.BuildInfoProperties;
 
 public class VsCodeFileChangeNotifier implements FileChangeNotifier {
 
+	// only the changed elements are sent to vscode, which applies them to the last version it has received
+	private final DiagramDeltaEncoder encoder = new DiagramDeltaEncoder("umletino", BuildInfoProperties.getVersion());
+	private Diagram diagram;
+
+	public VsCodeFileChangeNotifier() {
+		initListener();
+	}
+
 	@Override
-	public void notifyFileChange(String diagramXMLState) {
-		updateDiagram(diagramXMLState);
+	public void notifyFileChange(Diagram diagram) {
+		this.diagram = diagram;
+		DiagramDelta delta = encoder.encode(diagram);
+		if (delta != null) {
+			updateDiagram(delta.toJson());
+		}
+	}
+
+	// vscode requests the full diagram if it has lost the last version (e.g. because the file has been changed outside of umlet)
+	private void sendFullDiagram() {
+		if (diagram != null) {
+			encoder.requestFull();
+			notifyFileChange(diagram);
+		}
 	}
 
-	// sends the current diagram file to vscode, also called when properties change
+	// sends the changes of the diagram file to vscode, also called when properties change
 	private native void updateDiagram(String msg) /*-{
 		window.parent.vscode.postMessage({
-			command: 'updateFiledataUxf',
+			command: 'updateFiledataDelta',
 			text: msg
 		});
 	}-*/;
+
+	private native void initListener() /*-{
+		var that = this;
+		$wnd.addEventListener('message', function (event) {
+			var message = event.data;
+			switch (message.command) {
+				case 'requestFullDiagram':
+					that.@com.vscode.gwt.client.file.VsCodeFileChangeNotifier::sendFullDiagram()();
+					break;
+			}
+		});
+	}-*/;
 }
@@ -0,0 +1,117 @@
+// Element-level changes of a diagram which are sent by the webview instead of the whole file (see DiagramDelta.java and DiagramSnapshot.java in umlet-gwt).
+// applyDiagramDelta and diagramToXml must behave exactly like DiagramSnapshot.apply() and DiagramSnapshot.toXml()
+
+export interface DiagramElement {
+    id: number;
+    type: string;
+    x: number;
+    y: number;
+    w: number;
+    h: number;
+    panelAttributes: string;
+    additionalAttributes: string;
+}
+
+export interface DiagramDelta {
+    full: boolean;
+    baseVersion: number;
+    version: number;
+    program: string;
+    programVersion: string;
+    zoomLevel: number;
+    helpText: string | null;
+    added: DiagramElement[];
+    changed: DiagramElement[];
+    removed: number[];
+}
+
+export interface DiagramState {
+    version: number;
+    program: string;
+    programVersion: string;
+    zoomLevel: number;
+    helpText: string | null;
+    order: number[];
+    elements: Map<number, DiagramElement>;
+}
+
+// returns undefined if the delta doesn't belong to the state, in that case the webview must send the full diagram
+export function applyDiagramDelta(state: DiagramState | undefined, delta: DiagramDelta): DiagramState | undefined {
+    if (delta.full) {
+        state = {version: 0, program: delta.program, programVersion: delta.programVersion, zoomLevel: delta.zoomLevel, helpText: delta.helpText, order: [], elements: new Map<number, DiagramElement>()};
+    } else if (state === undefined || state.version !== delta.baseVersion) {
+        return undefined;
+    }
+    state.program = delta.program;
+    state.programVersion = delta.programVersion;
+    state.zoomLevel = delta.zoomLevel;
+    state.helpText = delta.helpText;
+    if (delta.removed.length > 0) {
+        for (const id of delta.removed) {
+            state.elements.delete(id);
+        }
+        const elements = state.elements;
+        state.order = state.order.filter(id => elements.has(id));
+    }
+    for (const e of delta.changed) {
+        state.elements.set(e.id, e);
+    }
+    for (const e of delta.added) {
+        state.elements.set(e.id, e);
+        state.order.push(e.id);
+    }
+    state.version = delta.version;
+    return state;
+}
+
+// writes the uxf format of the standalone version, exactly like UxfWriter does with \n as line separator
+export function diagramToXml(state: DiagramState): string {
+    const lines: string[] = [];
+    lines.push('<?xml version="1.0" encoding="UTF-8" standalone="no"?>');
+    lines.push('<diagram program="' + escapeXml(state.program, true) + '" version="' + escapeXml(state.programVersion, true) + '">');
+    if (state.helpText !== null) {
+        lines.push(textElement(1, 'help_text', state.helpText));
+    }
+    lines.push(textElement(1, 'zoom_level', String(state.zoomLevel)));
+    for (const id of state.order) {
+        const e = state.elements.get(id)!;
+        lines.push('  <element>');
+        lines.push(textElement(2, 'id', e.type));
+        lines.push('    <coordinates>');
+        lines.push(textElement(3, 'x', String(e.x)));
+        lines.push(textElement(3, 'y', String(e.y)));
+        lines.push(textElement(3, 'w', String(e.w)));
+        lines.push(textElement(3, 'h', String(e.h)));
+        lines.push('    </coordinates>');
+        lines.push(textElement(2, 'panel_attributes', e.panelAttributes));
+        lines.push(textElement(2, 'additional_attributes', e.additionalAttributes));
+        lines.push('  </element>');
+    }
+    lines.push('</diagram>');
+    return lines.join('\n') + '\n';
+}
+
+function textElement(depth: number, name: string, text: string): string {
+    const indent = '  '.repeat(depth);
+    return text.length === 0 ? indent + '<' + name + '/>' : indent + '<' + name + '>' + escapeXml(text, false) + '</' + name + '>';
+}
+
+// control characters and supplementary characters are written as character references like the JDK serializer does
+function escapeXml(text: string, attribute: boolean): string {
+    return text.replace(/[&<>"\n\u0000-\u0008\u000B-\u001F\u007F-\u009F]|[\uD800-\uDBFF][\uDC00-\uDFFF]/g, c => {
+        switch (c) {
+            case '&':
+                return '&amp;';
+            case '<':
+                return '&lt;';
+            case '>':
+                return '&gt;';
+            case '"':
+                return attribute ? '&quot;' : c;
+            case '\n':
+                return attribute ? '&#10;' : c;
+            default:
+                return '&#' + c.codePointAt(0) + ';';
+        }
+    });
+}
@@ -0,0 +1,156 @@
+import * as assert from 'assert';
+import {applyDiagramDelta, DiagramState, diagramToXml} from '../../main/typescript/DiagramDelta';
+
+// the deltas and files were created by DiagramDelta.toJson() and DiagramSnapshot.toXml() of umlet-gwt, both sides must stay in sync
+const FULL = '{"full":true,"baseVersion":0,"version":1,"program":"umlet","programVersion":"15.1","zoomLevel":10,"helpText":"// Uncomment & <try>\\n\\"fontsize=12\\"","added":[{"id":1,"type":"UMLClass","x":10,"y":20,"w":100,"h":50,"panelAttributes":"Customer\\n--\\n-name: String","additionalAttributes":""},{"id":2,"type":"Relation","x":-10,"y":0,"w":30,"h":40,"panelAttributes":"lt=<<-\\r\\t\u00E4\\u0001\u0085 \uD83D\uDE00 \'a\' \\"b\\" a>b","additionalAttributes":"10.0;20.0;30.0;40.0"},{"id":3,"type":"UMLNote","x":0,"y":0,"w":10,"h":10,"panelAttributes":"","additionalAttributes":""}],"changed":[],"removed":[]}';
+const CHANGE_AND_REMOVE = '{"full":false,"baseVersion":1,"version":2,"program":"umlet","programVersion":"15.1","zoomLevel":12,"helpText":null,"added":[{"id":4,"type":"UMLPackage","x":0,"y":100,"w":200,"h":100,"panelAttributes":"shop","additionalAttributes":""}],"changed":[{"id":1,"type":"UMLClass","x":30,"y":20,"w":100,"h":60,"panelAttributes":"Customer\\n--\\n-name: String\\n-id: int","additionalAttributes":""}],"removed":[2]}';
+const STALE = '{"full":false,"baseVersion":5,"version":6,"program":"umlet","programVersion":"15.1","zoomLevel":12,"helpText":null,"added":[],"changed":[],"removed":[]}';
+const ADD_AND_REMOVE = '{"full":false,"baseVersion":2,"version":3,"program":"umlet","programVersion":"15.1","zoomLevel":12,"helpText":"help","added":[{"id":5,"type":"UMLClass","x":0,"y":0,"w":10,"h":10,"panelAttributes":"Order","additionalAttributes":""}],"changed":[],"removed":[3]}';
+
+const XML_FULL = [
+	'<?xml version="1.0" encoding="UTF-8" standalone="no"?>',
+	'<diagram program="umlet" version="15.1">',
+	'  <help_text>// Uncomment &amp; &lt;try&gt;',
+	'"fontsize=12"</help_text>',
+	'  <zoom_level>10</zoom_level>',
+	'  <element>',
+	'    <id>UMLClass</id>',
+	'    <coordinates>',
+	'      <x>10</x>',
+	'      <y>20</y>',
+	'      <w>100</w>',
+	'      <h>50</h>',
+	'    </coordinates>',
+	'    <panel_attributes>Customer',
+	'--',
+	'-name: String</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'  <element>',
+	'    <id>Relation</id>',
+	'    <coordinates>',
+	'      <x>-10</x>',
+	'      <y>0</y>',
+	'      <w>30</w>',
+	'      <h>40</h>',
+	'    </coordinates>',
+	'    <panel_attributes>lt=&lt;&lt;-&#13;\t\u00E4&#1;&#133; &#128512; \'a\' "b" a&gt;b</panel_attributes>',
+	'    <additional_attributes>10.0;20.0;30.0;40.0</additional_attributes>',
+	'  </element>',
+	'  <element>',
+	'    <id>UMLNote</id>',
+	'    <coordinates>',
+	'      <x>0</x>',
+	'      <y>0</y>',
+	'      <w>10</w>',
+	'      <h>10</h>',
+	'    </coordinates>',
+	'    <panel_attributes/>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'</diagram>'
+].join('\n') + '\n';
+const XML_CHANGE_AND_REMOVE = [
+	'<?xml version="1.0" encoding="UTF-8" standalone="no"?>',
+	'<diagram program="umlet" version="15.1">',
+	'  <zoom_level>12</zoom_level>',
+	'  <element>',
+	'    <id>UMLClass</id>',
+	'    <coordinates>',
+	'      <x>30</x>',
+	'      <y>20</y>',
+	'      <w>100</w>',
+	'      <h>60</h>',
+	'    </coordinates>',
+	'    <panel_attributes>Customer',
+	'--',
+	'-name: String',
+	'-id: int</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'  <element>',
+	'    <id>UMLNote</id>',
+	'    <coordinates>',
+	'      <x>0</x>',
+	'      <y>0</y>',
+	'      <w>10</w>',
+	'      <h>10</h>',
+	'    </coordinates>',
+	'    <panel_attributes/>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'  <element>',
+	'    <id>UMLPackage</id>',
+	'    <coordinates>',
+	'      <x>0</x>',
+	'      <y>100</y>',
+	'      <w>200</w>',
+	'      <h>100</h>',
+	'    </coordinates>',
+	'    <panel_attributes>shop</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'</diagram>'
+].join('\n') + '\n';
+const XML_ADD_AND_REMOVE = [
+	'<?xml version="1.0" encoding="UTF-8" standalone="no"?>',
+	'<diagram program="umlet" version="15.1">',
+	'  <help_text>help</help_text>',
+	'  <zoom_level>12</zoom_level>',
+	'  <element>',
+	'    <id>UMLClass</id>',
+	'    <coordinates>',
+	'      <x>30</x>',
+	'      <y>20</y>',
+	'      <w>100</w>',
+	'      <h>60</h>',
+	'    </coordinates>',
+	'    <panel_attributes>Customer',
+	'--',
+	'-name: String',
+	'-id: int</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'  <element>',
+	'    <id>UMLPackage</id>',
+	'    <coordinates>',
+	'      <x>0</x>',
+	'      <y>100</y>',
+	'      <w>200</w>',
+	'      <h>100</h>',
+	'    </coordinates>',
+	'    <panel_attributes>shop</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'  <element>',
+	'    <id>UMLClass</id>',
+	'    <coordinates>',
+	'      <x>0</x>',
+	'      <y>0</y>',
+	'      <w>10</w>',
+	'      <h>10</h>',
+	'    </coordinates>',
+	'    <panel_attributes>Order</panel_attributes>',
+	'    <additional_attributes/>',
+	'  </element>',
+	'</diagram>'
+].join('\n') + '\n';
+
+suite('DiagramDelta Test Suite', () => {
+	test('Deltas create the same file as DiagramSnapshot', () => {
+		let state: DiagramState | undefined = applyDiagramDelta(undefined, JSON.parse(FULL));
+		assert.strictEqual(diagramToXml(state!), XML_FULL);
+		state = applyDiagramDelta(state, JSON.parse(CHANGE_AND_REMOVE));
+		assert.strictEqual(diagramToXml(state!), XML_CHANGE_AND_REMOVE);
+		assert.strictEqual(applyDiagramDelta(state, JSON.parse(STALE)), undefined);
+		state = applyDiagramDelta(state, JSON.parse(ADD_AND_REMOVE));
+		assert.strictEqual(diagramToXml(state!), XML_ADD_AND_REMOVE);
+	});
+
+	test('Only a full diagram can restart a lost state', () => {
+		assert.strictEqual(applyDiagramDelta(undefined, JSON.parse(CHANGE_AND_REMOVE)), undefined);
+		const state = applyDiagramDelta(undefined, JSON.parse(FULL));
+		assert.strictEqual(applyDiagramDelta(state, JSON.parse(ADD_AND_REMOVE)), undefined);
+		assert.strictEqual(diagramToXml(applyDiagramDelta(state, JSON.parse(FULL))!), XML_FULL);
+	});
+});